@@ -0,0 +1,115 @@
+package com.example.account.benchmark;
+
+import com.example.account.aop.AccountLock;
+import com.example.account.aop.AccountLockIdInterface;
+import com.example.account.config.BalanceProperties;
+import com.example.account.service.AccountLockProvider;
+import com.example.account.service.AccountTicketQueue;
+import com.example.account.service.LockAopAspect;
+import com.example.account.service.LockMetrics;
+import com.example.account.service.TransactionPreValidator;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class LockAopAspectBenchmark {
+  @Param({"redis", "local", "database"})
+  private String provider;
+
+  @Param({"1", "16", "1024"})
+  private int accounts;
+
+  @Param({"0", "100", "1000"})
+  private long criticalSectionMicros;
+
+  @Param({"false", "true"})
+  private boolean fair;
+
+  private ConfigurableApplicationContext context;
+  private LockedOperation lockedOperation;
+  private AccountLockIdInterface[] requests;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    context = LockBenchmarkContext.start(provider, accounts);
+
+    LockAopAspect lockAopAspect = new LockAopAspect(
+      context.getBean(AccountLockProvider.class),
+      context.getBean(LockMetrics.class),
+      Runnable::run,
+      context.getBean(AccountTicketQueue.class),
+      new TransactionPreValidator(null),
+      new BalanceProperties());
+
+    AspectJProxyFactory proxyFactory =
+      new AspectJProxyFactory(new LockedOperation(criticalSectionMicros));
+    proxyFactory.setProxyTargetClass(true);
+    proxyFactory.addAspect(lockAopAspect);
+    lockedOperation = proxyFactory.getProxy();
+
+    String[] accountNumbers = LockBenchmarkContext.accountNumbers(accounts);
+    requests = new AccountLockIdInterface[accountNumbers.length];
+    for (int i = 0; i < accountNumbers.length; i++) {
+      String accountNumber = accountNumbers[i];
+      requests[i] = () -> accountNumber;
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  @Threads(1)
+  public void lockedCall_1Thread() {
+    lockedCall();
+  }
+
+  @Benchmark
+  @Threads(8)
+  public void lockedCall_8Threads() {
+    lockedCall();
+  }
+
+  @Benchmark
+  @Threads(32)
+  public void lockedCall_32Threads() {
+    lockedCall();
+  }
+
+  private void lockedCall() {
+    AccountLockIdInterface request = LockBenchmarkContext.pick(requests);
+    if (fair) {
+      lockedOperation.runFair(request);
+    } else {
+      lockedOperation.run(request);
+    }
+  }
+
+  public static class LockedOperation {
+    private final long criticalSectionMicros;
+
+    public LockedOperation(long criticalSectionMicros) {
+      this.criticalSectionMicros = criticalSectionMicros;
+    }
+
+    @AccountLock
+    public void run(AccountLockIdInterface request) {
+      LockBenchmarkContext.criticalSection(criticalSectionMicros);
+    }
+
+    @AccountLock(fair = true)
+    public void runFair(AccountLockIdInterface request) {
+      LockBenchmarkContext.criticalSection(criticalSectionMicros);
+    }
+  }
+}
@@ -0,0 +1,127 @@
+package com.example.account.benchmark;
+
+import com.example.account.config.AccountLockProperties;
+import com.example.account.config.LocalRedisConfig;
+import com.example.account.config.RedisRepositoryConfig;
+import com.example.account.domain.Account;
+import com.example.account.domain.AccountUser;
+import com.example.account.service.AccountTicketQueue;
+import com.example.account.service.DatabaseAccountLockProvider;
+import com.example.account.service.LocalAccountLockProvider;
+import com.example.account.service.LockMetrics;
+import com.example.account.service.LockService;
+import com.example.account.service.RedisCircuitBreaker;
+import com.example.account.type.AccountStatus;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.transaction.TransactionAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+final class LockBenchmarkContext {
+  private static final int REDIS_PORT = 16379;
+  private static final String DATABASE = "database";
+
+  private LockBenchmarkContext() {
+  }
+
+  static ConfigurableApplicationContext start(String provider, int accounts) {
+    AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+    context.getEnvironment().getPropertySources().addFirst(
+      new MapPropertySource("benchmark", Map.of(
+        "spring.data.redis.host", "127.0.0.1",
+        "spring.data.redis.port", REDIS_PORT,
+        "spring.datasource.url", "jdbc:h2:mem:lock-benchmark;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto", "create-drop",
+        "account.lock.provider", provider)));
+    context.register(LockBenchmarkConfig.class);
+    if (DATABASE.equals(provider)) {
+      context.register(DatabaseBenchmarkConfig.class);
+    }
+    context.refresh();
+    if (DATABASE.equals(provider)) {
+      seedAccounts(context, accounts);
+    }
+    return context;
+  }
+
+  private static void seedAccounts(ConfigurableApplicationContext context, int accounts) {
+    EntityManager entityManager = context.getBean(EntityManager.class);
+    context.getBean(TransactionTemplate.class).executeWithoutResult(status -> {
+      AccountUser accountUser = AccountUser.builder().name("benchmark").build();
+      entityManager.persist(accountUser);
+      for (String accountNumber : accountNumbers(accounts)) {
+        entityManager.persist(Account.builder()
+          .accountUser(accountUser)
+          .accountNumber(accountNumber)
+          .accountStatus(AccountStatus.IN_USE)
+          .balance(0L)
+          .registeredAt(LocalDateTime.now())
+          .build());
+      }
+    });
+  }
+
+  static String[] accountNumbers(int accounts) {
+    String[] accountNumbers = new String[accounts];
+    for (int i = 0; i < accounts; i++) {
+      accountNumbers[i] = String.valueOf(1_000_000_000L + i);
+    }
+    return accountNumbers;
+  }
+
+  static <T> T pick(T[] values) {
+    return values.length == 1
+      ? values[0]
+      : values[ThreadLocalRandom.current().nextInt(values.length)];
+  }
+
+  static void criticalSection(long micros) {
+    if (micros > 0) {
+      LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(micros));
+    }
+  }
+
+  @Configuration
+  @EnableConfigurationProperties(AccountLockProperties.class)
+  @Import({LocalRedisConfig.class, RedisRepositoryConfig.class, RedisCircuitBreaker.class,
+    LockService.class, LocalAccountLockProvider.class, LockMetrics.class,
+    AccountTicketQueue.class})
+  static class LockBenchmarkConfig {
+    @Bean
+    MeterRegistry meterRegistry() {
+      return new SimpleMeterRegistry();
+    }
+  }
+
+  @Configuration
+  @EntityScan(basePackageClasses = Account.class)
+  @ImportAutoConfiguration({DataSourceAutoConfiguration.class,
+    HibernateJpaAutoConfiguration.class, TransactionAutoConfiguration.class})
+  @Import(DatabaseAccountLockProvider.class)
+  static class DatabaseBenchmarkConfig {
+    @Bean
+    EntityManager entityManager(EntityManagerFactory entityManagerFactory) {
+      return SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory);
+    }
+  }
+}
@@ -0,0 +1,71 @@
+package com.example.account.benchmark;
+
+import com.example.account.service.AccountLockProvider;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class LockServiceBenchmark {
+  private static final long WAIT_TIME_MILLIS = 5_000L;
+  private static final long LEASE_TIME_MILLIS = 15_000L;
+
+  @Param({"redis", "local", "database"})
+  private String provider;
+
+  @Param({"1", "16", "1024"})
+  private int accounts;
+
+  @Param({"0", "100", "1000"})
+  private long criticalSectionMicros;
+
+  private ConfigurableApplicationContext context;
+  private AccountLockProvider accountLockProvider;
+  private String[] accountNumbers;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    context = LockBenchmarkContext.start(provider, accounts);
+    accountLockProvider = context.getBean(AccountLockProvider.class);
+    accountNumbers = LockBenchmarkContext.accountNumbers(accounts);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  @Threads(1)
+  public void lockUnlock_1Thread() {
+    lockUnlock();
+  }
+
+  @Benchmark
+  @Threads(8)
+  public void lockUnlock_8Threads() {
+    lockUnlock();
+  }
+
+  @Benchmark
+  @Threads(32)
+  public void lockUnlock_32Threads() {
+    lockUnlock();
+  }
+
+  private void lockUnlock() {
+    String accountNumber = LockBenchmarkContext.pick(accountNumbers);
+    accountLockProvider.lock(accountNumber, WAIT_TIME_MILLIS, LEASE_TIME_MILLIS);
+    try {
+      LockBenchmarkContext.criticalSection(criticalSectionMicros);
+    } finally {
+      accountLockProvider.unlock(accountNumber);
+    }
+  }
+}
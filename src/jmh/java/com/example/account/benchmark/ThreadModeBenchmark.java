@@ -0,0 +1,87 @@
+package com.example.account.benchmark;
+
+import com.example.account.exception.AccountException;
+import com.example.account.service.LocalAccountLockProvider;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+public class ThreadModeBenchmark {
+  private static final int REQUESTS_PER_INVOCATION = 2_000;
+  private static final int TOMCAT_MAX_THREADS = 200;
+
+  @Param({"platform", "virtual"})
+  private String threadMode;
+
+  @Param({"1", "16", "1024"})
+  private int accounts;
+
+  @Param({"5"})
+  private long blockingMillis;
+
+  @Param({"50"})
+  private long criticalSectionMicros;
+
+  private ExecutorService executor;
+  private LocalAccountLockProvider lockProvider;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    executor = "virtual".equals(threadMode)
+      ? Executors.newVirtualThreadPerTaskExecutor()
+      : Executors.newFixedThreadPool(TOMCAT_MAX_THREADS);
+    lockProvider = new LocalAccountLockProvider();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(REQUESTS_PER_INVOCATION)
+  public int concurrentRequests() throws Exception {
+    List<Future<Boolean>> responses = new ArrayList<>(REQUESTS_PER_INVOCATION);
+    for (int i = 0; i < REQUESTS_PER_INVOCATION; i++) {
+      String accountNumber = String.valueOf(1_000_000_000L + i % accounts);
+      responses.add(executor.submit(() -> handleRequest(accountNumber)));
+    }
+
+    int succeeded = 0;
+    for (Future<Boolean> response : responses) {
+      if (response.get()) {
+        succeeded++;
+      }
+    }
+    return succeeded;
+  }
+
+  private boolean handleRequest(String accountNumber) throws InterruptedException {
+    Thread.sleep(blockingMillis);
+
+    try {
+      lockProvider.lock(accountNumber, 5_000L, 15_000L);
+    } catch (AccountException e) {
+      return false;
+    }
+
+    try {
+      LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(criticalSectionMicros));
+      return true;
+    } finally {
+      lockProvider.unlock(accountNumber);
+    }
+  }
+}
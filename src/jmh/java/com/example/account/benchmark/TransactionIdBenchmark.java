@@ -0,0 +1,53 @@
+package com.example.account.benchmark;
+
+import com.example.account.config.TransactionIdProperties;
+import com.example.account.service.TransactionIdGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class TransactionIdBenchmark {
+  private final TransactionIdGenerator generator =
+    new TransactionIdGenerator(new TransactionIdProperties());
+
+  @Benchmark
+  @Threads(1)
+  public String uuid_1Thread() {
+    return uuid();
+  }
+
+  @Benchmark
+  @Threads(8)
+  public String uuid_8Threads() {
+    return uuid();
+  }
+
+  @Benchmark
+  @Threads(1)
+  public String generated_1Thread() {
+    return generator.next();
+  }
+
+  @Benchmark
+  @Threads(8)
+  public String generated_8Threads() {
+    return generator.next();
+  }
+
+  @Benchmark
+  @Threads(8)
+  public long generatedBinary_8Threads() {
+    return generator.nextId();
+  }
+
+  private static String uuid() {
+    return UUID.randomUUID().toString().replace("-", "");
+  }
+}
@@ -0,0 +1,93 @@
+package com.example.account.benchmark;
+
+import com.example.account.config.TransactionIdProperties;
+import com.example.account.domain.TransactionIdCodec;
+import com.example.account.service.TransactionIdGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class TransactionIdIndexBenchmark {
+  private static final int PRELOADED_ROWS = 200_000;
+  private static final int INSERT_BATCH = 100;
+
+  @Param({"uuid", "generated"})
+  private String scheme;
+
+  private final TransactionIdGenerator generator =
+    new TransactionIdGenerator(new TransactionIdProperties());
+
+  private Connection connection;
+  private PreparedStatement insert;
+  private PreparedStatement select;
+  private Object[] existingIds;
+
+  @Setup(Level.Trial)
+  public void setUp() throws SQLException {
+    connection = DriverManager.getConnection("jdbc:h2:mem:transaction_id_" + scheme);
+    try (Statement statement = connection.createStatement()) {
+      statement.execute("create table transaction (id bigint auto_increment primary key, "
+        + "transaction_id " + ("uuid".equals(scheme) ? "varchar(32)" : "bigint") + ")");
+      statement.execute("create unique index transaction_id_idx on transaction (transaction_id)");
+    }
+    insert = connection.prepareStatement("insert into transaction (transaction_id) values (?)");
+    select = connection.prepareStatement("select id from transaction where transaction_id = ?");
+
+    existingIds = new Object[PRELOADED_ROWS];
+    for (int i = 0; i < PRELOADED_ROWS; i++) {
+      existingIds[i] = nextId();
+      insert.setObject(1, existingIds[i]);
+      insert.addBatch();
+      if ((i + 1) % 1_000 == 0) {
+        insert.executeBatch();
+      }
+    }
+    insert.executeBatch();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws SQLException {
+    connection.close();
+  }
+
+  @Benchmark
+  public int[] insertBatch() throws SQLException {
+    for (int i = 0; i < INSERT_BATCH; i++) {
+      insert.setObject(1, nextId());
+      insert.addBatch();
+    }
+    return insert.executeBatch();
+  }
+
+  @Benchmark
+  public long findByTransactionId() throws SQLException {
+    Object id = existingIds[ThreadLocalRandom.current().nextInt(existingIds.length)];
+    if ("generated".equals(scheme)) {
+      id = TransactionIdCodec.decode(TransactionIdCodec.encode((Long) id));
+    }
+    select.setObject(1, id);
+    try (ResultSet resultSet = select.executeQuery()) {
+      return resultSet.next() ? resultSet.getLong(1) : -1L;
+    }
+  }
+
+  private Object nextId() {
+    return "uuid".equals(scheme)
+      ? UUID.randomUUID().toString().replace("-", "")
+      : generator.nextId();
+  }
+}
@@ -1,5 +1,7 @@
 package com.example.account.aop;
 
+import com.example.account.type.BalanceMode;
+
 import java.lang.annotation.*;
 
 @Target(ElementType.METHOD)
@@ -8,4 +10,10 @@ import java.lang.annotation.*;
 @Inherited
 public @interface AccountLock {
   long tryLockTime() default 5000L;
+
+  long leaseTime() default 15000L;
+
+  boolean fair() default false;
+
+  BalanceMode[] skipIn() default {};
 }
@@ -1,5 +1,11 @@
 package com.example.account.aop;
 
+import java.util.List;
+
 public interface AccountLockIdInterface {
   String getAccountNumber();
+
+  default List<String> getAccountNumbers() {
+    return List.of(getAccountNumber());
+  }
 }
@@ -0,0 +1,49 @@
+package com.example.account.aop;
+
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+
+public final class RequestDeadline {
+  public static final String HEADER = "X-Request-Timeout-Ms";
+
+  private static final ThreadLocal<Long> DEADLINE_NANOS = new ThreadLocal<>();
+
+  private RequestDeadline() {
+  }
+
+  public static void start(long timeoutMillis) {
+    DEADLINE_NANOS.set(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis));
+  }
+
+  public static void clear() {
+    DEADLINE_NANOS.remove();
+  }
+
+  public static Long capture() {
+    return DEADLINE_NANOS.get();
+  }
+
+  public static Runnable wrap(Long deadlineNanos, Runnable task) {
+    if (deadlineNanos == null) {
+      return task;
+    }
+
+    return () -> {
+      DEADLINE_NANOS.set(deadlineNanos);
+      try {
+        task.run();
+      } finally {
+        DEADLINE_NANOS.remove();
+      }
+    };
+  }
+
+  public static OptionalLong remainingMillis() {
+    Long deadlineNanos = DEADLINE_NANOS.get();
+    if (deadlineNanos == null) {
+      return OptionalLong.empty();
+    }
+    return OptionalLong.of(
+      TimeUnit.NANOSECONDS.toMillis(deadlineNanos - System.nanoTime()));
+  }
+}
@@ -0,0 +1,23 @@
+package com.example.account.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class AccountLockExecutorConfig {
+
+  @Bean
+  @ConditionalOnProperty(name = "account.threads.virtual", havingValue = "false",
+    matchIfMissing = true)
+  public ThreadPoolTaskExecutor accountLockExecutor() {
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(8);
+    executor.setMaxPoolSize(32);
+    executor.setQueueCapacity(1_000);
+    executor.setThreadNamePrefix("account-lock-");
+
+    return executor;
+  }
+}
@@ -0,0 +1,45 @@
+package com.example.account.config;
+
+import com.example.account.type.RedisFallbackMode;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "account.lock")
+public class AccountLockProperties {
+  private String provider = "redis";
+
+  private final Redis redis = new Redis();
+
+  private final Queue queue = new Queue();
+
+  private final Batch batch = new Batch();
+
+  @Getter
+  @Setter
+  public static class Redis {
+    private Duration commandTimeout = Duration.ofMillis(500);
+    private int retryAttempts = 1;
+    private Duration retryInterval = Duration.ofMillis(100);
+    private int failureThreshold = 5;
+    private Duration openDuration = Duration.ofSeconds(10);
+    private RedisFallbackMode fallback = RedisFallbackMode.LOCAL;
+  }
+
+  @Getter
+  @Setter
+  public static class Queue {
+    private int maxDepth = 64;
+  }
+
+  @Getter
+  @Setter
+  public static class Batch {
+    private Duration tryLockTime = Duration.ofSeconds(5);
+    private Duration leaseTime = Duration.ofSeconds(15);
+  }
+}
@@ -0,0 +1,13 @@
+package com.example.account.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "account.number")
+public class AccountNumberProperties {
+  private long first = 1_000_000_000L;
+  private int blockSize = 1000;
+}
@@ -0,0 +1,86 @@
+package com.example.account.config;
+
+import com.example.account.type.BalanceMode;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "account.balance")
+public class BalanceProperties {
+  private BalanceMode mode = BalanceMode.LOCKED;
+
+  private final Optimistic optimistic = new Optimistic();
+
+  private final Sharded sharded = new Sharded();
+
+  private final Ledger ledger = new Ledger();
+
+  private final GroupCommit groupCommit = new GroupCommit();
+
+  private final Redis redis = new Redis();
+
+  private final Hold hold = new Hold();
+
+  @Getter
+  @Setter
+  public static class Optimistic {
+    private int maxAttempts = 5;
+    private Duration initialBackoff = Duration.ofMillis(5);
+    private Duration maxBackoff = Duration.ofMillis(100);
+  }
+
+  @Getter
+  @Setter
+  public static class Sharded {
+    private int shards = Runtime.getRuntime().availableProcessors();
+    private int queueDepth = 1024;
+  }
+
+  @Getter
+  @Setter
+  public static class Ledger {
+    private int ringSize = 65_536;
+    private int persistBatchSize = 500;
+    private int persistQueueCapacity = 65_536;
+    private final Journal journal = new Journal();
+  }
+
+  @Getter
+  @Setter
+  public static class GroupCommit {
+    private int maxBatchSize = 64;
+    private Duration window = Duration.ofMillis(2);
+    private int queueCapacity = 4096;
+  }
+
+  @Getter
+  @Setter
+  public static class Redis {
+    private int writeBehindBatchSize = 500;
+    private Duration writeBehindPollTimeout = Duration.ofSeconds(1);
+    private String writeBehindConsumer = "writer";
+  }
+
+  @Getter
+  @Setter
+  public static class Hold {
+    private Duration ttl = Duration.ofMinutes(15);
+    private Duration tick = Duration.ofMillis(10);
+    private int wheelBits = 6;
+    private int wheelLevels = 4;
+    private int expiryThreads = 2;
+    private Duration sweepInterval = Duration.ofMinutes(1);
+  }
+
+  @Getter
+  @Setter
+  public static class Journal {
+    private String directory = "journal";
+    private int segmentRecords = 65_536;
+    private Duration forceInterval = Duration.ofMillis(10);
+  }
+}
@@ -0,0 +1,36 @@
+package com.example.account.config;
+
+import com.example.account.aop.RequestDeadline;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.util.OptionalLong;
+
+public class DeadlineAwareJpaTransactionManager extends JpaTransactionManager {
+
+  public DeadlineAwareJpaTransactionManager() {
+  }
+
+  public DeadlineAwareJpaTransactionManager(EntityManagerFactory entityManagerFactory) {
+    super(entityManagerFactory);
+  }
+
+  @Override
+  protected int determineTimeout(TransactionDefinition definition) {
+    int timeout = super.determineTimeout(definition);
+
+    OptionalLong remainingMillis = RequestDeadline.remainingMillis();
+    if (remainingMillis.isEmpty()) {
+      return timeout;
+    }
+
+    int remainingSeconds = (int) Math.max(1L,
+      Math.min(Integer.MAX_VALUE, (remainingMillis.getAsLong() + 999L) / 1000L));
+
+    if (timeout == TransactionDefinition.TIMEOUT_DEFAULT) {
+      return remainingSeconds;
+    }
+    return Math.min(timeout, remainingSeconds);
+  }
+}
@@ -16,9 +16,18 @@ public class RedisRepositoryConfig {
   private int redisPort;
   
   @Bean
-  public RedissonClient redissonClient() {
+  public RedissonClient redissonClient(AccountLockProperties accountLockProperties) {
+    AccountLockProperties.Redis redis = accountLockProperties.getRedis();
+    int commandTimeoutMillis = (int) redis.getCommandTimeout().toMillis();
+
     Config config = new Config();
-    config.useSingleServer().setAddress("redis://" + redisHost + ":" + redisPort);
+    config.setUseScriptCache(true);
+    config.useSingleServer()
+      .setAddress("redis://" + redisHost + ":" + redisPort)
+      .setConnectTimeout(commandTimeoutMillis)
+      .setTimeout(commandTimeoutMillis)
+      .setRetryAttempts(redis.getRetryAttempts())
+      .setRetryInterval((int) redis.getRetryInterval().toMillis());
     
     return Redisson.create(config);
   }
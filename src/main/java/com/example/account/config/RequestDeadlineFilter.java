@@ -0,0 +1,42 @@
+package com.example.account.config;
+
+import com.example.account.aop.RequestDeadline;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+@Slf4j
+@Component
+public class RequestDeadlineFilter extends OncePerRequestFilter {
+
+  @Override
+  protected void doFilterInternal(HttpServletRequest request,
+                                  HttpServletResponse response,
+                                  FilterChain filterChain)
+    throws ServletException, IOException {
+
+    String timeout = request.getHeader(RequestDeadline.HEADER);
+    if (timeout == null) {
+      filterChain.doFilter(request, response);
+      return;
+    }
+
+    try {
+      RequestDeadline.start(Long.parseLong(timeout.trim()));
+    } catch (NumberFormatException e) {
+      log.warn("Ignore invalid {} header : {}", RequestDeadline.HEADER, timeout);
+    }
+
+    try {
+      filterChain.doFilter(request, response);
+    } finally {
+      RequestDeadline.clear();
+    }
+  }
+}
@@ -0,0 +1,12 @@
+package com.example.account.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "account.transaction-id")
+public class TransactionIdProperties {
+  private int nodeId;
+}
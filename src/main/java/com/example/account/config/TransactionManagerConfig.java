@@ -0,0 +1,25 @@
+package com.example.account.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.transaction.TransactionManagerCustomizers;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@Configuration
+public class TransactionManagerConfig {
+
+  @Bean
+  public PlatformTransactionManager transactionManager(
+    EntityManagerFactory entityManagerFactory,
+    ObjectProvider<TransactionManagerCustomizers> transactionManagerCustomizers) {
+
+    DeadlineAwareJpaTransactionManager transactionManager =
+      new DeadlineAwareJpaTransactionManager(entityManagerFactory);
+    transactionManagerCustomizers.ifAvailable(
+      customizers -> customizers.customize(transactionManager));
+
+    return transactionManager;
+  }
+}
@@ -0,0 +1,25 @@
+package com.example.account.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+import java.util.concurrent.Executors;
+
+@Configuration
+@ConditionalOnProperty(name = "account.threads.virtual", havingValue = "true")
+public class VirtualThreadConfig {
+
+  @Bean
+  public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+    return protocolHandler ->
+      protocolHandler.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+  }
+
+  @Bean
+  public TaskExecutorAdapter accountLockExecutor() {
+    return new TaskExecutorAdapter(Executors.newVirtualThreadPerTaskExecutor());
+  }
+}
@@ -9,7 +9,6 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @RestController
 @RequiredArgsConstructor
@@ -39,11 +38,6 @@ public class AccountController {
     @RequestParam("user_id") Long userId
   ) {
 
-    return accountService.getAccountsByUserId(userId).stream()
-      .map(AccountDto -> AccountInfo.builder()
-        .accountNumber(AccountDto.getAccountNumber())
-        .balance(AccountDto.getBalance())
-        .build())
-      .collect(Collectors.toList());
+    return accountService.getAccountsByUserId(userId);
   }
 }
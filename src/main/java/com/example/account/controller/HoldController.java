@@ -0,0 +1,50 @@
+package com.example.account.controller;
+
+import com.example.account.aop.AccountLock;
+import com.example.account.dto.AuthorizeBalance;
+import com.example.account.dto.CaptureBalance;
+import com.example.account.dto.ReleaseBalance;
+import com.example.account.service.HoldService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+
+import static com.example.account.type.BalanceMode.ATOMIC;
+import static com.example.account.type.BalanceMode.LEDGER;
+import static com.example.account.type.BalanceMode.OPTIMISTIC;
+import static com.example.account.type.BalanceMode.REDIS;
+
+@RestController
+@RequiredArgsConstructor
+public class HoldController {
+  private final HoldService holdService;
+
+  @PostMapping("/transaction/authorize")
+  @AccountLock(skipIn = {ATOMIC, OPTIMISTIC, LEDGER, REDIS})
+  public AuthorizeBalance.Response authorize(
+    @Valid @RequestBody AuthorizeBalance.Request request) {
+
+    return AuthorizeBalance.Response.from(holdService.authorize(
+      request.getUserId(), request.getAccountNumber(), request.getAmount()));
+  }
+
+  @PostMapping("/transaction/capture")
+  @AccountLock(skipIn = {ATOMIC, OPTIMISTIC, LEDGER, REDIS})
+  public CaptureBalance.Response capture(
+    @Valid @RequestBody CaptureBalance.Request request) {
+
+    return CaptureBalance.Response.from(
+      holdService.capture(request.getHoldId(), request.getAccountNumber()));
+  }
+
+  @PostMapping("/transaction/release")
+  @AccountLock(skipIn = {ATOMIC, OPTIMISTIC, LEDGER, REDIS})
+  public ReleaseBalance.Response release(
+    @Valid @RequestBody ReleaseBalance.Request request) {
+
+    return ReleaseBalance.Response.from(
+      holdService.release(request.getHoldId(), request.getAccountNumber()));
+  }
+}
@@ -0,0 +1,25 @@
+package com.example.account.controller;
+
+import com.example.account.dto.HotLockInfo;
+import com.example.account.service.LockMetrics;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+@Endpoint(id = "hotlocks")
+@RequiredArgsConstructor
+public class HotLockEndpoint {
+  private static final int DEFAULT_LIMIT = 10;
+
+  private final LockMetrics lockMetrics;
+
+  @ReadOperation
+  public List<HotLockInfo> hotLocks(@Nullable Integer limit) {
+    return lockMetrics.getHotLocks(limit == null ? DEFAULT_LIMIT : limit);
+  }
+}
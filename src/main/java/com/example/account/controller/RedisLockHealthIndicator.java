@@ -0,0 +1,29 @@
+package com.example.account.controller;
+
+import com.example.account.service.RedisCircuitBreaker;
+import com.example.account.type.CircuitState;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "account.lock.provider", havingValue = "redis", matchIfMissing = true)
+public class RedisLockHealthIndicator implements HealthIndicator {
+  private static final Status DEGRADED = new Status("DEGRADED");
+
+  private final RedisCircuitBreaker redisCircuitBreaker;
+
+  @Override
+  public Health health() {
+    CircuitState state = redisCircuitBreaker.getState();
+    return Health.status(state == CircuitState.CLOSED ? Status.UP : DEGRADED)
+      .withDetail("circuit", state)
+      .withDetail("consecutiveFailures", redisCircuitBreaker.getConsecutiveFailures())
+      .withDetail("fallback", redisCircuitBreaker.getFallback())
+      .build();
+  }
+}
@@ -3,27 +3,68 @@ package com.example.account.controller;
 import com.example.account.aop.AccountLock;
 import com.example.account.dto.CancelBalance;
 import com.example.account.dto.QueryTransactionResponse;
+import com.example.account.dto.Transfer;
 import com.example.account.dto.UseBalance;
+import com.example.account.dto.UseBalanceBatch;
 import com.example.account.exception.AccountException;
+import com.example.account.service.AccountTicketQueue;
+import com.example.account.service.TransactionBatchService;
 import com.example.account.service.TransactionService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.concurrent.CompletableFuture;
+
+import static com.example.account.type.BalanceMode.ATOMIC;
+import static com.example.account.type.BalanceMode.LEDGER;
+import static com.example.account.type.BalanceMode.OPTIMISTIC;
+import static com.example.account.type.BalanceMode.REDIS;
+
 @Slf4j
 @RestController
 @RequiredArgsConstructor
 public class TransactionController {
   private final TransactionService transactionService;
+  private final TransactionBatchService transactionBatchService;
+  private final AccountTicketQueue accountTicketQueue;
 
   @PostMapping("/transaction/use")
-  @AccountLock
+  @AccountLock(fair = true, skipIn = {ATOMIC, OPTIMISTIC, LEDGER, REDIS})
   public UseBalance.Response useBalance(
     @Valid @RequestBody UseBalance.Request request) {
 
     try {
+      long sleepStartedAt = System.nanoTime();
       Thread.sleep(3000L);
+      accountTicketQueue.excludeFromHoldTime(request.getAccountNumber(),
+        System.nanoTime() - sleepStartedAt);
+      return doUseBalance(request);
+
+    } catch (InterruptedException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  @PostMapping("/transaction/use/async")
+  @AccountLock(skipIn = {ATOMIC, OPTIMISTIC, LEDGER, REDIS})
+  public CompletableFuture<UseBalance.Response> useBalanceAsync(
+    @Valid @RequestBody UseBalance.Request request) {
+
+    return CompletableFuture.completedFuture(doUseBalance(request));
+  }
+
+  @PostMapping("/transaction/use/batch")
+  public UseBalanceBatch.Response useBalanceBatch(
+    @Valid @RequestBody UseBalanceBatch.Request request) {
+
+    return UseBalanceBatch.Response.from(
+      transactionBatchService.useBalanceBatch(request.getItems()));
+  }
+
+  private UseBalance.Response doUseBalance(UseBalance.Request request) {
+    try {
       return UseBalance.Response.from(transactionService.useBalance(
         request.getUserId(), request.getAccountNumber(), request.getAmount()));
 
@@ -35,16 +76,26 @@ public class TransactionController {
       );
 
       throw e;
-    } catch (InterruptedException e) {
-      throw new RuntimeException(e);
     }
   }
 
   @PostMapping("/transaction/cancel")
-  @AccountLock
+  @AccountLock(skipIn = {ATOMIC, OPTIMISTIC, LEDGER, REDIS})
   public CancelBalance.Response cancelBalance(
     @Valid @RequestBody CancelBalance.Request request) {
 
+    return doCancelBalance(request);
+  }
+
+  @PostMapping("/transaction/cancel/async")
+  @AccountLock(skipIn = {ATOMIC, OPTIMISTIC, LEDGER, REDIS})
+  public CompletableFuture<CancelBalance.Response> cancelBalanceAsync(
+    @Valid @RequestBody CancelBalance.Request request) {
+
+    return CompletableFuture.completedFuture(doCancelBalance(request));
+  }
+
+  private CancelBalance.Response doCancelBalance(CancelBalance.Request request) {
     try {
       return CancelBalance.Response.from(transactionService.cancelBalance(
         request.getTransactionId(), request.getAccountNumber(), request.getAmount()));
@@ -60,6 +111,28 @@ public class TransactionController {
     }
   }
 
+  @PostMapping("/transaction/transfer")
+  @AccountLock(skipIn = {ATOMIC, OPTIMISTIC, LEDGER, REDIS})
+  public Transfer.Response transfer(
+    @Valid @RequestBody Transfer.Request request) {
+
+    try {
+      return Transfer.Response.from(transactionService.transfer(
+          request.getUserId(), request.getFromAccountNumber(),
+          request.getToAccountNumber(), request.getAmount()),
+        request.getToAccountNumber());
+
+    } catch (AccountException e) {
+      log.error("Failed to transfer.");
+
+      transactionService.saveFailedTransferTransaction(
+        request.getFromAccountNumber(), request.getAmount()
+      );
+
+      throw e;
+    }
+  }
+
   @GetMapping("/transaction/{transactionId}")
   public QueryTransactionResponse queryTransaction(
     @PathVariable String transactionId) {
@@ -5,6 +5,8 @@ import com.example.account.type.AccountStatus;
 import com.example.account.type.ErrorCode;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -17,27 +19,38 @@ import java.time.LocalDateTime;
 @RequiredArgsConstructor
 @Builder
 @Entity
+@NaturalIdCache
 public class Account extends BaseEntity {
 
-  @ManyToOne
+  @ManyToOne(fetch = FetchType.LAZY)
   private AccountUser accountUser;
+  @NaturalId
   private String accountNumber;
 
   @Enumerated(EnumType.STRING)
   private AccountStatus accountStatus;
   private Long balance;
 
+  @Builder.Default
+  private Long heldBalance = 0L;
+
+  @Version
+  private Long version;
 
   private LocalDateTime registeredAt;
   private LocalDateTime unRegisteredAt;
 
   public void useBalance(Long amount) {
-    if (amount > balance) {
+    if (amount > getAvailableBalance()) {
       throw new AccountException(ErrorCode.AMOUNT_EXCEED_BALANCE);
     }
     balance -= amount;
   }
 
+  public Long getAvailableBalance() {
+    return balance - heldBalance;
+  }
+
   public void cancelBalance(Long amount) {
     if (amount < 0) {
       throw new AccountException(ErrorCode.INVALID_REQUEST);
@@ -0,0 +1,20 @@
+package com.example.account.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Entity
+public class AccountNumberSequence {
+
+  @Id
+  private String name;
+  private Long nextValue;
+
+  @Version
+  private Long version;
+}
@@ -17,4 +17,7 @@ import java.time.LocalDateTime;
 public class AccountUser extends BaseEntity {
 
   private String name;
+
+  @Builder.Default
+  private Long accountCount = 0L;
 }
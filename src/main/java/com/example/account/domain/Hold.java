@@ -0,0 +1,30 @@
+package com.example.account.domain;
+
+import com.example.account.type.HoldStatus;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Entity
+public class Hold extends BaseEntity {
+
+  @ManyToOne(fetch = FetchType.LAZY)
+  private Account account;
+  @Column(unique = true, nullable = false, updatable = false)
+  @Convert(converter = TransactionIdConverter.class)
+  private String holdId;
+  private Long amount;
+
+  @Enumerated(EnumType.STRING)
+  private HoldStatus holdStatus;
+
+  private LocalDateTime heldAt;
+  private LocalDateTime expiresAt;
+  private LocalDateTime closedAt;
+}
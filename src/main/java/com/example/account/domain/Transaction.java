@@ -5,6 +5,8 @@ import com.example.account.type.TransactionResultType;
 import com.example.account.type.TransactionType;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -17,6 +19,7 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @Builder
 @Entity
+@NaturalIdCache
 public class Transaction extends BaseEntity {
 
   @Enumerated(EnumType.STRING)
@@ -24,11 +27,15 @@ public class Transaction extends BaseEntity {
   @Enumerated(EnumType.STRING)
   private TransactionResultType transactionResultType;
 
-  @ManyToOne
+  @ManyToOne(fetch = FetchType.LAZY)
   private Account account;
   private Long amount;
   private Long balanceSnapshot;
 
+  @NaturalId
+  @Convert(converter = TransactionIdConverter.class)
   private String transactionId;
+  @Convert(converter = TransactionIdConverter.class)
+  private String linkedTransactionId;
   private LocalDateTime transactedAt;
 }
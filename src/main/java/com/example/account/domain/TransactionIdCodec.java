@@ -0,0 +1,59 @@
+package com.example.account.domain;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.util.Arrays;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class TransactionIdCodec {
+  public static final int ENCODED_LENGTH = 13;
+  private static final int MAX_LEADING_DIGIT =
+    (1 << (Long.SIZE - 1 - 5 * (ENCODED_LENGTH - 1))) - 1;
+  private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+  private static final byte[] DECODE = new byte[128];
+
+  static {
+    Arrays.fill(DECODE, (byte) -1);
+    for (int i = 0; i < ALPHABET.length; i++) {
+      DECODE[ALPHABET[i]] = (byte) i;
+      DECODE[Character.toLowerCase(ALPHABET[i])] = (byte) i;
+    }
+  }
+
+  public static String encode(long id) {
+    char[] chars = new char[ENCODED_LENGTH];
+    for (int i = ENCODED_LENGTH - 1; i >= 0; i--) {
+      chars[i] = ALPHABET[(int) (id & 31)];
+      id >>>= 5;
+    }
+    return new String(chars);
+  }
+
+  public static long decode(String transactionId) {
+    if (!isValid(transactionId)) {
+      throw new IllegalArgumentException("malformed transaction id : " + transactionId);
+    }
+
+    long id = 0;
+    for (int i = 0; i < ENCODED_LENGTH; i++) {
+      id = id << 5 | DECODE[transactionId.charAt(i)];
+    }
+    return id;
+  }
+
+  public static boolean isValid(String transactionId) {
+    if (transactionId == null || transactionId.length() != ENCODED_LENGTH) {
+      return false;
+    }
+
+    for (int i = 0; i < ENCODED_LENGTH; i++) {
+      char c = transactionId.charAt(i);
+      int value = c < DECODE.length ? DECODE[c] : -1;
+      if (value < 0 || (i == 0 && value > MAX_LEADING_DIGIT)) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
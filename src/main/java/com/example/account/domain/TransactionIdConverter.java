@@ -0,0 +1,18 @@
+package com.example.account.domain;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+@Converter
+public class TransactionIdConverter implements AttributeConverter<String, Long> {
+
+  @Override
+  public Long convertToDatabaseColumn(String transactionId) {
+    return transactionId == null ? null : TransactionIdCodec.decode(transactionId);
+  }
+
+  @Override
+  public String convertToEntityAttribute(Long transactionId) {
+    return transactionId == null ? null : TransactionIdCodec.encode(transactionId);
+  }
+}
@@ -0,0 +1,39 @@
+package com.example.account.dto;
+
+import com.example.account.domain.Hold;
+import com.example.account.type.HoldStatus;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Setter
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class HoldDto {
+  private String accountNumber;
+  private String holdId;
+  private HoldStatus holdStatus;
+  private Long amount;
+  private Long balanceSnapshot;
+  private Long heldBalanceSnapshot;
+  private String transactionId;
+  private LocalDateTime heldAt;
+  private LocalDateTime expiresAt;
+  private LocalDateTime closedAt;
+
+  public static HoldDto from(Hold hold) {
+    return HoldDto.builder()
+      .accountNumber(hold.getAccount().getAccountNumber())
+      .holdId(hold.getHoldId())
+      .holdStatus(hold.getHoldStatus())
+      .amount(hold.getAmount())
+      .balanceSnapshot(hold.getAccount().getBalance())
+      .heldBalanceSnapshot(hold.getAccount().getHeldBalance())
+      .heldAt(hold.getHeldAt())
+      .expiresAt(hold.getExpiresAt())
+      .closedAt(hold.getClosedAt())
+      .build();
+  }
+}
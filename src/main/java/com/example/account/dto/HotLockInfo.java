@@ -0,0 +1,16 @@
+package com.example.account.dto;
+
+import lombok.*;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class HotLockInfo {
+  private String accountNumber;
+  private long contendedCount;
+  private long failedCount;
+  private long totalWaitMillis;
+  private long overestimatedWaitMillis;
+}
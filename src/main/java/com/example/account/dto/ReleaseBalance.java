@@ -0,0 +1,47 @@
+package com.example.account.dto;
+
+import com.example.account.aop.AccountLockIdInterface;
+import com.example.account.type.HoldStatus;
+import jakarta.validation.constraints.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+public class ReleaseBalance {
+
+  @Getter
+  @Setter
+  @AllArgsConstructor
+  public static class Request implements AccountLockIdInterface {
+
+    @NotBlank
+    private String holdId;
+
+    @NotBlank
+    @Size(min = 10, max = 10)
+    private String accountNumber;
+  }
+
+  @Getter
+  @Setter
+  @NoArgsConstructor
+  @AllArgsConstructor
+  @Builder
+  public static class Response {
+    private String accountNumber;
+    private String holdId;
+    private HoldStatus holdStatus;
+    private Long amount;
+    private LocalDateTime closedAt;
+
+    public static Response from(HoldDto holdDto) {
+      return Response.builder()
+        .accountNumber(holdDto.getAccountNumber())
+        .holdId(holdDto.getHoldId())
+        .holdStatus(holdDto.getHoldStatus())
+        .amount(holdDto.getAmount())
+        .closedAt(holdDto.getClosedAt())
+        .build();
+    }
+  }
+}
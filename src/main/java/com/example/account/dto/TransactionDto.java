@@ -1,6 +1,7 @@
 package com.example.account.dto;
 
 import com.example.account.domain.Transaction;
+import com.example.account.type.ErrorCode;
 import com.example.account.type.TransactionResultType;
 import com.example.account.type.TransactionType;
 import lombok.*;
@@ -19,7 +20,9 @@ public class TransactionDto {
   private Long amount;
   private Long balanceSnapshot;
   private String transactionId;
+  private String linkedTransactionId;
   private LocalDateTime transactedAt;
+  private ErrorCode errorCode;
 
   public static TransactionDto from(Transaction transaction) {
     return TransactionDto.builder()
@@ -29,6 +32,7 @@ public class TransactionDto {
       .amount(transaction.getAmount())
       .balanceSnapshot(transaction.getBalanceSnapshot())
       .transactionId(transaction.getTransactionId())
+      .linkedTransactionId(transaction.getLinkedTransactionId())
       .transactedAt(transaction.getTransactedAt())
       .build();
   }
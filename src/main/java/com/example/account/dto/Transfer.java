@@ -0,0 +1,73 @@
+package com.example.account.dto;
+
+import com.example.account.aop.AccountLockIdInterface;
+import com.example.account.type.TransactionResultType;
+import jakarta.validation.constraints.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+public class Transfer {
+
+  @Getter
+  @Setter
+  @AllArgsConstructor
+  public static class Request implements AccountLockIdInterface {
+
+    @NotNull
+    @Min(1)
+    private Long userId;
+
+    @NotBlank
+    @Size(min = 10, max = 10)
+    private String fromAccountNumber;
+
+    @NotBlank
+    @Size(min = 10, max = 10)
+    private String toAccountNumber;
+
+    @NotNull
+    @Min(10)
+    @Max(1000_000_000)
+    private Long amount;
+
+    @Override
+    public String getAccountNumber() {
+      return fromAccountNumber;
+    }
+
+    @Override
+    public List<String> getAccountNumbers() {
+      return Stream.of(fromAccountNumber, toAccountNumber).distinct().sorted().toList();
+    }
+  }
+
+  @Getter
+  @Setter
+  @NoArgsConstructor
+  @AllArgsConstructor
+  @Builder
+  public static class Response {
+    private String fromAccountNumber;
+    private String toAccountNumber;
+    private TransactionResultType transactionResult;
+    private String transactionId;
+    private String linkedTransactionId;
+    private Long amount;
+    private LocalDateTime transactedAt;
+
+    public static Response from(TransactionDto transactionDto, String toAccountNumber) {
+      return Response.builder()
+        .fromAccountNumber(transactionDto.getAccountNumber())
+        .toAccountNumber(toAccountNumber)
+        .transactionResult(transactionDto.getTransactionResultType())
+        .transactionId(transactionDto.getTransactionId())
+        .linkedTransactionId(transactionDto.getLinkedTransactionId())
+        .amount(transactionDto.getAmount())
+        .transactedAt(transactionDto.getTransactedAt())
+        .build();
+    }
+  }
+}
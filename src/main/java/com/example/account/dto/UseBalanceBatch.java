@@ -0,0 +1,65 @@
+package com.example.account.dto;
+
+import com.example.account.type.ErrorCode;
+import com.example.account.type.TransactionResultType;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class UseBalanceBatch {
+
+  @Getter
+  @Setter
+  @NoArgsConstructor
+  @AllArgsConstructor
+  public static class Request {
+
+    @NotEmpty
+    @Size(max = 1000)
+    private List<@Valid UseBalance.Request> items;
+  }
+
+  @Getter
+  @Setter
+  @NoArgsConstructor
+  @AllArgsConstructor
+  public static class Response {
+    private List<Item> results;
+
+    public static Response from(List<TransactionDto> transactionDtos) {
+      return new Response(transactionDtos.stream()
+        .map(Item::from)
+        .collect(Collectors.toList()));
+    }
+  }
+
+  @Getter
+  @Setter
+  @NoArgsConstructor
+  @AllArgsConstructor
+  @Builder
+  public static class Item {
+    private String accountNumber;
+    private TransactionResultType transactionResult;
+    private String transactionId;
+    private Long amount;
+    private LocalDateTime transactedAt;
+    private ErrorCode errorCode;
+
+    public static Item from(TransactionDto transactionDto) {
+      return Item.builder()
+        .accountNumber(transactionDto.getAccountNumber())
+        .transactionResult(transactionDto.getTransactionResultType())
+        .transactionId(transactionDto.getTransactionId())
+        .amount(transactionDto.getAmount())
+        .transactedAt(transactionDto.getTransactedAt())
+        .errorCode(transactionDto.getErrorCode())
+        .build();
+    }
+  }
+}
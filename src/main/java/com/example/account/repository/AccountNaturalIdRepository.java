@@ -0,0 +1,9 @@
+package com.example.account.repository;
+
+import com.example.account.domain.Account;
+
+import java.util.Optional;
+
+public interface AccountNaturalIdRepository {
+  Optional<Account> findByAccountNumber(String accountNumber);
+}
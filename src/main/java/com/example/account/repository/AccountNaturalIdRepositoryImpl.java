@@ -0,0 +1,22 @@
+package com.example.account.repository;
+
+import com.example.account.domain.Account;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+@RequiredArgsConstructor
+class AccountNaturalIdRepositoryImpl implements AccountNaturalIdRepository {
+  private final EntityManager entityManager;
+
+  @Override
+  @Transactional(readOnly = true)
+  public Optional<Account> findByAccountNumber(String accountNumber) {
+    return entityManager.unwrap(Session.class)
+      .bySimpleNaturalId(Account.class)
+      .loadOptional(accountNumber);
+  }
+}
@@ -0,0 +1,18 @@
+package com.example.account.repository;
+
+import com.example.account.domain.AccountNumberSequence;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface AccountNumberSequenceRepository
+  extends JpaRepository<AccountNumberSequence, String> {
+
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query("update versioned AccountNumberSequence s set s.nextValue = s.nextValue + :blockSize"
+    + " where s.name = :name")
+  int reserve(@Param("name") String name, @Param("blockSize") long blockSize);
+}
@@ -2,19 +2,84 @@ package com.example.account.repository;
 
 import com.example.account.domain.Account;
 import com.example.account.domain.AccountUser;
+import com.example.account.dto.AccountInfo;
+import com.example.account.type.AccountStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface AccountRepository extends JpaRepository<Account, Long> {
+public interface AccountRepository extends JpaRepository<Account, Long>,
+  AccountNaturalIdRepository {
   Optional<Account> findFirstByOrderByIdDesc();
 
-  Integer countByAccountUser(AccountUser accountUser);
+  long countByAccountUserIdAndAccountStatus(Long accountUserId, AccountStatus accountStatus);
 
-  Optional<Account> findByAccountNumber(String accountNumber);
+  @Query("select new com.example.account.dto.AccountInfo(a.accountNumber, a.balance)"
+    + " from Account a where a.accountUser.id = :userId order by a.id")
+  List<AccountInfo> findAccountInfosByUserId(@Param("userId") Long userId);
 
-  List<Account> findByAccountUser(AccountUser accountUser);
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query("update versioned Account a set a.balance = a.balance - :amount, a.updatedAt = :now"
+    + " where a.accountNumber = :accountNumber and a.accountUser.id = :userId"
+    + " and a.accountStatus = :status and a.balance - a.heldBalance >= :amount")
+  int debitBalance(@Param("userId") Long userId,
+                   @Param("accountNumber") String accountNumber,
+                   @Param("amount") Long amount,
+                   @Param("status") AccountStatus status,
+                   @Param("now") LocalDateTime now);
+
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query("update versioned Account a set a.balance = a.balance + :amount, a.updatedAt = :now"
+    + " where a.accountNumber = :accountNumber")
+  int creditBalance(@Param("accountNumber") String accountNumber,
+                    @Param("amount") Long amount,
+                    @Param("now") LocalDateTime now);
+
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query("update versioned Account a set a.balance = a.balance + :amount, a.updatedAt = :now"
+    + " where a.accountNumber = :accountNumber and a.accountStatus = :status")
+  int creditBalance(@Param("accountNumber") String accountNumber,
+                    @Param("amount") Long amount,
+                    @Param("status") AccountStatus status,
+                    @Param("now") LocalDateTime now);
+
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query("update versioned Account a"
+    + " set a.heldBalance = a.heldBalance + :amount, a.updatedAt = :now"
+    + " where a.accountNumber = :accountNumber and a.accountUser.id = :userId"
+    + " and a.accountStatus = :status and a.balance - a.heldBalance >= :amount")
+  int holdBalance(@Param("userId") Long userId,
+                  @Param("accountNumber") String accountNumber,
+                  @Param("amount") Long amount,
+                  @Param("status") AccountStatus status,
+                  @Param("now") LocalDateTime now);
+
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query("update versioned Account a"
+    + " set a.heldBalance = a.heldBalance - :amount, a.updatedAt = :now"
+    + " where a.id = :id")
+  int releaseHeldBalance(@Param("id") Long id,
+                         @Param("amount") Long amount,
+                         @Param("now") LocalDateTime now);
+
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query("update versioned Account a set a.balance = a.balance - :amount,"
+    + " a.heldBalance = a.heldBalance - :amount, a.updatedAt = :now where a.id = :id")
+  int captureHeldBalance(@Param("id") Long id,
+                         @Param("amount") Long amount,
+                         @Param("now") LocalDateTime now);
+
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query("update versioned Account a set a.balance = :balance, a.updatedAt = :now"
+    + " where a.id = :id")
+  int updateBalance(@Param("id") Long id,
+                    @Param("balance") Long balance,
+                    @Param("now") LocalDateTime now);
 }
@@ -1,9 +1,39 @@
 package com.example.account.repository;
 
 import com.example.account.domain.AccountUser;
+import com.example.account.type.AccountStatus;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface AccountUserRepository extends JpaRepository<AccountUser, Long> {
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("select u from AccountUser u where u.id = :id")
+  Optional<AccountUser> findByIdForUpdate(@Param("id") Long id);
+
+  @Query("select u.id from AccountUser u where u.accountCount <> (select count(a) from Account a"
+    + " where a.accountUser = u and a.accountStatus = :status)")
+  List<Long> findIdsWithAccountCountDrift(@Param("status") AccountStatus status);
+
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query("update AccountUser u set u.accountCount = u.accountCount + 1, u.updatedAt = :now"
+    + " where u.id = :id and u.accountCount < :max")
+  int incrementAccountCount(@Param("id") Long id,
+                            @Param("max") long max,
+                            @Param("now") LocalDateTime now);
+
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query("update AccountUser u set u.accountCount = u.accountCount - 1, u.updatedAt = :now"
+    + " where u.id = :id and u.accountCount > 0")
+  int decrementAccountCount(@Param("id") Long id,
+                            @Param("now") LocalDateTime now);
 }
@@ -0,0 +1,31 @@
+package com.example.account.repository;
+
+import com.example.account.domain.Hold;
+import com.example.account.type.HoldStatus;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface HoldRepository extends JpaRepository<Hold, Long> {
+  @EntityGraph(attributePaths = "account")
+  Optional<Hold> findByHoldId(String holdId);
+
+  @EntityGraph(attributePaths = "account")
+  List<Hold> findByHoldStatusAndExpiresAtBefore(HoldStatus holdStatus, LocalDateTime expiresAt);
+
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query("update Hold h set h.holdStatus = :to, h.closedAt = :now, h.updatedAt = :now"
+    + " where h.holdId = :holdId and h.holdStatus = :from")
+  int close(@Param("holdId") String holdId,
+            @Param("from") HoldStatus from,
+            @Param("to") HoldStatus to,
+            @Param("now") LocalDateTime now);
+}
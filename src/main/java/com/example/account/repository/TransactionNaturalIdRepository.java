@@ -0,0 +1,9 @@
+package com.example.account.repository;
+
+import com.example.account.domain.Transaction;
+
+import java.util.Optional;
+
+public interface TransactionNaturalIdRepository {
+  Optional<Transaction> findByTransactionId(String transactionId);
+}
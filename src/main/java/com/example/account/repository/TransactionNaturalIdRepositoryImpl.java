@@ -0,0 +1,33 @@
+package com.example.account.repository;
+
+import com.example.account.domain.Transaction;
+import com.example.account.domain.TransactionIdCodec;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Session;
+import org.hibernate.graph.GraphSemantic;
+import org.hibernate.graph.RootGraph;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+@RequiredArgsConstructor
+class TransactionNaturalIdRepositoryImpl implements TransactionNaturalIdRepository {
+  private final EntityManager entityManager;
+
+  @Override
+  @Transactional(readOnly = true)
+  public Optional<Transaction> findByTransactionId(String transactionId) {
+    if (!TransactionIdCodec.isValid(transactionId)) {
+      return Optional.empty();
+    }
+
+    Session session = entityManager.unwrap(Session.class);
+    RootGraph<Transaction> graph = session.createEntityGraph(Transaction.class);
+    graph.addAttributeNodes("account");
+
+    return session.bySimpleNaturalId(Transaction.class)
+      .with(graph, GraphSemantic.LOAD)
+      .loadOptional(transactionId);
+  }
+}
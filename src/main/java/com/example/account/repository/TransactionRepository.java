@@ -6,10 +6,11 @@ import com.example.account.domain.Transaction;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
-import java.util.Optional;
 
 @Repository
-public interface TransactionRepository extends JpaRepository<Transaction, Long> {
-  Optional<Transaction> findByTransactionId(String transactionId);
+public interface TransactionRepository extends JpaRepository<Transaction, Long>,
+  TransactionNaturalIdRepository {
+  List<Transaction> findByTransactionIdIn(Collection<String> transactionIds);
 }
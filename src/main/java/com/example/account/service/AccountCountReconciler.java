@@ -0,0 +1,70 @@
+package com.example.account.service;
+
+import com.example.account.domain.AccountUser;
+import com.example.account.repository.AccountRepository;
+import com.example.account.repository.AccountUserRepository;
+import com.example.account.type.AccountStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+
+@Slf4j
+@Component
+public class AccountCountReconciler {
+  private final AccountUserRepository accountUserRepository;
+  private final AccountRepository accountRepository;
+  private final TransactionTemplate transactionTemplate;
+
+  public AccountCountReconciler(AccountUserRepository accountUserRepository,
+                                AccountRepository accountRepository,
+                                PlatformTransactionManager transactionManager) {
+    this.accountUserRepository = accountUserRepository;
+    this.accountRepository = accountRepository;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+  }
+
+  @Scheduled(fixedDelayString = "${account.user.reconcile-interval}",
+    initialDelayString = "${account.user.reconcile-interval}")
+  public int reconcile() {
+    List<Long> driftedUserIds =
+      accountUserRepository.findIdsWithAccountCountDrift(AccountStatus.IN_USE);
+
+    int reconciled = 0;
+    for (Long userId : driftedUserIds) {
+      Boolean fixed = transactionTemplate.execute(status -> reconcile(userId));
+      if (Boolean.TRUE.equals(fixed)) {
+        reconciled++;
+      }
+    }
+
+    if (reconciled > 0) {
+      log.warn("Reconciled account counts of {} users.", reconciled);
+    }
+    return reconciled;
+  }
+
+  private boolean reconcile(Long userId) {
+    AccountUser accountUser = accountUserRepository.findByIdForUpdate(userId).orElse(null);
+    if (accountUser == null) {
+      return false;
+    }
+
+    long actual = accountRepository.countByAccountUserIdAndAccountStatus(
+      userId, AccountStatus.IN_USE);
+    if (Objects.equals(accountUser.getAccountCount(), actual)) {
+      return false;
+    }
+
+    log.warn("Account count drift for userId : {}, counted : {}, actual : {}",
+      userId, accountUser.getAccountCount(), actual);
+    accountUser.setAccountCount(actual);
+    accountUser.setUpdatedAt(LocalDateTime.now());
+    return true;
+  }
+}
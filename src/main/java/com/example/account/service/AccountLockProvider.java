@@ -0,0 +1,50 @@
+package com.example.account.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+public interface AccountLockProvider {
+  void lock(String accountNumber, long waitTimeMillis, long leaseTimeMillis);
+
+  void unlock(String accountNumber);
+
+  default void lockAll(List<String> accountNumbers, long waitTimeMillis,
+                       long leaseTimeMillis) {
+    List<String> locked = new ArrayList<>(accountNumbers.size());
+    try {
+      for (String accountNumber : accountNumbers) {
+        lock(accountNumber, waitTimeMillis, leaseTimeMillis);
+        locked.add(accountNumber);
+      }
+    } catch (RuntimeException e) {
+      unlockAll(locked);
+      throw e;
+    }
+  }
+
+  default void unlockAll(List<String> accountNumbers) {
+    for (int i = accountNumbers.size() - 1; i >= 0; i--) {
+      unlock(accountNumbers.get(i));
+    }
+  }
+
+  default void runAfterUnlock(Runnable action) {
+    action.run();
+  }
+
+  default boolean supportsAsync() {
+    return false;
+  }
+
+  default CompletableFuture<Void> lockAsync(String accountNumber, long waitTimeMillis,
+                                            long leaseTimeMillis, long ownerId) {
+    return CompletableFuture.failedFuture(new UnsupportedOperationException(
+      getClass().getSimpleName() + " does not support async lock"));
+  }
+
+  default CompletableFuture<Void> unlockAsync(String accountNumber, long ownerId) {
+    return CompletableFuture.failedFuture(new UnsupportedOperationException(
+      getClass().getSimpleName() + " does not support async lock"));
+  }
+}
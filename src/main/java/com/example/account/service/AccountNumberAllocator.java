@@ -0,0 +1,99 @@
+package com.example.account.service;
+
+import com.example.account.config.AccountNumberProperties;
+import com.example.account.domain.AccountNumberSequence;
+import com.example.account.exception.AccountException;
+import com.example.account.repository.AccountNumberSequenceRepository;
+import com.example.account.repository.AccountRepository;
+import com.example.account.type.ErrorCode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+@Slf4j
+@Component
+public class AccountNumberAllocator {
+  static final String SEQUENCE_NAME = "account";
+  private static final long LAST_ACCOUNT_NUMBER = 9_999_999_999L;
+
+  private final AccountNumberSequenceRepository sequenceRepository;
+  private final AccountRepository accountRepository;
+  private final TransactionTemplate transactionTemplate;
+  private final long first;
+  private final int blockSize;
+  private final ReentrantLock lock = new ReentrantLock();
+
+  private long nextNumber;
+  private long limit;
+
+  public AccountNumberAllocator(AccountNumberSequenceRepository sequenceRepository,
+                                AccountRepository accountRepository,
+                                PlatformTransactionManager transactionManager,
+                                AccountNumberProperties accountNumberProperties) {
+    this.sequenceRepository = sequenceRepository;
+    this.accountRepository = accountRepository;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.transactionTemplate.setPropagationBehavior(
+      TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    this.first = accountNumberProperties.getFirst();
+    this.blockSize = accountNumberProperties.getBlockSize();
+  }
+
+  public String next() {
+    lock.lock();
+    try {
+      if (nextNumber >= limit) {
+        long end = reserveBlock();
+        nextNumber = end - blockSize;
+        limit = Math.min(end, LAST_ACCOUNT_NUMBER + 1);
+        log.debug("Reserved account numbers [{}, {})", nextNumber, limit);
+      }
+      if (nextNumber > LAST_ACCOUNT_NUMBER) {
+        throw new AccountException(ErrorCode.ACCOUNT_NUMBER_EXHAUSTED);
+      }
+      return String.valueOf(nextNumber++);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private long reserveBlock() {
+    Long end = transactionTemplate.execute(status -> {
+      if (sequenceRepository.reserve(SEQUENCE_NAME, blockSize) == 0) {
+        return null;
+      }
+      return sequenceRepository.findById(SEQUENCE_NAME)
+        .map(AccountNumberSequence::getNextValue)
+        .orElseThrow(() -> new IllegalStateException("account number sequence vanished"));
+    });
+
+    if (end != null) {
+      return end;
+    }
+
+    initializeSequence();
+    return reserveBlock();
+  }
+
+  private void initializeSequence() {
+    long firstNumber = accountRepository.findFirstByOrderByIdDesc()
+      .map(account -> Long.parseLong(account.getAccountNumber()) + 1)
+      .orElse(first);
+
+    try {
+      transactionTemplate.executeWithoutResult(status -> sequenceRepository.saveAndFlush(
+        AccountNumberSequence.builder()
+          .name(SEQUENCE_NAME)
+          .nextValue(firstNumber)
+          .build()));
+      log.info("Account number sequence initialized at {}", firstNumber);
+    } catch (DataIntegrityViolationException e) {
+      log.debug("Account number sequence already initialized by another node.");
+    }
+  }
+}
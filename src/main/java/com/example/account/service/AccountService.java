@@ -3,16 +3,20 @@ package com.example.account.service;
 import com.example.account.domain.Account;
 import com.example.account.domain.AccountUser;
 import com.example.account.dto.AccountDto;
+import com.example.account.dto.AccountInfo;
 import com.example.account.exception.AccountException;
 import com.example.account.repository.AccountRepository;
 import com.example.account.repository.AccountUserRepository;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Objects;
 
 import static com.example.account.type.AccountStatus.IN_USE;
 import static com.example.account.type.AccountStatus.UNREGISTERED;
@@ -21,9 +25,12 @@ import static com.example.account.type.ErrorCode.*;
 @Service
 @RequiredArgsConstructor
 public class AccountService {
+  private static final long MAX_ACCOUNT_COUNT_PER_USER = 10L;
 
   private final AccountRepository accountRepository;
   private final AccountUserRepository accountUserRepository;
+  private final ObjectProvider<BalanceStore> balanceStore;
+  private final AccountNumberAllocator accountNumberAllocator;
 
   @Transactional
   public AccountDto createAccount(Long userId, Long initialBalance) {
@@ -31,9 +38,7 @@ public class AccountService {
 
     validateCreateAccount(accountUser);
 
-    String newAccountNumber = accountRepository.findFirstByOrderByIdDesc()
-      .map(account -> (Integer.parseInt(account.getAccountNumber())) + 1 + "")
-      .orElse("1000000000");
+    String newAccountNumber = accountNumberAllocator.next();
 
     return AccountDto.from(accountRepository.save(
       Account.builder()
@@ -53,7 +58,8 @@ public class AccountService {
   }
 
   private void validateCreateAccount(AccountUser accountUser) {
-    if (accountRepository.countByAccountUser(accountUser) >= 10) {
+    if (accountUserRepository.incrementAccountCount(
+      accountUser.getId(), MAX_ACCOUNT_COUNT_PER_USER, LocalDateTime.now()) == 0) {
       throw new AccountException(MAX_COUNT_PER_USER_10);
     }
   }
@@ -66,29 +72,54 @@ public class AccountService {
       .orElseThrow(() -> new AccountException(ACCOUNT_NOT_FOUND));
 
     validateDeleteAccount(account, accountUser);
+    validateBalanceEmpty(account);
 
     account.setAccountStatus(UNREGISTERED);
     account.setUnRegisteredAt(LocalDateTime.now());
 
     accountRepository.save(account);
+    accountUserRepository.decrementAccountCount(accountUser.getId(), LocalDateTime.now());
 
     return AccountDto.from(account);
   }
 
   private void validateDeleteAccount(Account account, AccountUser accountUser) {
-    if (account.getAccountUser().getId() != accountUser.getId()) {
+    if (!Objects.equals(account.getAccountUser().getId(), accountUser.getId())) {
       throw new AccountException(USER_ACCOUNT_UN_MATCH);
     }
 
     if (account.getAccountStatus() == UNREGISTERED) {
       throw new AccountException(ACCOUNT_ALREADY_UNREGISTERED);
     }
+  }
+
+  private void validateBalanceEmpty(Account account) {
+    BalanceStore store = balanceStore.getIfAvailable();
+    if (store != null) {
+      store.validateUnregister(account.getAccountNumber());
+      afterCommit(() -> store.unregister(account.getAccountNumber()));
+      return;
+    }
 
     if (account.getBalance() > 0) {
       throw new AccountException(BALANCE_NOT_EMPTY);
     }
   }
 
+  private static void afterCommit(Runnable action) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      action.run();
+      return;
+    }
+
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        action.run();
+      }
+    });
+  }
+
 
   @Transactional
   public Account getAccount(Long id) {
@@ -100,11 +131,12 @@ public class AccountService {
   }
 
   @Transactional
-  public List<AccountDto> getAccountsByUserId(Long userId) {
-    AccountUser accountUser = getAccountUser(userId);
-
-    List<Account> accounts = accountRepository.findByAccountUser(accountUser);
+  public List<AccountInfo> getAccountsByUserId(Long userId) {
+    List<AccountInfo> accounts = accountRepository.findAccountInfosByUserId(userId);
+    if (accounts.isEmpty()) {
+      getAccountUser(userId);
+    }
 
-    return accounts.stream().map(AccountDto::from).collect(Collectors.toList());
+    return accounts;
   }
 }
@@ -0,0 +1,108 @@
+package com.example.account.service;
+
+import com.example.account.config.AccountLockProperties;
+import com.example.account.exception.AccountException;
+import com.example.account.type.ErrorCode;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AccountTicketQueue {
+  private static final int EWMA_WEIGHT_SHIFT = 3;
+
+  private final AccountLockProperties accountLockProperties;
+
+  private final ConcurrentMap<String, TicketEntry> queues = new ConcurrentHashMap<>();
+  private volatile long averageHoldNanos;
+
+  public void acquire(String accountNumber, long waitTimeMillis) {
+    int maxDepth = accountLockProperties.getQueue().getMaxDepth();
+
+    TicketEntry entry = queues.compute(accountNumber, (key, current) -> {
+      TicketEntry ticketEntry = current == null ? new TicketEntry(averageHoldNanos) : current;
+      long estimatedWaitMillis = ticketEntry.estimateWaitMillis();
+      if (ticketEntry.users >= maxDepth || estimatedWaitMillis > waitTimeMillis) {
+        log.error("ticket queue full for accountNumber : {}, depth : {}, estimated wait : {}ms",
+          accountNumber, ticketEntry.users, estimatedWaitMillis);
+        throw new AccountException(ErrorCode.ACCOUNT_QUEUE_FULL, String.format(
+          "%s (예상 대기 시간: %dms)",
+          ErrorCode.ACCOUNT_QUEUE_FULL.getDescription(), estimatedWaitMillis));
+      }
+      ticketEntry.users++;
+      return ticketEntry;
+    });
+
+    boolean isLock = false;
+    try {
+      isLock = entry.lock.tryLock(waitTimeMillis, TimeUnit.MILLISECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+
+    if (!isLock) {
+      leave(accountNumber);
+      log.error("=============ticket wait timed out============");
+      throw new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK);
+    }
+    entry.acquiredAt = System.nanoTime();
+  }
+
+  public void release(String accountNumber) {
+    TicketEntry entry = queues.get(accountNumber);
+    if (entry == null || !entry.lock.isHeldByCurrentThread()) {
+      throw new IllegalMonitorStateException(
+        "ticket is not held for accountNumber : " + accountNumber);
+    }
+
+    long holdNanos = System.nanoTime() - entry.acquiredAt;
+    entry.averageHoldNanos = ewma(entry.averageHoldNanos, holdNanos);
+    averageHoldNanos = ewma(averageHoldNanos, holdNanos);
+
+    entry.lock.unlock();
+    leave(accountNumber);
+  }
+
+  public void excludeFromHoldTime(String accountNumber, long nanos) {
+    TicketEntry entry = queues.get(accountNumber);
+    if (entry != null && entry.lock.isHeldByCurrentThread()) {
+      entry.acquiredAt += nanos;
+    }
+  }
+
+  public int getDepth(String accountNumber) {
+    TicketEntry entry = queues.get(accountNumber);
+    return entry == null ? 0 : entry.users;
+  }
+
+  private void leave(String accountNumber) {
+    queues.computeIfPresent(accountNumber,
+      (key, entry) -> --entry.users == 0 ? null : entry);
+  }
+
+  private static long ewma(long average, long sample) {
+    return average == 0 ? sample : average + ((sample - average) >> EWMA_WEIGHT_SHIFT);
+  }
+
+  private static class TicketEntry {
+    private final ReentrantLock lock = new ReentrantLock(true);
+    private volatile long averageHoldNanos;
+    private volatile long acquiredAt;
+    private int users;
+
+    private TicketEntry(long averageHoldNanos) {
+      this.averageHoldNanos = averageHoldNanos;
+    }
+
+    private long estimateWaitMillis() {
+      return TimeUnit.NANOSECONDS.toMillis(users * averageHoldNanos);
+    }
+  }
+}
@@ -0,0 +1,13 @@
+package com.example.account.service;
+
+import com.example.account.dto.TransactionDto;
+
+public interface BalanceStore {
+  TransactionDto useBalance(Long userId, String accountNumber, Long amount);
+
+  TransactionDto cancelBalance(String accountNumber, Long amount);
+
+  void validateUnregister(String accountNumber);
+
+  void unregister(String accountNumber);
+}
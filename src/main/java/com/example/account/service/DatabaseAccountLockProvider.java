@@ -0,0 +1,114 @@
+package com.example.account.service;
+
+import com.example.account.domain.Account;
+import com.example.account.exception.AccountException;
+import com.example.account.type.ErrorCode;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "account.lock.provider", havingValue = "database")
+public class DatabaseAccountLockProvider implements AccountLockProvider {
+  private static final String LOCK_TIMEOUT_HINT = "jakarta.persistence.lock.timeout";
+
+  private final PlatformTransactionManager transactionManager;
+  private final EntityManager entityManager;
+
+  private final ThreadLocal<Deque<TransactionStatus>> lockTransactions =
+    ThreadLocal.withInitial(ArrayDeque::new);
+  private final ThreadLocal<List<Runnable>> afterUnlockActions =
+    ThreadLocal.withInitial(ArrayList::new);
+
+  @Override
+  public void lock(String accountNumber, long waitTimeMillis, long leaseTimeMillis) {
+    log.debug("Trying row lock for accountNumber : {}", accountNumber);
+
+    TransactionStatus status = transactionManager.getTransaction(
+      new DefaultTransactionDefinition(TransactionDefinition.PROPAGATION_REQUIRED));
+
+    List<Account> accounts;
+    try {
+      accounts = entityManager.createQuery(
+          "select a from Account a where a.accountNumber = :accountNumber",
+          Account.class)
+        .setParameter("accountNumber", accountNumber)
+        .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+        .setHint(LOCK_TIMEOUT_HINT, (int) Math.min(waitTimeMillis, Integer.MAX_VALUE))
+        .getResultList();
+    } catch (PersistenceException e) {
+      transactionManager.rollback(status);
+      log.error("=============lock acquisition failed============", e);
+      throw new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK);
+    }
+
+    if (accounts.isEmpty()) {
+      transactionManager.rollback(status);
+      throw new AccountException(ErrorCode.ACCOUNT_NOT_FOUND);
+    }
+
+    lockTransactions.get().push(status);
+  }
+
+  @Override
+  public void unlock(String accountNumber) {
+    log.debug("unlock for accountNumber : {}", accountNumber);
+
+    Deque<TransactionStatus> transactions = lockTransactions.get();
+    if (transactions.isEmpty()) {
+      throw new IllegalMonitorStateException(
+        "lock is not held for accountNumber : " + accountNumber);
+    }
+
+    TransactionStatus status = transactions.pop();
+    try {
+      if (status.isRollbackOnly()) {
+        transactionManager.rollback(status);
+      } else {
+        transactionManager.commit(status);
+      }
+    } finally {
+      if (transactions.isEmpty()) {
+        lockTransactions.remove();
+        runAfterUnlockActions();
+      }
+    }
+  }
+
+  @Override
+  public void runAfterUnlock(Runnable action) {
+    if (lockTransactions.get().isEmpty()) {
+      lockTransactions.remove();
+      action.run();
+      return;
+    }
+    afterUnlockActions.get().add(action);
+  }
+
+  private void runAfterUnlockActions() {
+    List<Runnable> actions = afterUnlockActions.get();
+    afterUnlockActions.remove();
+    for (Runnable action : actions) {
+      try {
+        action.run();
+      } catch (RuntimeException e) {
+        log.error("Failed to run action after row lock release.", e);
+      }
+    }
+  }
+}
@@ -0,0 +1,40 @@
+package com.example.account.service;
+
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.UndeclaredThrowableException;
+
+@Aspect
+@Component
+@RequiredArgsConstructor
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(name = "account.balance.mode", havingValue = "grouped")
+public class GroupCommitAspect {
+  private final GroupCommitExecutor groupCommitExecutor;
+
+  @Around("execution(* com.example.account.service.TransactionService.useBalance(..))"
+    + " || execution(* com.example.account.service.TransactionService.cancelBalance(..))")
+  public Object aroundBalanceUpdate(ProceedingJoinPoint pjp) throws Exception {
+    return groupCommitExecutor.execute(() -> invokeTarget(pjp));
+  }
+
+  private static Object invokeTarget(ProceedingJoinPoint pjp) throws Exception {
+    try {
+      return AopUtils.invokeJoinpointUsingReflection(pjp.getTarget(),
+        ((MethodSignature) pjp.getSignature()).getMethod(), pjp.getArgs());
+    } catch (Exception | Error e) {
+      throw e;
+    } catch (Throwable e) {
+      throw new UndeclaredThrowableException(e);
+    }
+  }
+}
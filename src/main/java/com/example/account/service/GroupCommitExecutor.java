@@ -0,0 +1,208 @@
+package com.example.account.service;
+
+import com.example.account.aop.RequestDeadline;
+import com.example.account.config.BalanceProperties;
+import com.example.account.exception.AccountException;
+import com.example.account.type.ErrorCode;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "account.balance.mode", havingValue = "grouped")
+public class GroupCommitExecutor {
+  private static final long IDLE_POLL_MILLIS = 100L;
+
+  private final TransactionTemplate transactionTemplate;
+  private final BlockingQueue<PendingOperation> pending;
+  private final int maxBatchSize;
+  private final long windowNanos;
+  private final DistributionSummary batchSize;
+  private final Thread worker;
+
+  private volatile boolean running = true;
+
+  public GroupCommitExecutor(TransactionTemplate transactionTemplate,
+                             BalanceProperties balanceProperties,
+                             MeterRegistry meterRegistry) {
+    BalanceProperties.GroupCommit groupCommit = balanceProperties.getGroupCommit();
+    this.transactionTemplate = transactionTemplate;
+    this.pending = new ArrayBlockingQueue<>(groupCommit.getQueueCapacity());
+    this.maxBatchSize = groupCommit.getMaxBatchSize();
+    this.windowNanos = groupCommit.getWindow().toNanos();
+    this.batchSize = DistributionSummary.builder("account.balance.group.size")
+      .description("Balance operations committed per database transaction")
+      .register(meterRegistry);
+    this.worker = new Thread(this::run, "group-commit");
+  }
+
+  @PostConstruct
+  public void start() {
+    worker.start();
+  }
+
+  @PreDestroy
+  public void stop() throws InterruptedException {
+    running = false;
+    worker.join();
+  }
+
+  public Object execute(Callable<Object> operation) throws Exception {
+    PendingOperation pendingOperation =
+      new PendingOperation(operation, RequestDeadline.capture());
+
+    if (!pending.offer(pendingOperation)) {
+      log.error("group commit queue full.");
+      throw new AccountException(ErrorCode.ACCOUNT_QUEUE_FULL);
+    }
+
+    return await(pendingOperation);
+  }
+
+  private void run() {
+    List<PendingOperation> batch = new ArrayList<>(maxBatchSize);
+    while (running || !pending.isEmpty()) {
+      try {
+        PendingOperation first = pending.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+        if (first == null) {
+          continue;
+        }
+        batch.add(first);
+        collect(batch);
+        commit(batch);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      } finally {
+        batch.clear();
+      }
+    }
+  }
+
+  private void collect(List<PendingOperation> batch) throws InterruptedException {
+    long windowEnd = System.nanoTime() + windowNanos;
+    while (batch.size() < maxBatchSize) {
+      pending.drainTo(batch, maxBatchSize - batch.size());
+      long remaining = windowEnd - System.nanoTime();
+      if (batch.size() >= maxBatchSize || remaining <= 0) {
+        return;
+      }
+
+      PendingOperation next = pending.poll(remaining, TimeUnit.NANOSECONDS);
+      if (next == null) {
+        return;
+      }
+      batch.add(next);
+    }
+  }
+
+  private void commit(List<PendingOperation> batch) {
+    batch.removeIf(operation -> !operation.claim());
+    if (batch.isEmpty()) {
+      return;
+    }
+
+    batchSize.record(batch.size());
+    try {
+      transactionTemplate.executeWithoutResult(status -> batch.forEach(PendingOperation::run));
+      batch.forEach(PendingOperation::complete);
+    } catch (RuntimeException e) {
+      log.warn("Group commit of {} operations failed. committing individually.",
+        batch.size(), e);
+      batch.forEach(this::commitAlone);
+    }
+  }
+
+  private void commitAlone(PendingOperation operation) {
+    try {
+      transactionTemplate.executeWithoutResult(status -> operation.run());
+      operation.complete();
+    } catch (RuntimeException e) {
+      operation.result.completeExceptionally(e);
+    }
+  }
+
+  private static Object await(PendingOperation operation) throws Exception {
+    try {
+      OptionalLong remainingMillis = RequestDeadline.remainingMillis();
+      if (remainingMillis.isEmpty()) {
+        return operation.result.get();
+      }
+
+      try {
+        return operation.result.get(
+          Math.max(0L, remainingMillis.getAsLong()), TimeUnit.MILLISECONDS);
+      } catch (TimeoutException e) {
+        if (operation.claim()) {
+          throw new AccountException(ErrorCode.REQUEST_DEADLINE_EXCEEDED);
+        }
+        return operation.result.get();
+      }
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof Exception cause) {
+        throw cause;
+      }
+      throw (Error) e.getCause();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK);
+    }
+  }
+
+  private static final class PendingOperation {
+    private final Callable<Object> operation;
+    private final Long deadlineNanos;
+    private final AtomicBoolean claimed = new AtomicBoolean();
+    private final CompletableFuture<Object> result = new CompletableFuture<>();
+
+    private Object value;
+    private Exception failure;
+
+    private PendingOperation(Callable<Object> operation, Long deadlineNanos) {
+      this.operation = operation;
+      this.deadlineNanos = deadlineNanos;
+    }
+
+    private boolean claim() {
+      return claimed.compareAndSet(false, true);
+    }
+
+    private void run() {
+      RequestDeadline.wrap(deadlineNanos, () -> {
+        try {
+          value = operation.call();
+          failure = null;
+        } catch (Exception e) {
+          value = null;
+          failure = e;
+        }
+      }).run();
+    }
+
+    private void complete() {
+      if (failure != null) {
+        result.completeExceptionally(failure);
+      } else {
+        result.complete(value);
+      }
+    }
+  }
+}
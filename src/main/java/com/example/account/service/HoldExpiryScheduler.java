@@ -0,0 +1,200 @@
+package com.example.account.service;
+
+import com.example.account.config.BalanceProperties;
+import com.example.account.domain.Hold;
+import com.example.account.exception.AccountException;
+import com.example.account.repository.HoldRepository;
+import com.example.account.type.BalanceMode;
+import com.example.account.type.HoldStatus;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+@Slf4j
+@Component
+public class HoldExpiryScheduler {
+  private static final long LOCK_WAIT_MILLIS = 1_000L;
+  private static final long LOCK_LEASE_MILLIS = 5_000L;
+  private static final Duration RETRY_DELAY = Duration.ofSeconds(1);
+
+  private final HoldRepository holdRepository;
+  private final ObjectProvider<HoldService> holdService;
+  private final AccountLockProvider accountLockProvider;
+  private final BalanceProperties balanceProperties;
+  private final long tickNanos;
+  private final long startNanos;
+  private final TimingWheel<Expiry> wheel;
+  private final long horizonNanos;
+  private final Duration sweepInterval;
+  private final Queue<TimingWheel.Timeout<Expiry>> pending = new ConcurrentLinkedQueue<>();
+  private final Map<String, TimingWheel.Timeout<Expiry>> timeouts = new ConcurrentHashMap<>();
+  private final ExecutorService expiryExecutor;
+  private final Thread ticker;
+
+  private volatile boolean running = true;
+
+  public HoldExpiryScheduler(HoldRepository holdRepository,
+                             ObjectProvider<HoldService> holdService,
+                             AccountLockProvider accountLockProvider,
+                             BalanceProperties balanceProperties,
+                             MeterRegistry meterRegistry) {
+    BalanceProperties.Hold hold = balanceProperties.getHold();
+    this.holdRepository = holdRepository;
+    this.holdService = holdService;
+    this.accountLockProvider = accountLockProvider;
+    this.balanceProperties = balanceProperties;
+    this.tickNanos = hold.getTick().toNanos();
+    this.startNanos = System.nanoTime();
+    this.wheel = new TimingWheel<>(hold.getWheelBits(), hold.getWheelLevels());
+    this.horizonNanos = wheel.horizonTicks() > Long.MAX_VALUE / tickNanos
+      ? Long.MAX_VALUE
+      : wheel.horizonTicks() * tickNanos;
+    this.sweepInterval = hold.getSweepInterval();
+
+    AtomicInteger threadNumber = new AtomicInteger();
+    this.expiryExecutor = Executors.newFixedThreadPool(hold.getExpiryThreads(),
+      runnable -> new Thread(runnable, "hold-expiry-" + threadNumber.getAndIncrement()));
+    this.ticker = new Thread(this::run, "hold-expiry-wheel");
+
+    Gauge.builder("account.balance.hold.scheduled", timeouts, Map::size)
+      .description("Outstanding holds waiting for expiry")
+      .register(meterRegistry);
+  }
+
+  @PostConstruct
+  public void start() {
+    LocalDateTime horizon = LocalDateTime.now().plusNanos(horizonNanos);
+    for (Hold hold : holdRepository.findByHoldStatusAndExpiresAtBefore(HoldStatus.HELD, horizon)) {
+      schedule(hold.getHoldId(), hold.getAccount().getAccountNumber(), hold.getExpiresAt());
+    }
+    log.info("Hold expiry wheel started with {} outstanding holds.", timeouts.size());
+    ticker.start();
+  }
+
+  @PreDestroy
+  public void stop() throws InterruptedException {
+    running = false;
+    ticker.join();
+    expiryExecutor.shutdown();
+    expiryExecutor.awaitTermination(5, TimeUnit.SECONDS);
+  }
+
+  @Scheduled(fixedDelayString = "${account.balance.hold.sweep-interval}",
+    initialDelayString = "${account.balance.hold.sweep-interval}")
+  public int sweep() {
+    LocalDateTime overdue = LocalDateTime.now().minus(sweepInterval);
+    int swept = 0;
+    for (Hold hold : holdRepository.findByHoldStatusAndExpiresAtBefore(HoldStatus.HELD, overdue)) {
+      if (!timeouts.containsKey(hold.getHoldId())) {
+        schedule(new Expiry(hold.getHoldId(), hold.getAccount().getAccountNumber()), 0L);
+        swept++;
+      }
+    }
+
+    if (swept > 0) {
+      log.warn("Swept {} overdue holds left unscheduled.", swept);
+    }
+    return swept;
+  }
+
+  public void schedule(String holdId, String accountNumber, LocalDateTime expiresAt) {
+    long delayNanos = Math.max(0L, Duration.between(LocalDateTime.now(), expiresAt).toNanos());
+    if (delayNanos >= horizonNanos) {
+      log.debug("Hold expiry beyond the wheel horizon left to the sweep. holdId : {}", holdId);
+      return;
+    }
+    schedule(new Expiry(holdId, accountNumber), delayNanos);
+  }
+
+  public void cancel(String holdId) {
+    TimingWheel.Timeout<Expiry> timeout = timeouts.remove(holdId);
+    if (timeout != null) {
+      timeout.cancel();
+    }
+  }
+
+  private void schedule(Expiry expiry, long delayNanos) {
+    long elapsedNanos = System.nanoTime() - startNanos + delayNanos;
+    long deadlineTick = (elapsedNanos + tickNanos - 1) / tickNanos;
+
+    TimingWheel.Timeout<Expiry> timeout = new TimingWheel.Timeout<>(expiry, deadlineTick);
+    TimingWheel.Timeout<Expiry> previous = timeouts.put(expiry.holdId(), timeout);
+    if (previous != null) {
+      previous.cancel();
+    }
+    pending.add(timeout);
+  }
+
+  private void run() {
+    while (running) {
+      TimingWheel.Timeout<Expiry> timeout;
+      while ((timeout = pending.poll()) != null) {
+        wheel.add(timeout);
+      }
+
+      wheel.advance((System.nanoTime() - startNanos) / tickNanos, this::submit);
+      LockSupport.parkNanos(tickNanos);
+    }
+  }
+
+  private void submit(Expiry expiry) {
+    try {
+      expiryExecutor.execute(() -> expire(expiry));
+    } catch (RejectedExecutionException e) {
+      log.warn("Hold expiry rejected during shutdown. holdId : {}", expiry.holdId());
+    }
+  }
+
+  private void expire(Expiry expiry) {
+    timeouts.computeIfPresent(expiry.holdId(),
+      (holdId, timeout) -> timeout.getTask() == expiry ? null : timeout);
+
+    boolean locked = isLockedMode();
+    if (locked) {
+      try {
+        accountLockProvider.lock(expiry.accountNumber(), LOCK_WAIT_MILLIS, LOCK_LEASE_MILLIS);
+      } catch (AccountException e) {
+        log.warn("Failed to lock account for hold expiry. holdId : {}", expiry.holdId());
+        schedule(expiry, RETRY_DELAY.toNanos());
+        return;
+      }
+    }
+
+    try {
+      holdService.getObject().expire(expiry.holdId());
+    } catch (RuntimeException e) {
+      log.error("Failed to expire hold. holdId : {}", expiry.holdId(), e);
+      schedule(expiry, RETRY_DELAY.toNanos());
+    } finally {
+      if (locked) {
+        accountLockProvider.unlock(expiry.accountNumber());
+      }
+    }
+  }
+
+  private boolean isLockedMode() {
+    BalanceMode mode = balanceProperties.getMode();
+    return mode == BalanceMode.LOCKED || mode == BalanceMode.GROUPED;
+  }
+
+  private record Expiry(String holdId, String accountNumber) {
+  }
+}
@@ -0,0 +1,207 @@
+package com.example.account.service;
+
+import com.example.account.config.BalanceProperties;
+import com.example.account.domain.Account;
+import com.example.account.domain.Hold;
+import com.example.account.domain.Transaction;
+import com.example.account.domain.TransactionIdCodec;
+import com.example.account.dto.HoldDto;
+import com.example.account.exception.AccountException;
+import com.example.account.repository.AccountRepository;
+import com.example.account.repository.HoldRepository;
+import com.example.account.repository.TransactionRepository;
+import com.example.account.type.AccountStatus;
+import com.example.account.type.BalanceMode;
+import com.example.account.type.ErrorCode;
+import com.example.account.type.HoldStatus;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+import static com.example.account.type.TransactionResultType.S;
+import static com.example.account.type.TransactionType.CAPTURE;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class HoldService {
+  private final HoldRepository holdRepository;
+  private final AccountRepository accountRepository;
+  private final TransactionRepository transactionRepository;
+  private final HoldExpiryScheduler holdExpiryScheduler;
+  private final BalanceProperties balanceProperties;
+  private final TransactionIdGenerator transactionIdGenerator;
+
+  @Transactional
+  public HoldDto authorize(Long userId, String accountNumber, Long amount) {
+    validateSupportedMode();
+
+    LocalDateTime now = LocalDateTime.now();
+    int updated = accountRepository.holdBalance(
+      userId, accountNumber, amount, AccountStatus.IN_USE, now);
+
+    Account account = accountRepository.findByAccountNumber(accountNumber)
+      .orElseThrow(() -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND));
+
+    if (updated == 0) {
+      validateAccountInUse(userId, account);
+      throw new AccountException(ErrorCode.AMOUNT_EXCEED_BALANCE);
+    }
+
+    Hold hold = holdRepository.save(Hold.builder()
+      .account(account)
+      .holdId(transactionIdGenerator.next())
+      .amount(amount)
+      .holdStatus(HoldStatus.HELD)
+      .heldAt(now)
+      .expiresAt(now.plus(balanceProperties.getHold().getTtl()))
+      .build());
+
+    afterCommit(() -> holdExpiryScheduler.schedule(
+      hold.getHoldId(), accountNumber, hold.getExpiresAt()));
+
+    return HoldDto.from(hold);
+  }
+
+  @Transactional
+  public HoldDto capture(String holdId, String accountNumber) {
+    validateSupportedMode();
+
+    Hold hold = getOpenHold(holdId, accountNumber);
+    LocalDateTime now = LocalDateTime.now();
+
+    if (hold.getExpiresAt().isBefore(now)) {
+      throw new AccountException(ErrorCode.HOLD_EXPIRED);
+    }
+
+    close(hold, HoldStatus.CAPTURED, now);
+    accountRepository.captureHeldBalance(hold.getAccount().getId(), hold.getAmount(), now);
+
+    Account account = accountRepository.findByAccountNumber(accountNumber)
+      .orElseThrow(() -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND));
+
+    Transaction transaction = transactionRepository.save(Transaction.builder()
+      .transactionType(CAPTURE)
+      .transactionResultType(S)
+      .account(account)
+      .amount(hold.getAmount())
+      .balanceSnapshot(account.getBalance())
+      .transactionId(transactionIdGenerator.next())
+      .linkedTransactionId(holdId)
+      .transactedAt(now)
+      .build());
+
+    afterCommit(() -> holdExpiryScheduler.cancel(holdId));
+
+    HoldDto holdDto = toClosedHoldDto(hold, account, HoldStatus.CAPTURED, now);
+    holdDto.setTransactionId(transaction.getTransactionId());
+    return holdDto;
+  }
+
+  @Transactional
+  public HoldDto release(String holdId, String accountNumber) {
+    validateSupportedMode();
+
+    Hold hold = getOpenHold(holdId, accountNumber);
+    LocalDateTime now = LocalDateTime.now();
+
+    close(hold, HoldStatus.RELEASED, now);
+    accountRepository.releaseHeldBalance(hold.getAccount().getId(), hold.getAmount(), now);
+
+    afterCommit(() -> holdExpiryScheduler.cancel(holdId));
+
+    return toClosedHoldDto(hold, accountRepository.findByAccountNumber(accountNumber)
+      .orElseThrow(() -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND)),
+      HoldStatus.RELEASED, now);
+  }
+
+  @Transactional
+  public void expire(String holdId) {
+    Hold hold = holdRepository.findByHoldId(holdId).orElse(null);
+    if (hold == null || hold.getHoldStatus() != HoldStatus.HELD) {
+      return;
+    }
+
+    LocalDateTime now = LocalDateTime.now();
+    if (holdRepository.close(holdId, HoldStatus.HELD, HoldStatus.EXPIRED, now) == 0) {
+      return;
+    }
+    accountRepository.releaseHeldBalance(hold.getAccount().getId(), hold.getAmount(), now);
+    log.debug("Hold expired. holdId : {}", holdId);
+  }
+
+  private Hold getOpenHold(String holdId, String accountNumber) {
+    if (!TransactionIdCodec.isValid(holdId)) {
+      throw new AccountException(ErrorCode.HOLD_NOT_FOUND);
+    }
+
+    Hold hold = holdRepository.findByHoldId(holdId)
+      .orElseThrow(() -> new AccountException(ErrorCode.HOLD_NOT_FOUND));
+
+    if (!Objects.equals(hold.getAccount().getAccountNumber(), accountNumber)) {
+      throw new AccountException(ErrorCode.HOLD_ACCOUNT_UN_MATCH);
+    }
+
+    if (hold.getHoldStatus() == HoldStatus.EXPIRED) {
+      throw new AccountException(ErrorCode.HOLD_EXPIRED);
+    }
+
+    if (hold.getHoldStatus() != HoldStatus.HELD) {
+      throw new AccountException(ErrorCode.HOLD_ALREADY_CLOSED);
+    }
+    return hold;
+  }
+
+  private void close(Hold hold, HoldStatus holdStatus, LocalDateTime now) {
+    if (holdRepository.close(hold.getHoldId(), HoldStatus.HELD, holdStatus, now) == 0) {
+      throw new AccountException(ErrorCode.HOLD_ALREADY_CLOSED);
+    }
+  }
+
+  private void validateSupportedMode() {
+    BalanceMode mode = balanceProperties.getMode();
+    if (mode == BalanceMode.LEDGER || mode == BalanceMode.REDIS) {
+      throw new AccountException(ErrorCode.UNSUPPORTED_BALANCE_MODE);
+    }
+  }
+
+  private void validateAccountInUse(Long userId, Account account) {
+    if (!Objects.equals(userId, account.getAccountUser().getId())) {
+      throw new AccountException(ErrorCode.USER_ACCOUNT_UN_MATCH);
+    }
+
+    if (account.getAccountStatus() != AccountStatus.IN_USE) {
+      throw new AccountException(ErrorCode.ACCOUNT_ALREADY_UNREGISTERED);
+    }
+  }
+
+  private static HoldDto toClosedHoldDto(Hold hold, Account account,
+                                         HoldStatus holdStatus, LocalDateTime now) {
+    HoldDto holdDto = HoldDto.from(hold);
+    holdDto.setHoldStatus(holdStatus);
+    holdDto.setClosedAt(now);
+    holdDto.setBalanceSnapshot(account.getBalance());
+    holdDto.setHeldBalanceSnapshot(account.getHeldBalance());
+    return holdDto;
+  }
+
+  private static void afterCommit(Runnable action) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      action.run();
+      return;
+    }
+
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        action.run();
+      }
+    });
+  }
+}
@@ -0,0 +1,251 @@
+package com.example.account.service;
+
+import com.example.account.config.BalanceProperties;
+import com.example.account.domain.Account;
+import com.example.account.dto.TransactionDto;
+import com.example.account.exception.AccountException;
+import com.example.account.repository.AccountRepository;
+import com.example.account.type.AccountStatus;
+import com.example.account.type.ErrorCode;
+import com.example.account.type.TransactionType;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.locks.LockSupport;
+
+import static com.example.account.type.TransactionResultType.S;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "account.balance.mode", havingValue = "ledger")
+public class InMemoryLedger implements BalanceStore {
+  private static final int INITIAL_CAPACITY = 1_024;
+  private static final int SPIN_TRIES = 100;
+  private static final long IDLE_PARK_NANOS = 50_000L;
+
+  private final AccountRepository accountRepository;
+  private final LedgerPersister ledgerPersister;
+  private final LedgerJournal ledgerJournal;
+  private final TransactionIdGenerator transactionIdGenerator;
+  private final LedgerRingBuffer ringBuffer;
+  private final Thread sequencer;
+
+  private final LongIntHashMap index = new LongIntHashMap(INITIAL_CAPACITY);
+  private final Set<Long> registeredKeys = ConcurrentHashMap.newKeySet();
+  private long[] balances = new long[INITIAL_CAPACITY];
+  private long[] ownerIds = new long[INITIAL_CAPACITY];
+  private long[] accountIds = new long[INITIAL_CAPACITY];
+  private boolean[] inUse = new boolean[INITIAL_CAPACITY];
+  private int accounts;
+
+  private volatile boolean running = true;
+
+  public InMemoryLedger(AccountRepository accountRepository,
+                        LedgerPersister ledgerPersister,
+                        LedgerJournal ledgerJournal,
+                        TransactionIdGenerator transactionIdGenerator,
+                        BalanceProperties balanceProperties) {
+    this.accountRepository = accountRepository;
+    this.ledgerPersister = ledgerPersister;
+    this.ledgerJournal = ledgerJournal;
+    this.transactionIdGenerator = transactionIdGenerator;
+    this.ringBuffer = new LedgerRingBuffer(balanceProperties.getLedger().getRingSize());
+    this.sequencer = new Thread(this::run, "ledger-sequencer");
+  }
+
+  @PostConstruct
+  public void start() {
+    ledgerPersister.replay();
+
+    List<Account> stored = accountRepository.findAll();
+    for (Account account : stored) {
+      register(account);
+    }
+    log.info("In-memory ledger rebuilt with {} accounts", stored.size());
+    sequencer.start();
+  }
+
+  @PreDestroy
+  public void stop() throws InterruptedException {
+    running = false;
+    sequencer.join();
+  }
+
+  @Override
+  public TransactionDto useBalance(Long userId, String accountNumber, Long amount) {
+    return submit(LedgerRingBuffer.Operation.USE, userId, accountNumber, amount);
+  }
+
+  @Override
+  public TransactionDto cancelBalance(String accountNumber, Long amount) {
+    return submit(LedgerRingBuffer.Operation.CANCEL, null, accountNumber, amount);
+  }
+
+  @Override
+  public void validateUnregister(String accountNumber) {
+    submit(LedgerRingBuffer.Operation.VALIDATE_UNREGISTER, null, accountNumber, 0L);
+  }
+
+  @Override
+  public void unregister(String accountNumber) {
+    submit(LedgerRingBuffer.Operation.UNREGISTER, null, accountNumber, 0L);
+  }
+
+  private TransactionDto submit(LedgerRingBuffer.Operation operation, Long userId,
+                                String accountNumber, Long amount) {
+    long accountKey = toKey(accountNumber);
+    Account account = registeredKeys.contains(accountKey) ? null
+      : accountRepository.findByAccountNumber(accountNumber)
+        .orElseThrow(() -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND));
+
+    CompletableFuture<TransactionDto> result = new CompletableFuture<>();
+    ringBuffer.publish(operation, userId, accountNumber, accountKey, account, amount, result);
+
+    try {
+      return result.get();
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw new IllegalStateException(e.getCause());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK);
+    }
+  }
+
+  private void run() {
+    int idle = 0;
+    while (running) {
+      LedgerRingBuffer.Command command = ringBuffer.peek();
+      if (command == null) {
+        if (++idle > SPIN_TRIES) {
+          LockSupport.parkNanos(IDLE_PARK_NANOS);
+        } else {
+          Thread.onSpinWait();
+        }
+        continue;
+      }
+
+      idle = 0;
+      CompletableFuture<TransactionDto> result = command.result;
+      try {
+        result.complete(apply(command));
+      } catch (RuntimeException e) {
+        result.completeExceptionally(e);
+      } finally {
+        ringBuffer.advance(command);
+      }
+    }
+  }
+
+  private TransactionDto apply(LedgerRingBuffer.Command command) {
+    int slot = getSlot(command);
+
+    switch (command.operation) {
+      case USE -> {
+        if (ownerIds[slot] != command.userId) {
+          throw new AccountException(ErrorCode.USER_ACCOUNT_UN_MATCH);
+        }
+        if (!inUse[slot]) {
+          throw new AccountException(ErrorCode.ACCOUNT_ALREADY_UNREGISTERED);
+        }
+        if (command.amount > balances[slot]) {
+          throw new AccountException(ErrorCode.AMOUNT_EXCEED_BALANCE);
+        }
+        balances[slot] -= command.amount;
+        return record(TransactionType.USE, slot, command);
+      }
+      case CANCEL -> {
+        if (command.amount < 0) {
+          throw new AccountException(ErrorCode.INVALID_REQUEST);
+        }
+        balances[slot] += command.amount;
+        return record(TransactionType.CANCEL, slot, command);
+      }
+      case VALIDATE_UNREGISTER -> {
+        if (!inUse[slot]) {
+          throw new AccountException(ErrorCode.ACCOUNT_ALREADY_UNREGISTERED);
+        }
+        if (balances[slot] > 0) {
+          throw new AccountException(ErrorCode.BALANCE_NOT_EMPTY);
+        }
+        return null;
+      }
+      case UNREGISTER -> {
+        inUse[slot] = false;
+        return null;
+      }
+      default -> throw new IllegalStateException("unknown operation : " + command.operation);
+    }
+  }
+
+  private TransactionDto record(TransactionType transactionType, int slot,
+                                LedgerRingBuffer.Command command) {
+    String transactionId = transactionIdGenerator.next();
+    LocalDateTime transactedAt = LocalDateTime.now();
+
+    ledgerPersister.enqueue(ledgerJournal.append(accountIds[slot], transactionType,
+      command.amount, balances[slot], transactionId, transactedAt));
+
+    return TransactionDto.builder()
+      .accountNumber(command.accountNumber)
+      .transactionType(transactionType)
+      .transactionResultType(S)
+      .amount(command.amount)
+      .balanceSnapshot(balances[slot])
+      .transactionId(transactionId)
+      .transactedAt(transactedAt)
+      .build();
+  }
+
+  private int getSlot(LedgerRingBuffer.Command command) {
+    int slot = index.get(command.accountKey);
+    if (!LongIntHashMap.isMissing(slot)) {
+      return slot;
+    }
+
+    if (command.account == null) {
+      throw new AccountException(ErrorCode.ACCOUNT_NOT_FOUND);
+    }
+    return register(command.account);
+  }
+
+  private int register(Account account) {
+    if (accounts == balances.length) {
+      int capacity = accounts << 1;
+      balances = Arrays.copyOf(balances, capacity);
+      ownerIds = Arrays.copyOf(ownerIds, capacity);
+      accountIds = Arrays.copyOf(accountIds, capacity);
+      inUse = Arrays.copyOf(inUse, capacity);
+    }
+
+    int slot = accounts++;
+    balances[slot] = account.getBalance();
+    ownerIds[slot] = account.getAccountUser().getId();
+    accountIds[slot] = account.getId();
+    inUse[slot] = account.getAccountStatus() == AccountStatus.IN_USE;
+    long accountKey = toKey(account.getAccountNumber());
+    index.put(accountKey, slot);
+    registeredKeys.add(accountKey);
+    return slot;
+  }
+
+  private static long toKey(String accountNumber) {
+    try {
+      return Long.parseLong(accountNumber);
+    } catch (NumberFormatException e) {
+      throw new AccountException(ErrorCode.ACCOUNT_NOT_FOUND);
+    }
+  }
+}
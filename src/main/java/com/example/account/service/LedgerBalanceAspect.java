@@ -0,0 +1,37 @@
+package com.example.account.service;
+
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+@Aspect
+@Component
+@RequiredArgsConstructor
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(name = "account.balance.mode", havingValue = "ledger")
+public class LedgerBalanceAspect {
+  private final InMemoryLedger inMemoryLedger;
+  private final ObjectProvider<TransactionService> transactionService;
+
+  @Around("execution(* com.example.account.service.TransactionService.useBalance(..))"
+    + " && args(userId, accountNumber, amount)")
+  public Object aroundUseBalance(ProceedingJoinPoint pjp, Long userId, String accountNumber,
+                                 Long amount) {
+    return inMemoryLedger.useBalance(userId, accountNumber, amount);
+  }
+
+  @Around("execution(* com.example.account.service.TransactionService.cancelBalance(..))"
+    + " && args(transactionId, accountNumber, amount)")
+  public Object aroundCancelBalance(ProceedingJoinPoint pjp, String transactionId,
+                                    String accountNumber, Long amount) {
+    transactionService.getObject()
+      .validateCancelBalanceRequest(transactionId, accountNumber, amount);
+    return inMemoryLedger.cancelBalance(accountNumber, amount);
+  }
+}
@@ -0,0 +1,19 @@
+package com.example.account.service;
+
+import com.example.account.type.TransactionType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@AllArgsConstructor
+class LedgerEntry {
+  private final long sequence;
+  private final long accountId;
+  private final TransactionType transactionType;
+  private final long amount;
+  private final long balanceSnapshot;
+  private final String transactionId;
+  private final LocalDateTime transactedAt;
+}
@@ -0,0 +1,57 @@
+package com.example.account.service;
+
+import com.example.account.domain.Transaction;
+import com.example.account.repository.AccountRepository;
+import com.example.account.repository.TransactionRepository;
+import lombok.RequiredArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static com.example.account.type.TransactionResultType.S;
+
+@RequiredArgsConstructor
+class LedgerEntryWriter {
+  private final TransactionRepository transactionRepository;
+  private final AccountRepository accountRepository;
+
+  void write(List<LedgerEntry> batch) {
+    List<Transaction> transactions = new ArrayList<>(batch.size());
+    Map<Long, Long> balances = new LinkedHashMap<>();
+
+    for (LedgerEntry entry : batch) {
+      transactions.add(Transaction.builder()
+        .transactionType(entry.getTransactionType())
+        .transactionResultType(S)
+        .account(accountRepository.getReferenceById(entry.getAccountId()))
+        .amount(entry.getAmount())
+        .balanceSnapshot(entry.getBalanceSnapshot())
+        .transactionId(entry.getTransactionId())
+        .transactedAt(entry.getTransactedAt())
+        .build());
+      balances.put(entry.getAccountId(), entry.getBalanceSnapshot());
+    }
+
+    transactionRepository.saveAll(transactions);
+    LocalDateTime now = LocalDateTime.now();
+    balances.forEach((accountId, balance) ->
+      accountRepository.updateBalance(accountId, balance, now));
+  }
+
+  void writeUnapplied(List<LedgerEntry> batch) {
+    Set<String> applied = transactionRepository.findByTransactionIdIn(
+        batch.stream().map(LedgerEntry::getTransactionId).toList())
+      .stream()
+      .map(Transaction::getTransactionId)
+      .collect(Collectors.toSet());
+
+    write(batch.stream()
+      .filter(entry -> !applied.contains(entry.getTransactionId()))
+      .toList());
+  }
+}
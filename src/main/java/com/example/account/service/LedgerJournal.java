@@ -0,0 +1,313 @@
+package com.example.account.service;
+
+import com.example.account.config.BalanceProperties;
+import com.example.account.domain.TransactionIdCodec;
+import com.example.account.type.TransactionType;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "account.balance.mode", havingValue = "ledger")
+public class LedgerJournal {
+  static final int RECORD_SIZE = 128;
+  private static final int CHECKSUM_OFFSET = RECORD_SIZE - Integer.BYTES;
+  private static final String SEGMENT_SUFFIX = ".journal";
+  private static final String CHECKPOINT_FILE = "applied.checkpoint";
+  private static final TransactionType[] TRANSACTION_TYPES = TransactionType.values();
+
+  private final Path directory;
+  private final int segmentRecords;
+  private final Duration forceInterval;
+
+  private final ConcurrentNavigableMap<Long, Segment> segments = new ConcurrentSkipListMap<>();
+  private final ByteBuffer scratch = ByteBuffer.allocate(RECORD_SIZE);
+  private final CRC32 checksum = new CRC32();
+  private final List<LedgerEntry> unapplied = new ArrayList<>();
+
+  private FileChannel checkpointChannel;
+  private MappedByteBuffer checkpoint;
+  private ScheduledExecutorService flusher;
+  private Segment current;
+  private long nextSequence;
+  private volatile long appendedSequence;
+  private volatile long forcedSequence;
+  private volatile long appliedSequence;
+
+  public LedgerJournal(BalanceProperties balanceProperties) {
+    BalanceProperties.Journal journal = balanceProperties.getLedger().getJournal();
+    this.directory = Paths.get(journal.getDirectory());
+    this.segmentRecords = journal.getSegmentRecords();
+    this.forceInterval = journal.getForceInterval();
+  }
+
+  @PostConstruct
+  public void open() {
+    try {
+      Files.createDirectories(directory);
+      checkpointChannel = FileChannel.open(directory.resolve(CHECKPOINT_FILE),
+        StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+      checkpoint = checkpointChannel.map(FileChannel.MapMode.READ_WRITE, 0, Long.BYTES);
+      appliedSequence = checkpoint.getLong(0);
+
+      try (Stream<Path> files = Files.list(directory)) {
+        for (Path path : files.filter(LedgerJournal::isSegment).sorted().toList()) {
+          long firstSequence = Long.parseLong(
+            path.getFileName().toString().replace(SEGMENT_SUFFIX, ""));
+          segments.put(firstSequence, map(path, firstSequence));
+        }
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException("failed to open ledger journal : " + directory, e);
+    }
+
+    nextSequence = recover();
+    appendedSequence = nextSequence - 1;
+    forcedSequence = appendedSequence;
+    removeAppliedSegments();
+    log.info("Ledger journal opened. applied : {}, appended : {}, unapplied : {}",
+      appliedSequence, appendedSequence, unapplied.size());
+
+    if (!forceInterval.isZero()) {
+      flusher = Executors.newSingleThreadScheduledExecutor(
+        runnable -> new Thread(runnable, "ledger-journal-flusher"));
+      long intervalMicros = TimeUnit.NANOSECONDS.toMicros(forceInterval.toNanos());
+      flusher.scheduleWithFixedDelay(this::force, intervalMicros, intervalMicros,
+        TimeUnit.MICROSECONDS);
+    }
+  }
+
+  @PreDestroy
+  public void close() throws InterruptedException, IOException {
+    if (flusher != null) {
+      flusher.shutdown();
+      flusher.awaitTermination(1, TimeUnit.SECONDS);
+    }
+    force();
+    for (Segment segment : segments.values()) {
+      segment.channel().close();
+    }
+    checkpoint.force();
+    checkpointChannel.close();
+  }
+
+  List<LedgerEntry> drainUnapplied() {
+    List<LedgerEntry> entries = List.copyOf(unapplied);
+    unapplied.clear();
+    return entries;
+  }
+
+  LedgerEntry append(long accountId, TransactionType transactionType, long amount,
+                     long balanceSnapshot, String transactionId,
+                     LocalDateTime transactedAt) {
+    long encodedTransactionId = TransactionIdCodec.decode(transactionId);
+
+    long sequence = nextSequence;
+    Segment segment = segmentFor(sequence);
+
+    scratch.clear();
+    scratch.putLong(sequence)
+      .putLong(accountId)
+      .put((byte) transactionType.ordinal())
+      .putLong(amount)
+      .putLong(balanceSnapshot)
+      .putLong(transactedAt.toEpochSecond(ZoneOffset.UTC))
+      .putInt(transactedAt.getNano())
+      .putLong(encodedTransactionId);
+    checksum.reset();
+    checksum.update(scratch.array(), 0, CHECKSUM_OFFSET);
+    scratch.putInt(CHECKSUM_OFFSET, (int) checksum.getValue());
+
+    segment.buffer().put(offsetOf(sequence), scratch.array(), 0, RECORD_SIZE);
+    nextSequence = sequence + 1;
+    appendedSequence = sequence;
+
+    if (forceInterval.isZero()) {
+      force();
+    }
+
+    return new LedgerEntry(sequence, accountId, transactionType, amount,
+      balanceSnapshot, transactionId, transactedAt);
+  }
+
+  void markApplied(long sequence) {
+    if (sequence <= appliedSequence) {
+      return;
+    }
+    appliedSequence = sequence;
+    checkpoint.putLong(0, sequence);
+    removeAppliedSegments();
+  }
+
+  long getAppliedSequence() {
+    return appliedSequence;
+  }
+
+  long getAppendedSequence() {
+    return appendedSequence;
+  }
+
+  private synchronized void force() {
+    long target = appendedSequence;
+    if (target <= forcedSequence) {
+      return;
+    }
+
+    Long from = segments.floorKey(forcedSequence + 1);
+    for (Segment segment : segments.tailMap(from == null ? 0L : from).values()) {
+      segment.buffer().force();
+    }
+    forcedSequence = target;
+  }
+
+  private long recover() {
+    long expected = appliedSequence + 1;
+    byte[] record = new byte[RECORD_SIZE];
+
+    while (true) {
+      Segment segment = segments.get(firstSequenceOf(expected));
+      if (segment == null) {
+        discardFrom(expected);
+        return expected;
+      }
+
+      segment.buffer().get(offsetOf(expected), record, 0, RECORD_SIZE);
+      LedgerEntry ledgerEntry = read(record, expected);
+      if (ledgerEntry == null) {
+        discardFrom(expected);
+        return expected;
+      }
+      unapplied.add(ledgerEntry);
+      expected++;
+    }
+  }
+
+  private void discardFrom(long sequence) {
+    long firstSequence = firstSequenceOf(sequence);
+    Segment segment = segments.get(firstSequence);
+    if (segment != null) {
+      byte[] zeros = new byte[RECORD_SIZE];
+      for (long offset = offsetOf(sequence); offset < (long) segmentRecords * RECORD_SIZE;
+           offset += RECORD_SIZE) {
+        segment.buffer().put((int) offset, zeros, 0, RECORD_SIZE);
+      }
+    }
+
+    for (Segment stale : segments.tailMap(firstSequence, false).values()) {
+      log.warn("Discarding ledger journal segment after torn tail : {}", stale.path());
+      segments.remove(stale.firstSequence());
+      try {
+        stale.channel().close();
+        Files.deleteIfExists(stale.path());
+      } catch (IOException e) {
+        throw new UncheckedIOException("failed to discard ledger journal segment", e);
+      }
+    }
+  }
+
+  private LedgerEntry read(byte[] record, long expectedSequence) {
+    checksum.reset();
+    checksum.update(record, 0, CHECKSUM_OFFSET);
+    ByteBuffer buffer = ByteBuffer.wrap(record);
+    if (buffer.getInt(CHECKSUM_OFFSET) != (int) checksum.getValue()
+      || buffer.getLong() != expectedSequence) {
+      return null;
+    }
+
+    long accountId = buffer.getLong();
+    TransactionType transactionType = TRANSACTION_TYPES[buffer.get()];
+    long amount = buffer.getLong();
+    long balanceSnapshot = buffer.getLong();
+    LocalDateTime transactedAt = LocalDateTime.ofEpochSecond(
+      buffer.getLong(), buffer.getInt(), ZoneOffset.UTC);
+    String transactionId = TransactionIdCodec.encode(buffer.getLong());
+
+    return new LedgerEntry(expectedSequence, accountId, transactionType, amount,
+      balanceSnapshot, transactionId, transactedAt);
+  }
+
+  private Segment segmentFor(long sequence) {
+    long firstSequence = firstSequenceOf(sequence);
+    if (current != null && current.firstSequence() == firstSequence) {
+      return current;
+    }
+
+    current = segments.get(firstSequence);
+    if (current == null) {
+      current = map(directory.resolve(String.format("%020d%s", firstSequence, SEGMENT_SUFFIX)),
+        firstSequence);
+      segments.put(firstSequence, current);
+      log.debug("Ledger journal rotated to segment starting at {}", firstSequence);
+    }
+    return current;
+  }
+
+  private synchronized void removeAppliedSegments() {
+    long applied = appliedSequence;
+    for (Segment segment : segments.values()) {
+      if (segment.firstSequence() + segmentRecords - 1 > applied || segment == current) {
+        break;
+      }
+      segments.remove(segment.firstSequence());
+      try {
+        segment.channel().close();
+        Files.deleteIfExists(segment.path());
+      } catch (IOException e) {
+        log.warn("Failed to remove applied ledger journal segment : {}", segment.path(), e);
+      }
+    }
+  }
+
+  private Segment map(Path path, long firstSequence) {
+    try {
+      FileChannel channel = FileChannel.open(path,
+        StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+      MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0,
+        (long) segmentRecords * RECORD_SIZE);
+      return new Segment(firstSequence, path, channel, buffer);
+    } catch (IOException e) {
+      throw new UncheckedIOException("failed to map ledger journal segment : " + path, e);
+    }
+  }
+
+  private long firstSequenceOf(long sequence) {
+    return (sequence - 1) / segmentRecords * segmentRecords + 1;
+  }
+
+  private int offsetOf(long sequence) {
+    return (int) ((sequence - 1) % segmentRecords) * RECORD_SIZE;
+  }
+
+  private static boolean isSegment(Path path) {
+    return path.getFileName().toString().endsWith(SEGMENT_SUFFIX);
+  }
+
+  private record Segment(long firstSequence, Path path, FileChannel channel,
+                         MappedByteBuffer buffer) {
+  }
+}
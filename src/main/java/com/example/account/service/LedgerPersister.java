@@ -0,0 +1,114 @@
+package com.example.account.service;
+
+import com.example.account.config.BalanceProperties;
+import com.example.account.repository.AccountRepository;
+import com.example.account.repository.TransactionRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "account.balance.mode", havingValue = "ledger")
+public class LedgerPersister {
+  private static final long RETRY_BACKOFF_MILLIS = 100L;
+
+  private final LedgerEntryWriter ledgerEntryWriter;
+  private final LedgerJournal ledgerJournal;
+  private final TransactionTemplate transactionTemplate;
+  private final BlockingQueue<LedgerEntry> pending;
+  private final int batchSize;
+  private final Thread worker;
+
+  private volatile boolean running = true;
+
+  public LedgerPersister(TransactionRepository transactionRepository,
+                         AccountRepository accountRepository,
+                         LedgerJournal ledgerJournal,
+                         TransactionTemplate transactionTemplate,
+                         BalanceProperties balanceProperties) {
+    this.ledgerEntryWriter = new LedgerEntryWriter(transactionRepository, accountRepository);
+    this.ledgerJournal = ledgerJournal;
+    this.transactionTemplate = transactionTemplate;
+    BalanceProperties.Ledger ledger = balanceProperties.getLedger();
+    this.pending = new ArrayBlockingQueue<>(ledger.getPersistQueueCapacity());
+    this.batchSize = ledger.getPersistBatchSize();
+    this.worker = new Thread(this::run, "ledger-persister");
+  }
+
+  @PostConstruct
+  public void start() {
+    worker.start();
+  }
+
+  @PreDestroy
+  public void stop() throws InterruptedException {
+    running = false;
+    worker.join();
+  }
+
+  void replay() {
+    List<LedgerEntry> unapplied = ledgerJournal.drainUnapplied();
+    if (unapplied.isEmpty()) {
+      return;
+    }
+
+    log.info("Replaying {} unapplied ledger journal entries", unapplied.size());
+    for (int from = 0; from < unapplied.size(); from += batchSize) {
+      List<LedgerEntry> batch = unapplied.subList(from,
+        Math.min(from + batchSize, unapplied.size()));
+      transactionTemplate.executeWithoutResult(status -> ledgerEntryWriter.writeUnapplied(batch));
+      ledgerJournal.markApplied(batch.get(batch.size() - 1).getSequence());
+    }
+  }
+
+  void enqueue(LedgerEntry entry) {
+    try {
+      pending.put(entry);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("interrupted while enqueueing ledger entry", e);
+    }
+  }
+
+  private void run() {
+    List<LedgerEntry> batch = new ArrayList<>(batchSize);
+    while (running || !pending.isEmpty()) {
+      try {
+        LedgerEntry first = pending.poll(RETRY_BACKOFF_MILLIS, TimeUnit.MILLISECONDS);
+        if (first == null) {
+          continue;
+        }
+        batch.add(first);
+        pending.drainTo(batch, batchSize - 1);
+        persistWithRetry(batch);
+        batch.clear();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+    }
+  }
+
+  private void persistWithRetry(List<LedgerEntry> batch) throws InterruptedException {
+    while (true) {
+      try {
+        transactionTemplate.executeWithoutResult(status -> ledgerEntryWriter.write(batch));
+        ledgerJournal.markApplied(batch.get(batch.size() - 1).getSequence());
+        return;
+      } catch (RuntimeException e) {
+        log.error("Failed to persist {} ledger entries. retrying.", batch.size(), e);
+        Thread.sleep(RETRY_BACKOFF_MILLIS);
+      }
+    }
+  }
+}
@@ -0,0 +1,86 @@
+package com.example.account.service;
+
+import com.example.account.domain.Account;
+import com.example.account.dto.TransactionDto;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+final class LedgerRingBuffer {
+  private final Command[] slots;
+  private final AtomicLongArray published;
+  private final int mask;
+  private final AtomicLong claimed = new AtomicLong();
+  private final AtomicLong consumed = new AtomicLong();
+
+  LedgerRingBuffer(int size) {
+    if (Integer.bitCount(size) != 1) {
+      throw new IllegalArgumentException("ring size must be a power of two : " + size);
+    }
+    slots = new Command[size];
+    published = new AtomicLongArray(size);
+    for (int i = 0; i < size; i++) {
+      slots[i] = new Command();
+      published.set(i, -1L);
+    }
+    mask = size - 1;
+  }
+
+  void publish(Operation operation, Long userId, String accountNumber, long accountKey,
+               Account account, Long amount, CompletableFuture<TransactionDto> result) {
+    long sequence = claimed.getAndIncrement();
+    while (sequence - consumed.get() >= slots.length) {
+      LockSupport.parkNanos(1_000L);
+    }
+
+    int index = (int) sequence & mask;
+    Command command = slots[index];
+    command.operation = operation;
+    command.userId = userId;
+    command.accountNumber = accountNumber;
+    command.accountKey = accountKey;
+    command.account = account;
+    command.amount = amount;
+    command.result = result;
+    published.set(index, sequence);
+  }
+
+  Command peek() {
+    long sequence = consumed.get();
+    int index = (int) sequence & mask;
+    return published.get(index) == sequence ? slots[index] : null;
+  }
+
+  void advance(Command command) {
+    command.clear();
+    consumed.lazySet(consumed.get() + 1);
+  }
+
+  enum Operation {
+    USE,
+    CANCEL,
+    VALIDATE_UNREGISTER,
+    UNREGISTER
+  }
+
+  static final class Command {
+    Operation operation;
+    Long userId;
+    String accountNumber;
+    long accountKey;
+    Account account;
+    Long amount;
+    CompletableFuture<TransactionDto> result;
+
+    private void clear() {
+      operation = null;
+      userId = null;
+      accountNumber = null;
+      account = null;
+      amount = null;
+      result = null;
+    }
+  }
+}
@@ -0,0 +1,67 @@
+package com.example.account.service;
+
+import com.example.account.exception.AccountException;
+import com.example.account.type.ErrorCode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "account.lock.provider", havingValue = "local")
+public class LocalAccountLockProvider implements AccountLockProvider {
+  private final ConcurrentMap<String, LockEntry> locks = new ConcurrentHashMap<>();
+
+  @Override
+  public void lock(String accountNumber, long waitTimeMillis, long leaseTimeMillis) {
+    log.debug("Trying local lock for accountNumber : {}", accountNumber);
+
+    LockEntry entry = locks.compute(accountNumber, (key, current) -> {
+      LockEntry lockEntry = current == null ? new LockEntry() : current;
+      lockEntry.users++;
+      return lockEntry;
+    });
+
+    boolean isLock = false;
+    try {
+      isLock = entry.lock.tryLock(waitTimeMillis, TimeUnit.MILLISECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+
+    if (!isLock) {
+      release(accountNumber);
+      log.error("=============lock acquisition failed============");
+      throw new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK);
+    }
+  }
+
+  @Override
+  public void unlock(String accountNumber) {
+    log.debug("unlock for accountNumber : {}", accountNumber);
+
+    LockEntry entry = locks.get(accountNumber);
+    if (entry == null || !entry.lock.isHeldByCurrentThread()) {
+      throw new IllegalMonitorStateException(
+        "lock is not held for accountNumber : " + accountNumber);
+    }
+
+    entry.lock.unlock();
+    release(accountNumber);
+  }
+
+  private void release(String accountNumber) {
+    locks.computeIfPresent(accountNumber,
+      (key, entry) -> --entry.users == 0 ? null : entry);
+  }
+
+  private static class LockEntry {
+    private final ReentrantLock lock = new ReentrantLock();
+    private int users;
+  }
+}
@@ -1,30 +1,272 @@
 package com.example.account.service;
 
+import com.example.account.aop.AccountLock;
 import com.example.account.aop.AccountLockIdInterface;
+import com.example.account.aop.RequestDeadline;
+import com.example.account.config.BalanceProperties;
+import com.example.account.exception.AccountException;
+import com.example.account.type.BalanceMode;
+import com.example.account.type.ErrorCode;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
 @Aspect
 @Component
 @Slf4j
 @RequiredArgsConstructor
 public class LockAopAspect {
-  private final LockService lockService;
+  private static final AtomicLong ASYNC_LOCK_OWNER_IDS = new AtomicLong(Long.MIN_VALUE);
+
+  private final AccountLockProvider accountLockProvider;
+  private final LockMetrics lockMetrics;
+  private final Executor accountLockExecutor;
+  private final AccountTicketQueue accountTicketQueue;
+  private final TransactionPreValidator transactionPreValidator;
+  private final BalanceProperties balanceProperties;
 
-  @Around("@annotation(com.example.account.aop.AccountLock) && args(request)")
+  @Around("@annotation(accountLock) && args(request)")
   public Object aroundMethod(
-    ProceedingJoinPoint pjp, AccountLockIdInterface request) throws Throwable {
+    ProceedingJoinPoint pjp, AccountLock accountLock,
+    AccountLockIdInterface request) throws Throwable {
+
+    if (isSkipped(accountLock)) {
+      return pjp.proceed();
+    }
+
+    transactionPreValidator.validate(request);
+
+    List<String> accountNumbers = request.getAccountNumbers().stream()
+      .distinct()
+      .sorted()
+      .toList();
+    if (accountNumbers.size() > 1) {
+      return aroundMultiAccountMethod(pjp, accountLock, accountNumbers);
+    }
+
+    if (isAsync(pjp) && accountLockProvider.supportsAsync()) {
+      return aroundAsyncMethod(pjp, accountLock, request.getAccountNumber());
+    }
+
+    String accountNumber = request.getAccountNumber();
+    long waitStartedAt = System.nanoTime();
+
+    try {
+      long waitTimeMillis = getWaitTime(accountLock.tryLockTime());
+      long lockWaitMillis = waitTimeMillis;
+      if (accountLock.fair()) {
+        accountTicketQueue.acquire(accountNumber, waitTimeMillis);
+        lockWaitMillis = Math.max(0L, waitTimeMillis
+          - TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - waitStartedAt));
+      }
+      lockWithTicket(accountNumber, accountLock, lockWaitMillis);
+    } catch (AccountException e) {
+      lockMetrics.recordFailed(accountNumber,
+        System.nanoTime() - waitStartedAt, e.getErrorCode());
+      throw e;
+    }
+
+    long lockedAt = System.nanoTime();
+    lockMetrics.recordAcquired(accountNumber, lockedAt - waitStartedAt);
+
+    try {
+      return pjp.proceed();
+    } finally {
+      try {
+        accountLockProvider.unlock(accountNumber);
+      } finally {
+        if (accountLock.fair()) {
+          accountTicketQueue.release(accountNumber);
+        }
+      }
+      lockMetrics.recordReleased(System.nanoTime() - lockedAt);
+    }
+  }
 
-    lockService.lock(request.getAccountNumber());
+  private Object aroundMultiAccountMethod(
+    ProceedingJoinPoint pjp, AccountLock accountLock,
+    List<String> accountNumbers) throws Throwable {
+
+    String lockKey = String.join(",", accountNumbers);
+    long waitStartedAt = System.nanoTime();
+
+    try {
+      accountLockProvider.lockAll(accountNumbers,
+        getWaitTime(accountLock.tryLockTime()), accountLock.leaseTime());
+    } catch (AccountException e) {
+      lockMetrics.recordFailed(lockKey, System.nanoTime() - waitStartedAt, e.getErrorCode());
+      throw e;
+    }
+
+    long lockedAt = System.nanoTime();
+    lockMetrics.recordAcquired(lockKey, lockedAt - waitStartedAt);
 
     try {
       return pjp.proceed();
     } finally {
-      lockService.unlock(request.getAccountNumber());
+      accountLockProvider.unlockAll(accountNumbers);
+      lockMetrics.recordReleased(System.nanoTime() - lockedAt);
+    }
+  }
+
+  public <T> T callLocked(String accountNumber, long tryLockTime, long leaseTime,
+                          Supplier<T> action) {
+    long waitStartedAt = System.nanoTime();
+
+    try {
+      accountLockProvider.lock(accountNumber, getWaitTime(tryLockTime), leaseTime);
+    } catch (AccountException e) {
+      lockMetrics.recordFailed(accountNumber,
+        System.nanoTime() - waitStartedAt, e.getErrorCode());
+      throw e;
+    }
+
+    long lockedAt = System.nanoTime();
+    lockMetrics.recordAcquired(accountNumber, lockedAt - waitStartedAt);
+
+    try {
+      return action.get();
+    } finally {
+      accountLockProvider.unlock(accountNumber);
+      lockMetrics.recordReleased(System.nanoTime() - lockedAt);
+    }
+  }
+
+  private void lockWithTicket(String accountNumber, AccountLock accountLock,
+                              long waitTimeMillis) {
+    try {
+      accountLockProvider.lock(accountNumber, waitTimeMillis, accountLock.leaseTime());
+    } catch (RuntimeException e) {
+      if (accountLock.fair()) {
+        accountTicketQueue.release(accountNumber);
+      }
+      throw e;
+    }
+  }
+
+  private CompletableFuture<Object> aroundAsyncMethod(
+    ProceedingJoinPoint pjp, AccountLock accountLock, String accountNumber) {
+
+    long ownerId = ASYNC_LOCK_OWNER_IDS.getAndIncrement();
+    long waitStartedAt = System.nanoTime();
+    Long deadlineNanos = RequestDeadline.capture();
+    CompletableFuture<Object> result = new CompletableFuture<>();
+
+    CompletableFuture<Void> locked;
+    try {
+      locked = accountLockProvider.lockAsync(accountNumber,
+        getWaitTime(accountLock.tryLockTime()), accountLock.leaseTime(), ownerId);
+    } catch (AccountException e) {
+      lockMetrics.recordFailed(accountNumber,
+        System.nanoTime() - waitStartedAt, e.getErrorCode());
+      throw e;
+    }
+
+    locked.whenComplete((ignored, lockFailure) -> {
+      if (lockFailure != null) {
+        Throwable cause = unwrap(lockFailure);
+        if (cause instanceof AccountException e) {
+          lockMetrics.recordFailed(accountNumber,
+            System.nanoTime() - waitStartedAt, e.getErrorCode());
+        }
+        result.completeExceptionally(cause);
+        return;
+      }
+
+      long lockedAt = System.nanoTime();
+      lockMetrics.recordAcquired(accountNumber, lockedAt - waitStartedAt);
+
+      try {
+        accountLockExecutor.execute(RequestDeadline.wrap(deadlineNanos,
+          () -> proceedAsync(pjp, accountNumber, ownerId, lockedAt, result)));
+      } catch (RejectedExecutionException e) {
+        log.error("async lock executor rejected accountNumber : {}", accountNumber);
+        complete(accountNumber, ownerId, lockedAt, result, null,
+          new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK));
+      }
+    });
+
+    return result;
+  }
+
+  private void proceedAsync(ProceedingJoinPoint pjp, String accountNumber, long ownerId,
+                            long lockedAt, CompletableFuture<Object> result) {
+    CompletableFuture<?> body;
+    try {
+      Object returned = pjp.proceed();
+      body = returned == null
+        ? CompletableFuture.completedFuture(null) : (CompletableFuture<?>) returned;
+    } catch (Throwable e) {
+      body = CompletableFuture.failedFuture(e);
+    }
+
+    body.whenComplete((value, failure) ->
+      complete(accountNumber, ownerId, lockedAt, result, value, failure));
+  }
+
+  private void complete(String accountNumber, long ownerId, long lockedAt,
+                        CompletableFuture<Object> result, Object value, Throwable failure) {
+    lockMetrics.recordReleased(System.nanoTime() - lockedAt);
+
+    accountLockProvider.unlockAsync(accountNumber, ownerId)
+      .whenComplete((ignored, unlockFailure) -> {
+        if (unlockFailure != null) {
+          log.error("async unlock failed for accountNumber : {}", accountNumber, unlockFailure);
+        }
+
+        if (failure != null) {
+          result.completeExceptionally(unwrap(failure));
+        } else {
+          result.complete(value);
+        }
+      });
+  }
+
+  private boolean isSkipped(AccountLock accountLock) {
+    for (BalanceMode mode : accountLock.skipIn()) {
+      if (mode == balanceProperties.getMode()) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static boolean isAsync(ProceedingJoinPoint pjp) {
+    return pjp.getSignature() instanceof MethodSignature signature
+      && CompletableFuture.class.isAssignableFrom(signature.getReturnType());
+  }
+
+  private static Throwable unwrap(Throwable throwable) {
+    if (throwable instanceof CompletionException && throwable.getCause() != null) {
+      return throwable.getCause();
+    }
+    return throwable;
+  }
+
+  private static long getWaitTime(long tryLockTime) {
+    OptionalLong remainingMillis = RequestDeadline.remainingMillis();
+    if (remainingMillis.isEmpty()) {
+      return tryLockTime;
+    }
+
+    if (remainingMillis.getAsLong() <= 0) {
+      log.error("request deadline exceeded before lock acquisition");
+      throw new AccountException(ErrorCode.REQUEST_DEADLINE_EXCEEDED);
     }
+    return Math.min(tryLockTime, remainingMillis.getAsLong());
   }
 }
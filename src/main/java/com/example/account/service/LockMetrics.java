@@ -0,0 +1,149 @@
+package com.example.account.service;
+
+import com.example.account.dto.HotLockInfo;
+import com.example.account.type.ErrorCode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+@Component
+public class LockMetrics {
+  private static final int MAX_TRACKED_ACCOUNTS = 1_000;
+  private static final long CONTENDED_WAIT_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+  private static final String ACQUIRED = "acquired";
+
+  private final MeterRegistry meterRegistry;
+  private final String provider;
+  private final Timer holdTimer;
+
+  private final ConcurrentMap<String, Timer> waitTimers = new ConcurrentHashMap<>();
+  private final ConcurrentMap<ErrorCode, Counter> failureCounters = new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, Contention> contentions = new ConcurrentHashMap<>();
+  private final ReentrantLock trackingLock = new ReentrantLock();
+
+  public LockMetrics(MeterRegistry meterRegistry,
+                     @Value("${account.lock.provider:redis}") String provider) {
+    this.meterRegistry = meterRegistry;
+    this.provider = provider;
+    this.holdTimer = Timer.builder("account.lock.hold")
+      .description("Time an account lock is held")
+      .tag("provider", provider)
+      .publishPercentileHistogram()
+      .register(meterRegistry);
+  }
+
+  public void recordAcquired(String accountNumber, long waitNanos) {
+    getWaitTimer(ACQUIRED).record(waitNanos, TimeUnit.NANOSECONDS);
+
+    if (waitNanos >= CONTENDED_WAIT_NANOS) {
+      getContention(accountNumber).record(waitNanos, false);
+    }
+  }
+
+  public void recordFailed(String accountNumber, long waitNanos, ErrorCode errorCode) {
+    getWaitTimer(errorCode.name().toLowerCase()).record(waitNanos, TimeUnit.NANOSECONDS);
+    failureCounters.computeIfAbsent(errorCode, code -> Counter.builder("account.lock.failures")
+        .description("Account lock acquisition failures")
+        .tag("provider", provider)
+        .tag("errorCode", code.name())
+        .register(meterRegistry))
+      .increment();
+
+    getContention(accountNumber).record(waitNanos, true);
+  }
+
+  public void recordReleased(long holdNanos) {
+    holdTimer.record(holdNanos, TimeUnit.NANOSECONDS);
+  }
+
+  public List<HotLockInfo> getHotLocks(int limit) {
+    return contentions.entrySet().stream()
+      .sorted(Comparator.comparingLong(
+        (Map.Entry<String, Contention> entry) -> entry.getValue().waitNanos.sum()).reversed())
+      .limit(limit)
+      .map(entry -> HotLockInfo.builder()
+        .accountNumber(entry.getKey())
+        .contendedCount(entry.getValue().contended.sum())
+        .failedCount(entry.getValue().failed.sum())
+        .totalWaitMillis(TimeUnit.NANOSECONDS.toMillis(entry.getValue().waitNanos.sum()))
+        .overestimatedWaitMillis(
+          TimeUnit.NANOSECONDS.toMillis(entry.getValue().overestimatedWaitNanos))
+        .build())
+      .collect(Collectors.toList());
+  }
+
+  private Timer getWaitTimer(String outcome) {
+    return waitTimers.computeIfAbsent(outcome, key -> Timer.builder("account.lock.wait")
+      .description("Time spent waiting for an account lock")
+      .tag("provider", provider)
+      .tag("outcome", key)
+      .publishPercentileHistogram()
+      .register(meterRegistry));
+  }
+
+  private Contention getContention(String accountNumber) {
+    Contention contention = contentions.get(accountNumber);
+    if (contention != null) {
+      return contention;
+    }
+
+    trackingLock.lock();
+    try {
+      contention = contentions.get(accountNumber);
+      if (contention == null) {
+        contention = contentions.size() >= MAX_TRACKED_ACCOUNTS
+          ? new Contention(evictLeastContended()) : new Contention();
+        contentions.put(accountNumber, contention);
+      }
+      return contention;
+    } finally {
+      trackingLock.unlock();
+    }
+  }
+
+  private Contention evictLeastContended() {
+    Map.Entry<String, Contention> least = contentions.entrySet().stream()
+      .min(Comparator.comparingLong(entry -> entry.getValue().waitNanos.sum()))
+      .orElseThrow();
+    contentions.remove(least.getKey());
+    return least.getValue();
+  }
+
+  private static class Contention {
+    private final LongAdder contended = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+    private final long overestimatedWaitNanos;
+
+    private Contention() {
+      this.overestimatedWaitNanos = 0L;
+    }
+
+    private Contention(Contention evicted) {
+      this.contended.add(evicted.contended.sum());
+      this.failed.add(evicted.failed.sum());
+      this.overestimatedWaitNanos = evicted.waitNanos.sum();
+      this.waitNanos.add(overestimatedWaitNanos);
+    }
+
+    private void record(long waitNanos, boolean failed) {
+      this.contended.increment();
+      this.waitNanos.add(waitNanos);
+      if (failed) {
+        this.failed.increment();
+      }
+    }
+  }
+}
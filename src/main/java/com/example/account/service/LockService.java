@@ -2,46 +2,372 @@ package com.example.account.service;
 
 import com.example.account.exception.AccountException;
 import com.example.account.type.ErrorCode;
+import com.example.account.type.RedisFallbackMode;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.redisson.api.RLock;
 import org.redisson.api.RedissonClient;
+import org.redisson.client.RedisException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
-public class LockService {
+@ConditionalOnProperty(name = "account.lock.provider", havingValue = "redis", matchIfMissing = true)
+public class LockService implements AccountLockProvider {
+  private static final int MAX_CACHED_LOCKS = 10_000;
+  private static final int DEGRADED = 1;
+  private static final int ASYNC = -1;
+
   private final RedissonClient redissonClient;
+  private final RedisCircuitBreaker redisCircuitBreaker;
+
+  private final ConcurrentMap<String, LocalLock> localLocks = new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, RLock> redisLocks = new ConcurrentHashMap<>();
+  private final ThreadLocal<Set<String>> degradedLocks = ThreadLocal.withInitial(HashSet::new);
 
-  public String lock(String accountNumber) {
-    RLock lock = redissonClient.getLock(getLockKey(accountNumber));
+  @Override
+  public void lock(String accountNumber, long waitTimeMillis, long leaseTimeMillis) {
     log.debug("Trying lock for accountNumber : {}", accountNumber);
 
-    try {
-      boolean isLock = lock.tryLock(1, 15, TimeUnit.SECONDS);
-      if (!isLock) {
-        log.error("=============lock acquisition failed============");
-        throw new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK);
-      }
+    long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(waitTimeMillis);
+    lockLocal(accountNumber, waitTimeMillis);
 
-    } catch (AccountException e) {
-      throw e;
-    } catch (Exception e) {
+    if (!redisCircuitBreaker.allowRequest()) {
+      lockDegraded(accountNumber);
+      return;
+    }
+
+    boolean isLock;
+    try {
+      long remainingMillis = Math.max(0L,
+        TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()));
+      isLock = getRedisLock(accountNumber)
+        .tryLock(remainingMillis, leaseTimeMillis, TimeUnit.MILLISECONDS);
+    } catch (RedisException e) {
       log.error("Redis lock failed.", e);
+      redisCircuitBreaker.recordFailure();
+      lockDegraded(accountNumber);
+      return;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      unlockLocal(accountNumber);
+      throw new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK);
+    } catch (RuntimeException e) {
+      unlockLocal(accountNumber);
+      throw e;
     }
 
-    return "get lock success";
+    redisCircuitBreaker.recordSuccess();
+    if (!isLock) {
+      unlockLocal(accountNumber);
+      log.error("=============lock acquisition failed============");
+      throw new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK);
+    }
   }
 
+  @Override
   public void unlock(String accountNumber) {
     log.debug("unlock for accountNumber : {}", accountNumber);
-    redissonClient.getLock(getLockKey(accountNumber)).unlock();
+
+    try {
+      if (degradedLocks.get().remove(accountNumber)) {
+        localLocks.get(accountNumber).leave(DEGRADED);
+      } else {
+        getRedisLock(accountNumber).unlock();
+      }
+    } catch (RedisException e) {
+      log.error("Redis unlock failed. lock will expire after its lease time.", e);
+      redisCircuitBreaker.recordFailure();
+    } finally {
+      unlockLocal(accountNumber);
+    }
+  }
+
+  @Override
+  public void lockAll(List<String> accountNumbers, long waitTimeMillis,
+                      long leaseTimeMillis) {
+    log.debug("Trying multi lock for accountNumbers : {}", accountNumbers);
+
+    long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(waitTimeMillis);
+    List<String> heldLocalLocks = new ArrayList<>(accountNumbers.size());
+
+    try {
+      for (String accountNumber : getLocalLockOrder(accountNumbers)) {
+        long remainingMillis = Math.max(0L,
+          TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()));
+        lockLocal(accountNumber, remainingMillis);
+        heldLocalLocks.add(accountNumber);
+      }
+    } catch (RuntimeException e) {
+      unlockLocal(heldLocalLocks);
+      throw e;
+    }
+
+    if (!redisCircuitBreaker.allowRequest()) {
+      lockAllDegraded(accountNumbers, heldLocalLocks);
+      return;
+    }
+
+    boolean isLock;
+    try {
+      long remainingMillis = Math.max(0L,
+        TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()));
+      isLock = getMultiLock(accountNumbers)
+        .tryLock(remainingMillis, leaseTimeMillis, TimeUnit.MILLISECONDS);
+    } catch (RedisException e) {
+      log.error("Redis multi lock failed.", e);
+      redisCircuitBreaker.recordFailure();
+      lockAllDegraded(accountNumbers, heldLocalLocks);
+      return;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      unlockLocal(heldLocalLocks);
+      throw new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK);
+    } catch (RuntimeException e) {
+      unlockLocal(heldLocalLocks);
+      throw e;
+    }
+
+    redisCircuitBreaker.recordSuccess();
+    if (!isLock) {
+      unlockLocal(heldLocalLocks);
+      log.error("=============multi lock acquisition failed============");
+      throw new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK);
+    }
+  }
+
+  @Override
+  public void unlockAll(List<String> accountNumbers) {
+    log.debug("unlock for accountNumbers : {}", accountNumbers);
+
+    try {
+      if (degradedLocks.get().removeAll(accountNumbers)) {
+        for (String accountNumber : getLocalLockOrder(accountNumbers)) {
+          localLocks.get(accountNumber).leave(DEGRADED);
+        }
+      } else {
+        getMultiLock(accountNumbers).unlock();
+      }
+    } catch (RedisException e) {
+      log.error("Redis multi unlock failed. locks will expire after their lease time.", e);
+      redisCircuitBreaker.recordFailure();
+    } finally {
+      unlockLocal(getLocalLockOrder(accountNumbers));
+    }
+  }
+
+  @Override
+  public boolean supportsAsync() {
+    return true;
+  }
+
+  @Override
+  public CompletableFuture<Void> lockAsync(String accountNumber, long waitTimeMillis,
+                                           long leaseTimeMillis, long ownerId) {
+    log.debug("Trying async lock for accountNumber : {}", accountNumber);
+
+    if (!redisCircuitBreaker.allowRequest()) {
+      return CompletableFuture.failedFuture(
+        new AccountException(ErrorCode.LOCK_SERVICE_UNAVAILABLE));
+    }
+
+    LocalLock localLock = retainLocal(accountNumber);
+    if (!localLock.tryEnter(ASYNC)) {
+      releaseLocal(accountNumber);
+      log.error("node-local lock is degraded for accountNumber : {}", accountNumber);
+      return CompletableFuture.failedFuture(
+        new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK));
+    }
+
+    CompletableFuture<Boolean> locked;
+    try {
+      locked = getRedisLock(accountNumber)
+        .tryLockAsync(waitTimeMillis, leaseTimeMillis, TimeUnit.MILLISECONDS, ownerId)
+        .toCompletableFuture();
+    } catch (RuntimeException e) {
+      leaveAsync(accountNumber);
+      throw e;
+    }
+
+    return locked
+      .handle((isLock, e) -> {
+        if (e != null) {
+          leaveAsync(accountNumber);
+          log.error("Redis lock failed.", e);
+          if (unwrap(e) instanceof RedisException) {
+            redisCircuitBreaker.recordFailure();
+            throw new AccountException(ErrorCode.LOCK_SERVICE_UNAVAILABLE);
+          }
+          throw new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK);
+        }
+        redisCircuitBreaker.recordSuccess();
+        if (!isLock) {
+          leaveAsync(accountNumber);
+          log.error("=============lock acquisition failed============");
+          throw new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK);
+        }
+        return null;
+      });
+  }
+
+  @Override
+  public CompletableFuture<Void> unlockAsync(String accountNumber, long ownerId) {
+    log.debug("async unlock for accountNumber : {}", accountNumber);
+    return getRedisLock(accountNumber).unlockAsync(ownerId).toCompletableFuture()
+      .whenComplete((ignored, e) -> leaveAsync(accountNumber));
+  }
+
+  private void lockDegraded(String accountNumber) {
+    if (redisCircuitBreaker.getFallback() == RedisFallbackMode.REJECT) {
+      unlockLocal(accountNumber);
+      throw new AccountException(ErrorCode.LOCK_SERVICE_UNAVAILABLE);
+    }
+
+    if (!localLocks.get(accountNumber).tryEnter(DEGRADED)) {
+      unlockLocal(accountNumber);
+      log.error("async lock is held for accountNumber : {}", accountNumber);
+      throw new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK);
+    }
+
+    log.warn("Redis lock unavailable. using node-local lock for accountNumber : {}",
+      accountNumber);
+    degradedLocks.get().add(accountNumber);
+  }
+
+  private void lockAllDegraded(List<String> accountNumbers, List<String> heldLocalLocks) {
+    if (redisCircuitBreaker.getFallback() == RedisFallbackMode.REJECT) {
+      unlockLocal(heldLocalLocks);
+      throw new AccountException(ErrorCode.LOCK_SERVICE_UNAVAILABLE);
+    }
+
+    List<String> entered = new ArrayList<>(heldLocalLocks.size());
+    for (String accountNumber : heldLocalLocks) {
+      if (!localLocks.get(accountNumber).tryEnter(DEGRADED)) {
+        entered.forEach(held -> localLocks.get(held).leave(DEGRADED));
+        unlockLocal(heldLocalLocks);
+        log.error("async lock is held for accountNumber : {}", accountNumber);
+        throw new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK);
+      }
+      entered.add(accountNumber);
+    }
+
+    log.warn("Redis lock unavailable. using node-local locks for accountNumbers : {}",
+      accountNumbers);
+    degradedLocks.get().addAll(accountNumbers);
+  }
+
+  private RLock getMultiLock(List<String> accountNumbers) {
+    RLock[] locks = new RLock[accountNumbers.size()];
+    for (int i = 0; i < locks.length; i++) {
+      locks[i] = getRedisLock(accountNumbers.get(i));
+    }
+    return redissonClient.getMultiLock(locks);
+  }
+
+  private void lockLocal(String accountNumber, long waitTimeMillis) {
+    LocalLock localLock = retainLocal(accountNumber);
+
+    boolean isLock = false;
+    try {
+      isLock = localLock.lock.tryLock(waitTimeMillis, TimeUnit.MILLISECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+
+    if (!isLock) {
+      releaseLocal(accountNumber);
+      log.error("=============local lock acquisition failed============");
+      throw new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK);
+    }
+  }
+
+  private void unlockLocal(String accountNumber) {
+    localLocks.get(accountNumber).lock.unlock();
+    releaseLocal(accountNumber);
+  }
+
+  private void unlockLocal(List<String> heldLocalLocks) {
+    for (int i = heldLocalLocks.size() - 1; i >= 0; i--) {
+      unlockLocal(heldLocalLocks.get(i));
+    }
+  }
+
+  private LocalLock retainLocal(String accountNumber) {
+    return localLocks.compute(accountNumber, (key, current) -> {
+      LocalLock entry = current == null ? new LocalLock() : current;
+      entry.users++;
+      return entry;
+    });
+  }
+
+  private void leaveAsync(String accountNumber) {
+    LocalLock localLock = localLocks.get(accountNumber);
+    if (localLock != null) {
+      localLock.leave(ASYNC);
+      releaseLocal(accountNumber);
+    }
+  }
+
+  private void releaseLocal(String accountNumber) {
+    localLocks.computeIfPresent(accountNumber,
+      (key, entry) -> --entry.users == 0 ? null : entry);
+  }
+
+  private RLock getRedisLock(String accountNumber) {
+    if (redisLocks.size() >= MAX_CACHED_LOCKS) {
+      redisLocks.clear();
+    }
+    return redisLocks.computeIfAbsent(
+      getLockKey(accountNumber), redissonClient::getLock);
+  }
+
+  private static List<String> getLocalLockOrder(List<String> accountNumbers) {
+    return accountNumbers.stream()
+      .distinct()
+      .sorted()
+      .toList();
+  }
+
+  private static Throwable unwrap(Throwable e) {
+    return e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
   }
 
   private static String getLockKey(String accountNumber) {
     return "ACLK:" + accountNumber;
   }
+
+  private static class LocalLock {
+    private final ReentrantLock lock = new ReentrantLock();
+    private final AtomicInteger holders = new AtomicInteger();
+    private int users;
+
+    private boolean tryEnter(int holder) {
+      int current;
+      do {
+        current = holders.get();
+        if (current != 0 && Integer.signum(current) != holder) {
+          return false;
+        }
+      } while (!holders.compareAndSet(current, current + holder));
+      return true;
+    }
+
+    private void leave(int holder) {
+      holders.addAndGet(-holder);
+    }
+  }
 }
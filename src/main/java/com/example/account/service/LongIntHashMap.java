@@ -0,0 +1,72 @@
+package com.example.account.service;
+
+final class LongIntHashMap {
+  private static final int MISSING = -1;
+
+  private long[] keys;
+  private int[] values;
+  private boolean[] used;
+  private int size;
+
+  LongIntHashMap(int expectedSize) {
+    int capacity = Integer.highestOneBit(Math.max(16, expectedSize * 2 - 1)) << 1;
+    keys = new long[capacity];
+    values = new int[capacity];
+    used = new boolean[capacity];
+  }
+
+  int get(long key) {
+    int mask = keys.length - 1;
+    for (int i = mix(key) & mask; used[i]; i = (i + 1) & mask) {
+      if (keys[i] == key) {
+        return values[i];
+      }
+    }
+    return MISSING;
+  }
+
+  void put(long key, int value) {
+    if ((size + 1) * 2 > keys.length) {
+      resize();
+    }
+
+    int mask = keys.length - 1;
+    int i = mix(key) & mask;
+    while (used[i]) {
+      if (keys[i] == key) {
+        values[i] = value;
+        return;
+      }
+      i = (i + 1) & mask;
+    }
+    keys[i] = key;
+    values[i] = value;
+    used[i] = true;
+    size++;
+  }
+
+  static boolean isMissing(int value) {
+    return value == MISSING;
+  }
+
+  private void resize() {
+    long[] oldKeys = keys;
+    int[] oldValues = values;
+    boolean[] oldUsed = used;
+
+    keys = new long[oldKeys.length << 1];
+    values = new int[oldKeys.length << 1];
+    used = new boolean[oldKeys.length << 1];
+    size = 0;
+    for (int i = 0; i < oldKeys.length; i++) {
+      if (oldUsed[i]) {
+        put(oldKeys[i], oldValues[i]);
+      }
+    }
+  }
+
+  private static int mix(long key) {
+    long h = key * 0x9E3779B97F4A7C15L;
+    return (int) (h ^ (h >>> 32));
+  }
+}
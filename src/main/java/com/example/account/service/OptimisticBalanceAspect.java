@@ -0,0 +1,106 @@
+package com.example.account.service;
+
+import com.example.account.aop.RequestDeadline;
+import com.example.account.config.BalanceProperties;
+import com.example.account.exception.AccountException;
+import com.example.account.type.BalanceMode;
+import com.example.account.type.ErrorCode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.util.OptionalLong;
+import java.util.concurrent.ThreadLocalRandom;
+
+@Slf4j
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class OptimisticBalanceAspect {
+  private final BalanceProperties balanceProperties;
+  private final Counter conflictCounter;
+  private final Counter succeededCounter;
+  private final Counter exhaustedCounter;
+  private final DistributionSummary attemptsSummary;
+
+  public OptimisticBalanceAspect(BalanceProperties balanceProperties,
+                                 MeterRegistry meterRegistry) {
+    this.balanceProperties = balanceProperties;
+    this.conflictCounter = Counter.builder("account.balance.optimistic.conflicts")
+      .description("Optimistic version conflicts on balance updates")
+      .register(meterRegistry);
+    this.succeededCounter = Counter.builder("account.balance.optimistic.operations")
+      .description("Optimistic balance updates by outcome")
+      .tag("outcome", "succeeded")
+      .register(meterRegistry);
+    this.exhaustedCounter = Counter.builder("account.balance.optimistic.operations")
+      .description("Optimistic balance updates by outcome")
+      .tag("outcome", "exhausted")
+      .register(meterRegistry);
+    this.attemptsSummary = DistributionSummary.builder("account.balance.optimistic.attempts")
+      .description("Attempts per optimistic balance update")
+      .register(meterRegistry);
+  }
+
+  @Around("execution(* com.example.account.service.TransactionService.useBalance(..))"
+    + " || execution(* com.example.account.service.TransactionService.cancelBalance(..))")
+  public Object aroundBalanceUpdate(ProceedingJoinPoint pjp) throws Throwable {
+    if (balanceProperties.getMode() != BalanceMode.OPTIMISTIC) {
+      return pjp.proceed();
+    }
+
+    BalanceProperties.Optimistic optimistic = balanceProperties.getOptimistic();
+    for (int attempt = 1; ; attempt++) {
+      try {
+        Object result = pjp.proceed();
+        succeededCounter.increment();
+        attemptsSummary.record(attempt);
+        return result;
+      } catch (OptimisticLockingFailureException e) {
+        conflictCounter.increment();
+
+        long backoffMillis = getBackoffMillis(optimistic, attempt);
+        if (attempt >= optimistic.getMaxAttempts() || !hasTimeFor(backoffMillis)) {
+          exhaustedCounter.increment();
+          attemptsSummary.record(attempt);
+          log.error("optimistic balance update failed after {} attempts", attempt);
+          throw new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK);
+        }
+
+        log.debug("optimistic conflict on attempt {}, retrying in {}ms", attempt, backoffMillis);
+        sleep(backoffMillis);
+      }
+    }
+  }
+
+  private static long getBackoffMillis(BalanceProperties.Optimistic optimistic, int attempt) {
+    long ceiling = Math.min(optimistic.getMaxBackoff().toMillis(),
+      optimistic.getInitialBackoff().toMillis() << Math.min(attempt - 1, 20));
+    return ceiling <= 0 ? 0L : ThreadLocalRandom.current().nextLong(ceiling + 1);
+  }
+
+  private static boolean hasTimeFor(long backoffMillis) {
+    OptionalLong remainingMillis = RequestDeadline.remainingMillis();
+    return remainingMillis.isEmpty() || remainingMillis.getAsLong() > backoffMillis;
+  }
+
+  private static void sleep(long millis) {
+    if (millis <= 0) {
+      return;
+    }
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK);
+    }
+  }
+}
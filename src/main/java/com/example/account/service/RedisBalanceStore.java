@@ -0,0 +1,192 @@
+package com.example.account.service;
+
+import com.example.account.domain.Account;
+import com.example.account.dto.TransactionDto;
+import com.example.account.exception.AccountException;
+import com.example.account.repository.AccountRepository;
+import com.example.account.type.ErrorCode;
+import com.example.account.type.TransactionType;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RScript;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.RedisException;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static com.example.account.type.TransactionResultType.S;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "account.balance.mode", havingValue = "redis")
+public class RedisBalanceStore implements BalanceStore {
+  static final String STREAM_KEY = "ACBL:stream";
+
+  private static final long NOT_LOADED = -1L;
+  private static final long USER_ACCOUNT_UN_MATCH = -2L;
+  private static final long ACCOUNT_ALREADY_UNREGISTERED = -3L;
+  private static final long AMOUNT_EXCEED_BALANCE = -4L;
+  private static final long BALANCE_NOT_EMPTY = -5L;
+
+  private static final String LOAD_SCRIPT =
+    "if redis.call('exists', KEYS[1]) == 0 then "
+      + "redis.call('hset', KEYS[1], 'accountId', ARGV[1], 'owner', ARGV[2], "
+      + "'status', ARGV[3], 'balance', ARGV[4]) "
+      + "end "
+      + "return {0}";
+
+  private static final String DEBIT_SCRIPT =
+    "if redis.call('exists', KEYS[1]) == 0 then return {-1} end "
+      + "local account = redis.call('hmget', KEYS[1], 'accountId', 'owner', 'status', 'balance') "
+      + "if account[2] ~= ARGV[1] then return {-2} end "
+      + "if account[3] ~= 'IN_USE' then return {-3} end "
+      + "local amount = tonumber(ARGV[2]) "
+      + "if tonumber(account[4]) < amount then return {-4} end "
+      + "local balance = redis.call('hincrby', KEYS[1], 'balance', -amount) "
+      + "redis.call('xadd', KEYS[2], '*', 'accountId', account[1], 'type', 'USE', "
+      + "'amount', ARGV[2], 'balance', balance, 'transactionId', ARGV[3], 'transactedAt', ARGV[4]) "
+      + "return {0, balance}";
+
+  private static final String CREDIT_SCRIPT =
+    "if redis.call('exists', KEYS[1]) == 0 then return {-1} end "
+      + "local balance = redis.call('hincrby', KEYS[1], 'balance', tonumber(ARGV[1])) "
+      + "redis.call('xadd', KEYS[2], '*', 'accountId', redis.call('hget', KEYS[1], 'accountId'), "
+      + "'type', 'CANCEL', 'amount', ARGV[1], 'balance', balance, "
+      + "'transactionId', ARGV[2], 'transactedAt', ARGV[3]) "
+      + "return {0, balance}";
+
+  private static final String VALIDATE_UNREGISTER_SCRIPT =
+    "if redis.call('exists', KEYS[1]) == 0 then return {-1} end "
+      + "local account = redis.call('hmget', KEYS[1], 'status', 'balance') "
+      + "if account[1] ~= 'IN_USE' then return {-3} end "
+      + "if tonumber(account[2]) > 0 then return {-5} end "
+      + "return {0, 0}";
+
+  private static final String UNREGISTER_SCRIPT =
+    "if redis.call('exists', KEYS[1]) == 0 then return {-1} end "
+      + "redis.call('hset', KEYS[1], 'status', 'UNREGISTERED') "
+      + "return {0, 0}";
+
+  private final RedissonClient redissonClient;
+  private final AccountRepository accountRepository;
+  private final TransactionIdGenerator transactionIdGenerator;
+  private final PlatformTransactionManager transactionManager;
+
+  @Override
+  public TransactionDto useBalance(Long userId, String accountNumber, Long amount) {
+    String transactionId = transactionIdGenerator.next();
+    LocalDateTime transactedAt = LocalDateTime.now();
+
+    long balance = evalLoaded(accountNumber, DEBIT_SCRIPT,
+      List.of(getKey(accountNumber), STREAM_KEY), String.valueOf(userId), String.valueOf(amount),
+      transactionId, transactedAt.toString());
+
+    return toTransactionDto(TransactionType.USE, accountNumber, amount, balance,
+      transactionId, transactedAt);
+  }
+
+  @Override
+  public TransactionDto cancelBalance(String accountNumber, Long amount) {
+    if (amount < 0) {
+      throw new AccountException(ErrorCode.INVALID_REQUEST);
+    }
+
+    String transactionId = transactionIdGenerator.next();
+    LocalDateTime transactedAt = LocalDateTime.now();
+
+    long balance = evalLoaded(accountNumber, CREDIT_SCRIPT,
+      List.of(getKey(accountNumber), STREAM_KEY), String.valueOf(amount), transactionId,
+      transactedAt.toString());
+
+    return toTransactionDto(TransactionType.CANCEL, accountNumber, amount, balance,
+      transactionId, transactedAt);
+  }
+
+  @Override
+  public void validateUnregister(String accountNumber) {
+    evalLoaded(accountNumber, VALIDATE_UNREGISTER_SCRIPT, List.of(getKey(accountNumber)));
+  }
+
+  @Override
+  public void unregister(String accountNumber) {
+    evalLoaded(accountNumber, UNREGISTER_SCRIPT, List.of(getKey(accountNumber)));
+  }
+
+  private long evalLoaded(String accountNumber, String luaScript, List<Object> keys,
+                          Object... values) {
+    List<Long> result = eval(luaScript, keys, values);
+    if (result.get(0) == NOT_LOADED) {
+      load(accountNumber);
+      result = eval(luaScript, keys, values);
+    }
+
+    long code = result.get(0);
+    if (code == USER_ACCOUNT_UN_MATCH) {
+      throw new AccountException(ErrorCode.USER_ACCOUNT_UN_MATCH);
+    }
+    if (code == ACCOUNT_ALREADY_UNREGISTERED) {
+      throw new AccountException(ErrorCode.ACCOUNT_ALREADY_UNREGISTERED);
+    }
+    if (code == AMOUNT_EXCEED_BALANCE) {
+      throw new AccountException(ErrorCode.AMOUNT_EXCEED_BALANCE);
+    }
+    if (code == BALANCE_NOT_EMPTY) {
+      throw new AccountException(ErrorCode.BALANCE_NOT_EMPTY);
+    }
+    if (code != 0L) {
+      throw new AccountException(ErrorCode.ACCOUNT_NOT_FOUND);
+    }
+    return result.get(1);
+  }
+
+  private void load(String accountNumber) {
+    TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+    transactionTemplate.setReadOnly(true);
+    Account account = transactionTemplate.execute(
+      status -> accountRepository.findByAccountNumber(accountNumber)
+        .orElseThrow(() -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND)));
+
+    log.debug("Loading balance into redis for accountNumber : {}", accountNumber);
+    eval(LOAD_SCRIPT, List.of(getKey(accountNumber)),
+      String.valueOf(account.getId()),
+      String.valueOf(account.getAccountUser().getId()),
+      account.getAccountStatus().name(),
+      String.valueOf(account.getBalance()));
+  }
+
+  private List<Long> eval(String luaScript, List<Object> keys, Object... values) {
+    try {
+      return redissonClient.getScript(StringCodec.INSTANCE).eval(RScript.Mode.READ_WRITE,
+        luaScript, RScript.ReturnType.MULTI, keys, values);
+    } catch (RedisException e) {
+      log.error("Redis balance script failed.", e);
+      throw new AccountException(ErrorCode.BALANCE_STORE_UNAVAILABLE);
+    }
+  }
+
+  private static TransactionDto toTransactionDto(TransactionType transactionType,
+                                                 String accountNumber, Long amount,
+                                                 long balance, String transactionId,
+                                                 LocalDateTime transactedAt) {
+    return TransactionDto.builder()
+      .accountNumber(accountNumber)
+      .transactionType(transactionType)
+      .transactionResultType(S)
+      .amount(amount)
+      .balanceSnapshot(balance)
+      .transactionId(transactionId)
+      .transactedAt(transactedAt)
+      .build();
+  }
+
+  private static String getKey(String accountNumber) {
+    return "ACBL:" + accountNumber;
+  }
+}
@@ -0,0 +1,179 @@
+package com.example.account.service;
+
+import com.example.account.config.BalanceProperties;
+import com.example.account.repository.AccountRepository;
+import com.example.account.repository.TransactionRepository;
+import com.example.account.type.TransactionType;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RLock;
+import org.redisson.api.RStream;
+import org.redisson.api.RedissonClient;
+import org.redisson.api.StreamMessageId;
+import org.redisson.api.stream.StreamCreateGroupArgs;
+import org.redisson.api.stream.StreamReadGroupArgs;
+import org.redisson.client.RedisException;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "account.balance.mode", havingValue = "redis")
+public class RedisBalanceWriteBehind {
+  private static final String GROUP = "account-write-behind";
+  private static final String LEADER_KEY = "ACBL:writer";
+  private static final long RETRY_BACKOFF_MILLIS = 100L;
+
+  private final RStream<String, String> stream;
+  private final RLock leader;
+  private final LedgerEntryWriter ledgerEntryWriter;
+  private final TransactionTemplate transactionTemplate;
+  private final String consumer;
+  private final int batchSize;
+  private final Duration pollTimeout;
+  private final Thread worker;
+
+  private volatile boolean running = true;
+
+  public RedisBalanceWriteBehind(RedissonClient redissonClient,
+                                 TransactionRepository transactionRepository,
+                                 AccountRepository accountRepository,
+                                 TransactionTemplate transactionTemplate,
+                                 BalanceProperties balanceProperties) {
+    this.stream = redissonClient.getStream(RedisBalanceStore.STREAM_KEY, StringCodec.INSTANCE);
+    this.leader = redissonClient.getLock(LEADER_KEY);
+    this.ledgerEntryWriter = new LedgerEntryWriter(transactionRepository, accountRepository);
+    this.transactionTemplate = transactionTemplate;
+    BalanceProperties.Redis redis = balanceProperties.getRedis();
+    this.consumer = redis.getWriteBehindConsumer();
+    this.batchSize = redis.getWriteBehindBatchSize();
+    this.pollTimeout = redis.getWriteBehindPollTimeout();
+    this.worker = new Thread(this::run, "redis-balance-writer");
+  }
+
+  @PostConstruct
+  public void start() {
+    try {
+      stream.createGroup(StreamCreateGroupArgs.name(GROUP).makeStream());
+    } catch (RedisException e) {
+      log.debug("Write-behind consumer group already exists : {}", e.getMessage());
+    }
+    worker.start();
+  }
+
+  @PreDestroy
+  public void stop() throws InterruptedException {
+    running = false;
+    worker.join();
+  }
+
+  private void run() {
+    while (running && !Thread.currentThread().isInterrupted()) {
+      try {
+        if (!leader.tryLock(pollTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+          continue;
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      } catch (RuntimeException e) {
+        log.error("Failed to acquire write-behind leadership. retrying.", e);
+        backOff();
+        continue;
+      }
+
+      log.info("Acquired write-behind leadership. consumer : {}", consumer);
+      try {
+        drain();
+      } finally {
+        releaseLeadership();
+      }
+    }
+  }
+
+  private void drain() {
+    StreamReadGroupArgs pendingArgs =
+      StreamReadGroupArgs.greaterThan(new StreamMessageId(0)).count(batchSize);
+    StreamReadGroupArgs newArgs =
+      StreamReadGroupArgs.neverDelivered().count(batchSize).timeout(pollTimeout);
+    boolean replaying = true;
+
+    while (running && !Thread.currentThread().isInterrupted()) {
+      try {
+        if (!leader.isHeldByCurrentThread()) {
+          log.warn("Lost write-behind leadership. consumer : {}", consumer);
+          return;
+        }
+
+        Map<StreamMessageId, Map<String, String>> messages =
+          stream.readGroup(GROUP, consumer, replaying ? pendingArgs : newArgs);
+        if (messages.isEmpty()) {
+          replaying = false;
+          continue;
+        }
+        write(messages, replaying);
+      } catch (RuntimeException e) {
+        log.error("Failed to write behind redis balances. retrying.", e);
+        replaying = true;
+        backOff();
+      }
+    }
+  }
+
+  private void releaseLeadership() {
+    try {
+      if (leader.isHeldByCurrentThread()) {
+        leader.unlock();
+      }
+    } catch (RuntimeException e) {
+      log.error("Failed to release write-behind leadership.", e);
+    }
+  }
+
+  private static void backOff() {
+    try {
+      Thread.sleep(RETRY_BACKOFF_MILLIS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void write(Map<StreamMessageId, Map<String, String>> messages, boolean replaying) {
+    List<LedgerEntry> batch = new ArrayList<>(messages.size());
+    for (Map<String, String> fields : messages.values()) {
+      batch.add(toLedgerEntry(fields));
+    }
+
+    transactionTemplate.executeWithoutResult(status -> {
+      if (replaying) {
+        ledgerEntryWriter.writeUnapplied(batch);
+      } else {
+        ledgerEntryWriter.write(batch);
+      }
+    });
+
+    StreamMessageId[] ids = messages.keySet().toArray(new StreamMessageId[0]);
+    stream.ack(GROUP, ids);
+    stream.remove(ids);
+  }
+
+  private static LedgerEntry toLedgerEntry(Map<String, String> fields) {
+    return new LedgerEntry(0L,
+      Long.parseLong(fields.get("accountId")),
+      TransactionType.valueOf(fields.get("type")),
+      Long.parseLong(fields.get("amount")),
+      Long.parseLong(fields.get("balance")),
+      fields.get("transactionId"),
+      LocalDateTime.parse(fields.get("transactedAt")));
+  }
+}
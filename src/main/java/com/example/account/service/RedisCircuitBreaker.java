@@ -0,0 +1,96 @@
+package com.example.account.service;
+
+import com.example.account.config.AccountLockProperties;
+import com.example.account.type.CircuitState;
+import com.example.account.type.RedisFallbackMode;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RedissonClient;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "account.lock.provider", havingValue = "redis", matchIfMissing = true)
+public class RedisCircuitBreaker {
+  private final RedissonClient redissonClient;
+  private final AccountLockProperties.Redis properties;
+
+  private final AtomicReference<CircuitState> state = new AtomicReference<>(CircuitState.CLOSED);
+  private final AtomicInteger consecutiveFailures = new AtomicInteger();
+  private volatile long openedAtNanos;
+
+  public RedisCircuitBreaker(RedissonClient redissonClient,
+                             AccountLockProperties accountLockProperties,
+                             MeterRegistry meterRegistry) {
+    this.redissonClient = redissonClient;
+    this.properties = accountLockProperties.getRedis();
+    Gauge.builder("account.lock.redis.circuit", state, s -> s.get().ordinal())
+      .description("Redis lock circuit state (0=closed, 1=open, 2=half-open)")
+      .register(meterRegistry);
+  }
+
+  public boolean allowRequest() {
+    CircuitState current = state.get();
+    if (current == CircuitState.CLOSED) {
+      return true;
+    }
+
+    if (current == CircuitState.OPEN
+      && System.nanoTime() - openedAtNanos >= properties.getOpenDuration().toNanos()
+      && state.compareAndSet(CircuitState.OPEN, CircuitState.HALF_OPEN)) {
+      probe();
+    }
+    return state.get() == CircuitState.CLOSED;
+  }
+
+  public void recordSuccess() {
+    consecutiveFailures.set(0);
+  }
+
+  public void recordFailure() {
+    if (consecutiveFailures.incrementAndGet() >= properties.getFailureThreshold()
+      && state.compareAndSet(CircuitState.CLOSED, CircuitState.OPEN)) {
+      openedAtNanos = System.nanoTime();
+      log.warn("Redis lock circuit opened after {} consecutive failures. fallback : {}",
+        consecutiveFailures.get(), properties.getFallback());
+    }
+  }
+
+  public CircuitState getState() {
+    return state.get();
+  }
+
+  public int getConsecutiveFailures() {
+    return consecutiveFailures.get();
+  }
+
+  public RedisFallbackMode getFallback() {
+    return properties.getFallback();
+  }
+
+  private void probe() {
+    boolean healthy;
+    try {
+      healthy = redissonClient.getNodesGroup().pingAll(
+        properties.getCommandTimeout().toMillis(), TimeUnit.MILLISECONDS);
+    } catch (Exception e) {
+      log.warn("Redis lock circuit probe failed.", e);
+      healthy = false;
+    }
+
+    if (healthy) {
+      consecutiveFailures.set(0);
+      state.set(CircuitState.CLOSED);
+      log.info("Redis lock circuit closed.");
+    } else {
+      openedAtNanos = System.nanoTime();
+      state.set(CircuitState.OPEN);
+    }
+  }
+}
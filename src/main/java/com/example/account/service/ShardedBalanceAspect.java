@@ -0,0 +1,49 @@
+package com.example.account.service;
+
+import com.example.account.exception.AccountException;
+import com.example.account.type.ErrorCode;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.UndeclaredThrowableException;
+
+@Slf4j
+@Aspect
+@Component
+@RequiredArgsConstructor
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(name = "account.balance.mode", havingValue = "sharded")
+public class ShardedBalanceAspect {
+  private final ShardedBalanceExecutor shardedBalanceExecutor;
+
+  @Around("(execution(* com.example.account.service.TransactionService.useBalance(..))"
+    + " || execution(* com.example.account.service.TransactionService.cancelBalance(..)))"
+    + " && args(*, accountNumber, *)")
+  public Object aroundBalanceUpdate(ProceedingJoinPoint pjp, String accountNumber)
+    throws Exception {
+    try {
+      return shardedBalanceExecutor.execute(accountNumber, () -> proceed(pjp));
+    } catch (OptimisticLockingFailureException e) {
+      log.error("sharded balance update conflicted for accountNumber : {}", accountNumber);
+      throw new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK);
+    }
+  }
+
+  private static Object proceed(ProceedingJoinPoint pjp) throws Exception {
+    try {
+      return pjp.proceed();
+    } catch (Exception | Error e) {
+      throw e;
+    } catch (Throwable e) {
+      throw new UndeclaredThrowableException(e);
+    }
+  }
+}
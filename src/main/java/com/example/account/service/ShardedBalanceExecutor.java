@@ -0,0 +1,112 @@
+package com.example.account.service;
+
+import com.example.account.aop.RequestDeadline;
+import com.example.account.config.BalanceProperties;
+import com.example.account.exception.AccountException;
+import com.example.account.type.ErrorCode;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.OptionalLong;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "account.balance.mode", havingValue = "sharded")
+public class ShardedBalanceExecutor {
+  private static final ThreadLocal<Boolean> ON_SHARD = ThreadLocal.withInitial(() -> false);
+
+  private final ThreadPoolExecutor[] shards;
+
+  public ShardedBalanceExecutor(BalanceProperties balanceProperties,
+                                MeterRegistry meterRegistry) {
+    BalanceProperties.Sharded sharded = balanceProperties.getSharded();
+    this.shards = new ThreadPoolExecutor[sharded.getShards()];
+    for (int i = 0; i < shards.length; i++) {
+      String threadName = "balance-shard-" + i;
+      shards[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(sharded.getQueueDepth()),
+        runnable -> new Thread(runnable, threadName));
+
+      ThreadPoolExecutor shard = shards[i];
+      Gauge.builder("account.balance.shard.queue", shard, s -> s.getQueue().size())
+        .description("Pending balance mutations per shard")
+        .tag("shard", String.valueOf(i))
+        .register(meterRegistry);
+    }
+  }
+
+  public Object execute(String accountNumber, Callable<Object> mutation) throws Exception {
+    if (ON_SHARD.get()) {
+      return mutation.call();
+    }
+
+    Long deadlineNanos = RequestDeadline.capture();
+    FutureTask<Object> task = new FutureTask<>(() -> {
+      ON_SHARD.set(true);
+      try {
+        return mutation.call();
+      } finally {
+        ON_SHARD.remove();
+      }
+    });
+
+    try {
+      getShard(accountNumber).execute(RequestDeadline.wrap(deadlineNanos, task));
+    } catch (RejectedExecutionException e) {
+      log.error("balance shard queue full for accountNumber : {}", accountNumber);
+      throw new AccountException(ErrorCode.ACCOUNT_QUEUE_FULL);
+    }
+
+    return await(task);
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    for (ThreadPoolExecutor shard : shards) {
+      shard.shutdown();
+    }
+  }
+
+  private ThreadPoolExecutor getShard(String accountNumber) {
+    int hash = accountNumber.hashCode();
+    return shards[Math.floorMod(hash ^ (hash >>> 16), shards.length)];
+  }
+
+  private static Object await(FutureTask<Object> task) throws Exception {
+    try {
+      OptionalLong remainingMillis = RequestDeadline.remainingMillis();
+      if (remainingMillis.isEmpty()) {
+        return task.get();
+      }
+
+      try {
+        return task.get(Math.max(0L, remainingMillis.getAsLong()), TimeUnit.MILLISECONDS);
+      } catch (TimeoutException e) {
+        if (task.cancel(false)) {
+          throw new AccountException(ErrorCode.REQUEST_DEADLINE_EXCEEDED);
+        }
+        return task.get();
+      }
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof Exception cause) {
+        throw cause;
+      }
+      throw (Error) e.getCause();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK);
+    }
+  }
+}
@@ -0,0 +1,136 @@
+package com.example.account.service;
+
+import java.util.ArrayDeque;
+import java.util.function.Consumer;
+
+final class TimingWheel<T> {
+  private final int wheelBits;
+  private final int levels;
+  private final long mask;
+  private final ArrayDeque<Timeout<T>>[][] buckets;
+
+  private long tick;
+  private int size;
+
+  @SuppressWarnings("unchecked")
+  TimingWheel(int wheelBits, int levels) {
+    if (wheelBits < 1 || levels < 1 || wheelBits * levels > 62) {
+      throw new IllegalArgumentException(
+        "unsupported timing wheel : bits " + wheelBits + ", levels " + levels);
+    }
+    this.wheelBits = wheelBits;
+    this.levels = levels;
+    this.mask = (1L << wheelBits) - 1;
+    this.buckets = new ArrayDeque[levels][1 << wheelBits];
+    for (ArrayDeque<Timeout<T>>[] level : buckets) {
+      for (int slot = 0; slot < level.length; slot++) {
+        level[slot] = new ArrayDeque<>();
+      }
+    }
+  }
+
+  void add(Timeout<T> timeout) {
+    if (timeout.isCancelled()) {
+      return;
+    }
+    place(timeout);
+    size++;
+  }
+
+  void advance(long toTick, Consumer<T> expired) {
+    while (tick <= toTick) {
+      cascade();
+
+      ArrayDeque<Timeout<T>> bucket = buckets[0][slotOf(tick, 0)];
+      Timeout<T> timeout;
+      while ((timeout = bucket.poll()) != null) {
+        size--;
+        if (!timeout.isCancelled()) {
+          expired.accept(timeout.getTask());
+        }
+      }
+      tick++;
+    }
+  }
+
+  long getTick() {
+    return tick;
+  }
+
+  int size() {
+    return size;
+  }
+
+  long horizonTicks() {
+    return spanOf(levels - 1);
+  }
+
+  private void cascade() {
+    int level = 0;
+    while (level < levels - 1 && (tick & (spanOf(level) - 1)) == 0) {
+      level++;
+    }
+
+    for (; level > 0; level--) {
+      ArrayDeque<Timeout<T>> bucket = buckets[level][slotOf(tick, level)];
+      for (int remaining = bucket.size(); remaining > 0; remaining--) {
+        Timeout<T> timeout = bucket.poll();
+        if (timeout.isCancelled()) {
+          size--;
+        } else {
+          place(timeout);
+        }
+      }
+    }
+  }
+
+  private void place(Timeout<T> timeout) {
+    long deadline = Math.max(timeout.getDeadlineTick(), tick);
+    long delta = deadline - tick;
+
+    int level = 0;
+    while (level < levels - 1 && delta >= spanOf(level)) {
+      level++;
+    }
+    if (delta >= spanOf(level)) {
+      deadline = tick + spanOf(level) - 1;
+    }
+
+    buckets[level][slotOf(deadline, level)].add(timeout);
+  }
+
+  private long spanOf(int level) {
+    return 1L << (wheelBits * (level + 1));
+  }
+
+  private int slotOf(long tick, int level) {
+    return (int) ((tick >>> (wheelBits * level)) & mask);
+  }
+
+  static final class Timeout<T> {
+    private final T task;
+    private final long deadlineTick;
+    private volatile boolean cancelled;
+
+    Timeout(T task, long deadlineTick) {
+      this.task = task;
+      this.deadlineTick = deadlineTick;
+    }
+
+    T getTask() {
+      return task;
+    }
+
+    long getDeadlineTick() {
+      return deadlineTick;
+    }
+
+    boolean isCancelled() {
+      return cancelled;
+    }
+
+    void cancel() {
+      cancelled = true;
+    }
+  }
+}
@@ -0,0 +1,105 @@
+package com.example.account.service;
+
+import com.example.account.config.AccountLockProperties;
+import com.example.account.config.BalanceProperties;
+import com.example.account.dto.TransactionDto;
+import com.example.account.dto.UseBalance;
+import com.example.account.exception.AccountException;
+import com.example.account.type.BalanceMode;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.example.account.type.TransactionResultType.F;
+import static com.example.account.type.TransactionType.USE;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TransactionBatchService {
+  private final TransactionService transactionService;
+  private final LockAopAspect lockAopAspect;
+  private final AccountLockProperties accountLockProperties;
+  private final BalanceProperties balanceProperties;
+
+  public List<TransactionDto> useBalanceBatch(List<UseBalance.Request> requests) {
+    Map<String, List<Integer>> itemsByAccount = new LinkedHashMap<>();
+    for (int i = 0; i < requests.size(); i++) {
+      itemsByAccount.computeIfAbsent(requests.get(i).getAccountNumber(),
+        accountNumber -> new ArrayList<>()).add(i);
+    }
+
+    TransactionDto[] results = new TransactionDto[requests.size()];
+    itemsByAccount.forEach((accountNumber, items) -> {
+      List<UseBalance.Request> accountRequests = items.stream().map(requests::get).toList();
+      List<TransactionDto> accountResults = isLockedMode()
+        ? useBalanceLocked(accountNumber, accountRequests)
+        : useBalanceEach(accountRequests);
+
+      for (int i = 0; i < items.size(); i++) {
+        results[items.get(i)] = accountResults.get(i);
+      }
+    });
+
+    return Arrays.asList(results);
+  }
+
+  private boolean isLockedMode() {
+    BalanceMode mode = balanceProperties.getMode();
+    return mode == BalanceMode.LOCKED || mode == BalanceMode.GROUPED;
+  }
+
+  private List<TransactionDto> useBalanceLocked(String accountNumber,
+                                                List<UseBalance.Request> requests) {
+    AccountLockProperties.Batch batch = accountLockProperties.getBatch();
+    try {
+      return lockAopAspect.callLocked(accountNumber,
+        batch.getTryLockTime().toMillis(), batch.getLeaseTime().toMillis(),
+        () -> transactionService.useBalanceBatch(accountNumber, requests));
+    } catch (AccountException e) {
+      log.error("Failed to use balance batch. accountNumber : {}", accountNumber);
+      return requests.stream().map(request -> failed(request, e)).toList();
+    }
+  }
+
+  private List<TransactionDto> useBalanceEach(List<UseBalance.Request> requests) {
+    List<TransactionDto> results = new ArrayList<>(requests.size());
+    for (UseBalance.Request request : requests) {
+      try {
+        results.add(transactionService.useBalance(
+          request.getUserId(), request.getAccountNumber(), request.getAmount()));
+      } catch (AccountException e) {
+        log.error("Failed to use balance.");
+        saveFailedTransaction(request);
+        results.add(failed(request, e));
+      }
+    }
+    return results;
+  }
+
+  private void saveFailedTransaction(UseBalance.Request request) {
+    try {
+      transactionService.saveFailedTransaction(
+        request.getAccountNumber(), request.getAmount());
+    } catch (AccountException e) {
+      log.error("Failed to save failed transaction. accountNumber : {}",
+        request.getAccountNumber());
+    }
+  }
+
+  private static TransactionDto failed(UseBalance.Request request, AccountException e) {
+    return TransactionDto.builder()
+      .accountNumber(request.getAccountNumber())
+      .transactionType(USE)
+      .transactionResultType(F)
+      .amount(request.getAmount())
+      .errorCode(e.getErrorCode())
+      .build();
+  }
+}
@@ -0,0 +1,58 @@
+package com.example.account.service;
+
+import com.example.account.config.TransactionIdProperties;
+import com.example.account.domain.TransactionIdCodec;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+public class TransactionIdGenerator {
+  static final long EPOCH_MILLIS = Instant.parse("2024-01-01T00:00:00Z").toEpochMilli();
+  static final int NODE_BITS = 10;
+  static final int SEQUENCE_BITS = 12;
+  private static final int TIMESTAMP_BITS = Long.SIZE - 1 - NODE_BITS - SEQUENCE_BITS;
+  private static final long MAX_TIMESTAMP = (1L << TIMESTAMP_BITS) - 1;
+  private static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+  private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+  private final long node;
+  private final AtomicLong state = new AtomicLong();
+
+  public TransactionIdGenerator(TransactionIdProperties transactionIdProperties) {
+    long nodeId = transactionIdProperties.getNodeId();
+    if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+      throw new IllegalArgumentException("node id must be in [0, " + MAX_NODE_ID + "] : " + nodeId);
+    }
+    this.node = nodeId << SEQUENCE_BITS;
+  }
+
+  public String next() {
+    return TransactionIdCodec.encode(nextId());
+  }
+
+  public long nextId() {
+    long now = System.currentTimeMillis() - EPOCH_MILLIS;
+    long last;
+    long next;
+    do {
+      last = state.get();
+      next = now > last >>> SEQUENCE_BITS ? now << SEQUENCE_BITS : last + 1;
+    } while (!state.compareAndSet(last, next));
+
+    long timestamp = next >>> SEQUENCE_BITS;
+    if (timestamp > MAX_TIMESTAMP) {
+      throw new IllegalStateException("transaction id timestamp exhausted");
+    }
+    return timestamp << (NODE_BITS + SEQUENCE_BITS) | node | (next & SEQUENCE_MASK);
+  }
+
+  static long timestampOf(long id) {
+    return (id >>> (NODE_BITS + SEQUENCE_BITS)) + EPOCH_MILLIS;
+  }
+
+  static int nodeOf(long id) {
+    return (int) ((id >>> SEQUENCE_BITS) & MAX_NODE_ID);
+  }
+}
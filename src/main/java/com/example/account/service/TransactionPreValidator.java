@@ -0,0 +1,52 @@
+package com.example.account.service;
+
+import com.example.account.aop.AccountLockIdInterface;
+import com.example.account.dto.CancelBalance;
+import com.example.account.dto.UseBalance;
+import com.example.account.exception.AccountException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TransactionPreValidator {
+  private final TransactionService transactionService;
+
+  public void validate(AccountLockIdInterface request) {
+    if (request instanceof UseBalance.Request useRequest) {
+      validateUseBalance(useRequest);
+    } else if (request instanceof CancelBalance.Request cancelRequest) {
+      validateCancelBalance(cancelRequest);
+    }
+  }
+
+  private void validateUseBalance(UseBalance.Request request) {
+    try {
+      transactionService.validateUseBalanceRequest(
+        request.getUserId(), request.getAccountNumber());
+    } catch (AccountException e) {
+      log.error("Failed to use balance before lock. {}", e.getErrorCode());
+
+      transactionService.saveFailedTransaction(
+        request.getAccountNumber(), request.getAmount());
+
+      throw e;
+    }
+  }
+
+  private void validateCancelBalance(CancelBalance.Request request) {
+    try {
+      transactionService.validateCancelBalanceRequest(
+        request.getTransactionId(), request.getAccountNumber(), request.getAmount());
+    } catch (AccountException e) {
+      log.error("Failed to cancel balance before lock. {}", e.getErrorCode());
+
+      transactionService.saveFailedCancelTransaction(
+        request.getAccountNumber(), request.getAmount());
+
+      throw e;
+    }
+  }
+}
@@ -1,14 +1,16 @@
 package com.example.account.service;
 
+import com.example.account.config.BalanceProperties;
 import com.example.account.domain.Account;
-import com.example.account.domain.AccountUser;
 import com.example.account.domain.Transaction;
 import com.example.account.dto.TransactionDto;
+import com.example.account.dto.UseBalance;
 import com.example.account.exception.AccountException;
 import com.example.account.repository.AccountRepository;
 import com.example.account.repository.AccountUserRepository;
 import com.example.account.repository.TransactionRepository;
 import com.example.account.type.AccountStatus;
+import com.example.account.type.BalanceMode;
 import com.example.account.type.ErrorCode;
 import com.example.account.type.TransactionResultType;
 import com.example.account.type.TransactionType;
@@ -16,14 +18,19 @@ import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
-import java.util.UUID;
+import java.util.Optional;
 
 import static com.example.account.type.TransactionResultType.F;
 import static com.example.account.type.TransactionResultType.S;
 import static com.example.account.type.TransactionType.CANCEL;
+import static com.example.account.type.TransactionType.TRANSFER_IN;
+import static com.example.account.type.TransactionType.TRANSFER_OUT;
 import static com.example.account.type.TransactionType.USE;
 
 @Slf4j
@@ -33,60 +40,199 @@ public class TransactionService {
   private final TransactionRepository transactionRepository;
   private final AccountUserRepository accountUserRepository;
   private final AccountRepository accountRepository;
+  private final BalanceProperties balanceProperties;
+  private final TransactionIdGenerator transactionIdGenerator;
+  private final AccountLockProvider accountLockProvider;
+  private final TransactionTemplate transactionTemplate;
 
+  public void validateUseBalanceRequest(Long userId, String accountNumber) {
+    Optional<Account> account = accountRepository.findByAccountNumber(accountNumber);
+
+    if (account.isEmpty()
+      || !Objects.equals(userId, account.get().getAccountUser().getId())) {
+      accountUserRepository.findById(userId)
+        .orElseThrow(() -> new AccountException(ErrorCode.USER_NOT_FOUND));
+    }
+
+    validateAccountInUse(userId, account
+      .orElseThrow(() -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND)));
+  }
 
   @Transactional
   public TransactionDto useBalance(Long userId, String accountNumber,
                                    Long amount) {
 
-    AccountUser user = accountUserRepository.findById(userId)
-      .orElseThrow(() -> new AccountException(ErrorCode.USER_NOT_FOUND));
+    if (balanceProperties.getMode() == BalanceMode.ATOMIC) {
+      return useBalanceAtomically(userId, accountNumber, amount);
+    }
 
     Account account = accountRepository.findByAccountNumber(accountNumber)
       .orElseThrow(() -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND));
 
-    validateUseBalance(user, account, amount);
+    validateUseBalance(userId, account, amount);
 
     account.useBalance(amount);
 
     return TransactionDto.from(saveAndGetTransaction(USE, S, account, amount));
   }
 
-  private void validateUseBalance(AccountUser user, Account account, Long amount) {
-    if (!Objects.equals(user.getId(), account.getAccountUser().getId())) {
+  private TransactionDto useBalanceAtomically(Long userId, String accountNumber,
+                                              Long amount) {
+    int updated = accountRepository.debitBalance(
+      userId, accountNumber, amount, AccountStatus.IN_USE, LocalDateTime.now());
+
+    Account account = accountRepository.findByAccountNumber(accountNumber)
+      .orElseThrow(() -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND));
+
+    if (updated == 0) {
+      validateAccountInUse(userId, account);
+      throw new AccountException(ErrorCode.AMOUNT_EXCEED_BALANCE);
+    }
+
+    return TransactionDto.from(saveAndGetTransaction(USE, S, account, amount));
+  }
+
+  private void validateUseBalance(Long userId, Account account, Long amount) {
+    validateAccountInUse(userId, account);
+
+    if (account.getAvailableBalance() < amount) {
+      throw new AccountException(ErrorCode.AMOUNT_EXCEED_BALANCE);
+    }
+  }
+
+  private void validateAccountInUse(Long userId, Account account) {
+    if (!Objects.equals(userId, account.getAccountUser().getId())) {
       throw new AccountException(ErrorCode.USER_ACCOUNT_UN_MATCH);
     }
 
     if (account.getAccountStatus() != AccountStatus.IN_USE) {
       throw new AccountException(ErrorCode.ACCOUNT_ALREADY_UNREGISTERED);
     }
+  }
 
-    if (account.getBalance() < amount) {
-      throw new AccountException(ErrorCode.AMOUNT_EXCEED_BALANCE);
-    }
+  public void saveFailedTransaction(String accountNumber, Long amount) {
+    saveFailedTransaction(USE, accountNumber, amount);
   }
 
   @Transactional
-  public void saveFailedTransaction(String accountNumber, Long amount) {
+  public List<TransactionDto> useBalanceBatch(String accountNumber,
+                                              List<UseBalance.Request> requests) {
     Account account = accountRepository.findByAccountNumber(accountNumber)
       .orElseThrow(() -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND));
 
-    saveAndGetTransaction(USE, F, account, amount);
+    List<Transaction> transactions = new ArrayList<>(requests.size());
+    List<ErrorCode> errorCodes = new ArrayList<>(requests.size());
+
+    for (UseBalance.Request request : requests) {
+      try {
+        validateUseBalance(request.getUserId(), account, request.getAmount());
+        account.useBalance(request.getAmount());
+        transactions.add(newTransaction(USE, S, account, request.getAmount()));
+        errorCodes.add(null);
+      } catch (AccountException e) {
+        transactions.add(newTransaction(USE, F, account, request.getAmount()));
+        errorCodes.add(e.getErrorCode());
+      }
+    }
+
+    transactionRepository.saveAll(transactions);
+
+    List<TransactionDto> results = new ArrayList<>(transactions.size());
+    for (int i = 0; i < transactions.size(); i++) {
+      TransactionDto transactionDto = TransactionDto.from(transactions.get(i));
+      transactionDto.setErrorCode(errorCodes.get(i));
+      results.add(transactionDto);
+    }
+    return results;
+  }
+
+  @Transactional
+  public TransactionDto transfer(Long userId, String fromAccountNumber,
+                                 String toAccountNumber, Long amount) {
+    if (fromAccountNumber.equals(toAccountNumber)) {
+      throw new AccountException(ErrorCode.TRANSFER_SAME_ACCOUNT);
+    }
+
+    BalanceMode mode = balanceProperties.getMode();
+    if (mode == BalanceMode.LEDGER || mode == BalanceMode.REDIS) {
+      throw new AccountException(ErrorCode.UNSUPPORTED_BALANCE_MODE);
+    }
+
+    Account fromAccount = accountRepository.findByAccountNumber(fromAccountNumber)
+      .orElseThrow(() -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND));
+    Account toAccount = accountRepository.findByAccountNumber(toAccountNumber)
+      .orElseThrow(() -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND));
+
+    validateUseBalance(userId, fromAccount, amount);
+    if (toAccount.getAccountStatus() != AccountStatus.IN_USE) {
+      throw new AccountException(ErrorCode.ACCOUNT_ALREADY_UNREGISTERED);
+    }
+
+    LocalDateTime now = LocalDateTime.now();
+    if (accountRepository.debitBalance(
+      userId, fromAccountNumber, amount, AccountStatus.IN_USE, now) == 0) {
+      throw new AccountException(ErrorCode.AMOUNT_EXCEED_BALANCE);
+    }
+    if (accountRepository.creditBalance(
+      toAccountNumber, amount, AccountStatus.IN_USE, now) == 0) {
+      throw new AccountException(ErrorCode.ACCOUNT_ALREADY_UNREGISTERED);
+    }
+
+    Transaction debit = newTransaction(TRANSFER_OUT, S,
+      accountRepository.findByAccountNumber(fromAccountNumber)
+        .orElseThrow(() -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND)), amount);
+    Transaction credit = newTransaction(TRANSFER_IN, S,
+      accountRepository.findByAccountNumber(toAccountNumber)
+        .orElseThrow(() -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND)), amount);
+    debit.setLinkedTransactionId(credit.getTransactionId());
+    credit.setLinkedTransactionId(debit.getTransactionId());
+
+    transactionRepository.saveAll(List.of(debit, credit));
+
+    return TransactionDto.from(debit);
+  }
+
+  public void saveFailedTransferTransaction(String accountNumber, Long amount) {
+    saveFailedTransaction(TRANSFER_OUT, accountNumber, amount);
+  }
+
+  private void saveFailedTransaction(TransactionType transactionType,
+                                     String accountNumber, Long amount) {
+    accountLockProvider.runAfterUnlock(() -> transactionTemplate.executeWithoutResult(status -> {
+      Account account = accountRepository.findByAccountNumber(accountNumber)
+        .orElseThrow(() -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND));
+
+      saveAndGetTransaction(transactionType, F, account, amount);
+    }));
   }
 
   private Transaction saveAndGetTransaction(TransactionType transactionType,
                                             TransactionResultType transactionResultType,
                                             Account account, Long amount) {
     return transactionRepository.save(
-      Transaction.builder()
-        .transactionType(transactionType)
-        .transactionResultType(transactionResultType)
-        .account(account)
-        .amount(amount)
-        .balanceSnapshot(account.getBalance())
-        .transactionId(UUID.randomUUID().toString().replace("-", ""))
-        .transactedAt(LocalDateTime.now())
-        .build());
+      newTransaction(transactionType, transactionResultType, account, amount));
+  }
+
+  private Transaction newTransaction(TransactionType transactionType,
+                                     TransactionResultType transactionResultType,
+                                     Account account, Long amount) {
+    return Transaction.builder()
+      .transactionType(transactionType)
+      .transactionResultType(transactionResultType)
+      .account(account)
+      .amount(amount)
+      .balanceSnapshot(account.getBalance())
+      .transactionId(transactionIdGenerator.next())
+      .transactedAt(LocalDateTime.now())
+      .build();
+  }
+
+  public void validateCancelBalanceRequest(String transactionId, String accountNumber,
+                                          Long amount) {
+    Transaction transaction = transactionRepository.findByTransactionId(transactionId)
+      .orElseThrow(() -> new AccountException(ErrorCode.TRANSACTION_NOT_FOUND));
+
+    validateCancelBalance(transaction, getCancelAccount(transaction, accountNumber), amount);
   }
 
   @Transactional
@@ -96,16 +242,40 @@ public class TransactionService {
     Transaction transaction = transactionRepository.findByTransactionId(transactionId)
       .orElseThrow(() -> new AccountException(ErrorCode.TRANSACTION_NOT_FOUND));
 
-    Account account = accountRepository.findByAccountNumber(accountNumber)
-      .orElseThrow(() -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND));
+    Account account = getCancelAccount(transaction, accountNumber);
 
     validateCancelBalance(transaction, account, amount);
 
+    if (balanceProperties.getMode() == BalanceMode.ATOMIC) {
+      return cancelBalanceAtomically(accountNumber, amount);
+    }
+
     account.cancelBalance(amount);
 
     return TransactionDto.from(saveAndGetTransaction(CANCEL, S, account, amount));
   }
 
+  private TransactionDto cancelBalanceAtomically(String accountNumber, Long amount) {
+    if (amount < 0) {
+      throw new AccountException(ErrorCode.INVALID_REQUEST);
+    }
+    accountRepository.creditBalance(accountNumber, amount, LocalDateTime.now());
+
+    Account account = accountRepository.findByAccountNumber(accountNumber)
+      .orElseThrow(() -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND));
+
+    return TransactionDto.from(saveAndGetTransaction(CANCEL, S, account, amount));
+  }
+
+  private Account getCancelAccount(Transaction transaction, String accountNumber) {
+    if (Objects.equals(transaction.getAccount().getAccountNumber(), accountNumber)) {
+      return transaction.getAccount();
+    }
+
+    return accountRepository.findByAccountNumber(accountNumber)
+      .orElseThrow(() -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND));
+  }
+
   private void validateCancelBalance(Transaction transaction, Account account, Long amount) {
     if (!Objects.equals(transaction.getAccount().getId(), account.getId())) {
       throw new AccountException(ErrorCode.TRANSACTION_ACCOUNT_UN_MATCH);
@@ -118,14 +288,14 @@ public class TransactionService {
     if (transaction.getTransactedAt().isBefore(LocalDateTime.now().minusYears(1))) {
       throw new AccountException(ErrorCode.TOO_OLD_ORDER_TO_CANCEL);
     }
+
+    if (transaction.getTransactionType() != USE || transaction.getTransactionResultType() != S) {
+      throw new AccountException(ErrorCode.TRANSACTION_NOT_CANCELLABLE);
+    }
   }
 
-  @Transactional
   public void saveFailedCancelTransaction(String accountNumber, Long amount) {
-    Account account = accountRepository.findByAccountNumber(accountNumber)
-      .orElseThrow(() -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND));
-
-    saveAndGetTransaction(CANCEL, F, account, amount);
+    saveFailedTransaction(CANCEL, accountNumber, amount);
   }
 
   @Transactional
@@ -0,0 +1,11 @@
+package com.example.account.type;
+
+public enum BalanceMode {
+  LOCKED,
+  ATOMIC,
+  OPTIMISTIC,
+  SHARDED,
+  LEDGER,
+  GROUPED,
+  REDIS
+}
@@ -19,7 +19,19 @@ public enum ErrorCode {
   TOO_OLD_ORDER_TO_CANCEL("1년이 지난 거래는 취소가 불가능 합니다."),
   INVALID_REQUEST("잘못된 요청입니다."),
   INTERNAL_SERVER_ERROR("내부 서버 오류가 발생했습니다."),
-  ACCOUNT_TRANSACTION_LOCK("해당 계좌는 사용 중입니다.");
+  ACCOUNT_TRANSACTION_LOCK("해당 계좌는 사용 중입니다."),
+  REQUEST_DEADLINE_EXCEEDED("요청 처리 제한 시간이 초과되었습니다."),
+  LOCK_SERVICE_UNAVAILABLE("계좌 잠금 서비스를 일시적으로 사용할 수 없습니다."),
+  ACCOUNT_QUEUE_FULL("해당 계좌의 거래 대기열이 가득 찼습니다."),
+  BALANCE_STORE_UNAVAILABLE("잔액 저장소를 일시적으로 사용할 수 없습니다."),
+  TRANSFER_SAME_ACCOUNT("같은 계좌로는 이체할 수 없습니다."),
+  UNSUPPORTED_BALANCE_MODE("현재 잔액 처리 방식에서는 지원하지 않는 거래입니다."),
+  HOLD_NOT_FOUND("해당 승인 내역이 없습니다."),
+  HOLD_ACCOUNT_UN_MATCH("이 승인 내역은 해당 계좌에서 발생한 것이 아닙니다."),
+  HOLD_ALREADY_CLOSED("이미 처리된 승인 내역입니다."),
+  HOLD_EXPIRED("승인 유효 시간이 지났습니다."),
+  ACCOUNT_NUMBER_EXHAUSTED("발급 가능한 계좌번호가 없습니다."),
+  TRANSACTION_NOT_CANCELLABLE("사용 성공 거래만 취소할 수 있습니다.");
 
 
   private final String description;
@@ -0,0 +1,5 @@
+package com.example.account.type;
+
+public enum HoldStatus {
+  HELD, CAPTURED, RELEASED, EXPIRED
+}
@@ -1,5 +1,5 @@
 package com.example.account.type;
 
 public enum TransactionType {
-  USE, CANCEL
+  USE, CANCEL, TRANSFER_OUT, TRANSFER_IN, CAPTURE
 }
@@ -1,14 +1,14 @@
 insert into account_user
-    (id, name, created_at, updated_at)
+    (id, name, account_count, created_at, updated_at)
 values
-    (1, 'Pororo', now(), now());
+    (1, 'Pororo', 0, now(), now());
 
 insert into account_user
-    (id, name, created_at, updated_at)
+    (id, name, account_count, created_at, updated_at)
 values
-    (2, 'Lupi', now(), now());
+    (2, 'Lupi', 0, now(), now());
 
 insert into account_user
-    (id, name, created_at, updated_at)
+    (id, name, account_count, created_at, updated_at)
 values
-    (3, 'Eddie', now(), now());
\ No newline at end of file
+    (3, 'Eddie', 0, now(), now());
\ No newline at end of file
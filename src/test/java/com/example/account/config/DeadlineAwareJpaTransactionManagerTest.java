@@ -0,0 +1,67 @@
+package com.example.account.config;
+
+import com.example.account.aop.RequestDeadline;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class DeadlineAwareJpaTransactionManagerTest {
+  private final DeadlineAwareJpaTransactionManager transactionManager =
+    new DeadlineAwareJpaTransactionManager();
+
+  @AfterEach
+  void tearDown() {
+    RequestDeadline.clear();
+  }
+
+  @Test
+  void keepTimeoutWithoutDeadline() {
+    // given
+    // when
+    int timeout = transactionManager.determineTimeout(new DefaultTransactionDefinition());
+
+    // then
+    assertEquals(TransactionDefinition.TIMEOUT_DEFAULT, timeout);
+  }
+
+  @Test
+  void useRemainingDeadlineAsTimeout() {
+    // given
+    RequestDeadline.start(2500L);
+
+    // when
+    int timeout = transactionManager.determineTimeout(new DefaultTransactionDefinition());
+
+    // then
+    assertEquals(3, timeout);
+  }
+
+  @Test
+  void keepShorterTransactionTimeout() {
+    // given
+    RequestDeadline.start(60_000L);
+    DefaultTransactionDefinition definition = new DefaultTransactionDefinition();
+    definition.setTimeout(5);
+
+    // when
+    int timeout = transactionManager.determineTimeout(definition);
+
+    // then
+    assertEquals(5, timeout);
+  }
+
+  @Test
+  void atLeastOneSecondAfterDeadline() {
+    // given
+    RequestDeadline.start(0L);
+
+    // when
+    int timeout = transactionManager.determineTimeout(new DefaultTransactionDefinition());
+
+    // then
+    assertEquals(1, timeout);
+  }
+}
@@ -1,6 +1,7 @@
 package com.example.account.controller;
 
 import com.example.account.dto.AccountDto;
+import com.example.account.dto.AccountInfo;
 import com.example.account.dto.CreateAccount;
 import com.example.account.dto.DeleteAccount;
 import com.example.account.service.AccountService;
@@ -94,16 +95,16 @@ class AccountControllerTest {
   @Test
   void successGetAccountsByUserId() throws Exception {
     // given
-    List<AccountDto> accountDtos = Arrays.asList(
-      AccountDto.builder()
+    List<AccountInfo> accountDtos = Arrays.asList(
+      AccountInfo.builder()
         .accountNumber("1234567890")
         .balance(100L)
         .build(),
-      AccountDto.builder()
+      AccountInfo.builder()
         .accountNumber("0987654321")
         .balance(100L)
         .build(),
-      AccountDto.builder()
+      AccountInfo.builder()
         .accountNumber("1000000000")
         .balance(100L)
         .build()
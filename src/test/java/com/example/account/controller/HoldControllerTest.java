@@ -0,0 +1,96 @@
+package com.example.account.controller;
+
+import com.example.account.dto.AuthorizeBalance;
+import com.example.account.dto.CaptureBalance;
+import com.example.account.dto.HoldDto;
+import com.example.account.service.HoldService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static com.example.account.type.HoldStatus.CAPTURED;
+import static com.example.account.type.HoldStatus.HELD;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(HoldController.class)
+class HoldControllerTest {
+  @MockBean
+  private HoldService holdService;
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private ObjectMapper objectMapper;
+
+  @Test
+  void successAuthorize() throws Exception {
+    // given
+    given(holdService.authorize(anyLong(), anyString(), anyLong()))
+      .willReturn(
+        HoldDto.builder()
+          .accountNumber("1234567890")
+          .holdId("holdId")
+          .holdStatus(HELD)
+          .amount(3000L)
+          .build()
+      );
+
+    // when
+    // then
+    mockMvc.perform(
+        post("/transaction/authorize")
+          .contentType(MediaType.APPLICATION_JSON)
+          .content(objectMapper.writeValueAsString(
+            new AuthorizeBalance.Request(1L, "1234567890", 3000L)
+          ))
+      )
+      .andExpect(status().isOk())
+      .andExpect(jsonPath("$.accountNumber").value("1234567890"))
+      .andExpect(jsonPath("$.holdId").value("holdId"))
+      .andExpect(jsonPath("$.holdStatus").value("HELD"))
+      .andExpect(jsonPath("$.amount").value(3000))
+      .andDo(print());
+  }
+
+  @Test
+  void successCapture() throws Exception {
+    // given
+    given(holdService.capture(anyString(), anyString()))
+      .willReturn(
+        HoldDto.builder()
+          .accountNumber("1234567890")
+          .holdId("holdId")
+          .holdStatus(CAPTURED)
+          .transactionId("avc")
+          .amount(3000L)
+          .build()
+      );
+
+    // when
+    // then
+    mockMvc.perform(
+        post("/transaction/capture")
+          .contentType(MediaType.APPLICATION_JSON)
+          .content(objectMapper.writeValueAsString(
+            new CaptureBalance.Request("holdId", "1234567890")
+          ))
+      )
+      .andExpect(status().isOk())
+      .andExpect(jsonPath("$.holdId").value("holdId"))
+      .andExpect(jsonPath("$.holdStatus").value("CAPTURED"))
+      .andExpect(jsonPath("$.transactionId").value("avc"))
+      .andExpect(jsonPath("$.amount").value(3000))
+      .andDo(print());
+  }
+}
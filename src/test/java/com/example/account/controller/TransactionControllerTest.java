@@ -2,8 +2,13 @@ package com.example.account.controller;
 
 import com.example.account.dto.CancelBalance;
 import com.example.account.dto.TransactionDto;
+import com.example.account.dto.Transfer;
 import com.example.account.dto.UseBalance;
+import com.example.account.dto.UseBalanceBatch;
+import com.example.account.service.AccountTicketQueue;
+import com.example.account.service.TransactionBatchService;
 import com.example.account.service.TransactionService;
+import com.example.account.type.ErrorCode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -11,17 +16,25 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.util.List;
+
+import static com.example.account.type.TransactionResultType.F;
 import static com.example.account.type.TransactionResultType.S;
 import static com.example.account.type.TransactionType.CANCEL;
+import static com.example.account.type.TransactionType.TRANSFER_OUT;
 import static com.example.account.type.TransactionType.USE;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(TransactionController.class)
@@ -29,6 +42,12 @@ class TransactionControllerTest {
   @MockBean
   private TransactionService transactionService;
 
+  @MockBean
+  private TransactionBatchService transactionBatchService;
+
+  @MockBean
+  private AccountTicketQueue accountTicketQueue;
+
   @Autowired
   private MockMvc mockMvc;
 
@@ -66,6 +85,81 @@ class TransactionControllerTest {
       .andDo(print());
   }
 
+  @Test
+  void successUseBalanceBatch() throws Exception {
+    // given
+    given(transactionBatchService.useBalanceBatch(anyList()))
+      .willReturn(List.of(
+        TransactionDto.builder()
+          .accountNumber("1234567890")
+          .transactionType(USE)
+          .transactionResultType(S)
+          .amount(3000L)
+          .transactionId("avc")
+          .build(),
+        TransactionDto.builder()
+          .accountNumber("1234567890")
+          .transactionType(USE)
+          .transactionResultType(F)
+          .amount(9000L)
+          .transactionId("avd")
+          .errorCode(ErrorCode.AMOUNT_EXCEED_BALANCE)
+          .build()));
+
+    // when
+    // then
+    mockMvc.perform(
+        post("/transaction/use/batch")
+          .contentType(MediaType.APPLICATION_JSON)
+          .content(objectMapper.writeValueAsString(
+            new UseBalanceBatch.Request(List.of(
+              new UseBalance.Request(1L, "1234567890", 3000L),
+              new UseBalance.Request(1L, "1234567890", 9000L)))
+          ))
+      )
+      .andExpect(status().isOk())
+      .andExpect(jsonPath("$.results[0].transactionResult").value("S"))
+      .andExpect(jsonPath("$.results[0].transactionId").value("avc"))
+      .andExpect(jsonPath("$.results[1].transactionResult").value("F"))
+      .andExpect(jsonPath("$.results[1].errorCode").value("AMOUNT_EXCEED_BALANCE"))
+      .andDo(print());
+  }
+
+  @Test
+  void successUseBalanceAsync() throws Exception {
+    // given
+    given(transactionService.useBalance(anyLong(), anyString(), anyLong()))
+      .willReturn(
+        TransactionDto.builder()
+          .accountNumber("1234567890")
+          .transactionType(USE)
+          .transactionResultType(S)
+          .amount(3000L)
+          .transactionId("avc")
+          .build()
+      );
+
+    // when
+    MvcResult mvcResult = mockMvc.perform(
+        post("/transaction/use/async")
+          .contentType(MediaType.APPLICATION_JSON)
+          .content(objectMapper.writeValueAsString(
+            new UseBalance.Request(1L, "1234567890", 3000L)
+          ))
+      )
+      .andExpect(request().asyncStarted())
+      .andReturn();
+
+    // then
+    mockMvc.perform(asyncDispatch(mvcResult))
+      .andExpect(status().isOk())
+      .andExpect(jsonPath("$.accountNumber").value("1234567890"))
+      .andExpect(jsonPath("$.transactionResult").value("S"))
+      .andExpect(jsonPath("$.transactionId").value("avc"))
+      .andExpect(jsonPath("$.amount").value(3000))
+      .andDo(print());
+  }
+
   @Test
   void successCancelBalance() throws Exception {
 
@@ -97,6 +191,40 @@ class TransactionControllerTest {
       .andDo(print());
   }
 
+  @Test
+  void successTransfer() throws Exception {
+    // given
+    given(transactionService.transfer(anyLong(), anyString(), anyString(), anyLong()))
+      .willReturn(
+        TransactionDto.builder()
+          .accountNumber("1234567890")
+          .transactionType(TRANSFER_OUT)
+          .transactionResultType(S)
+          .amount(3000L)
+          .transactionId("avc")
+          .linkedTransactionId("def")
+          .build()
+      );
+
+    // when
+    // then
+    mockMvc.perform(
+        post("/transaction/transfer")
+          .contentType(MediaType.APPLICATION_JSON)
+          .content(objectMapper.writeValueAsString(
+            new Transfer.Request(1L, "1234567890", "1234567891", 3000L)
+          ))
+      )
+      .andExpect(status().isOk())
+      .andExpect(jsonPath("$.fromAccountNumber").value("1234567890"))
+      .andExpect(jsonPath("$.toAccountNumber").value("1234567891"))
+      .andExpect(jsonPath("$.transactionResult").value("S"))
+      .andExpect(jsonPath("$.transactionId").value("avc"))
+      .andExpect(jsonPath("$.linkedTransactionId").value("def"))
+      .andExpect(jsonPath("$.amount").value(3000))
+      .andDo(print());
+  }
+
   @Test
   void successQueryTransaction() throws Exception {
     // given
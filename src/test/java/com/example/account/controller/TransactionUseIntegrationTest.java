@@ -0,0 +1,64 @@
+package com.example.account.controller;
+
+import com.example.account.dto.CreateAccount;
+import com.example.account.dto.UseBalance;
+import com.example.account.repository.AccountRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "account.lock.provider=local")
+@AutoConfigureMockMvc
+class TransactionUseIntegrationTest {
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private ObjectMapper objectMapper;
+
+  @Autowired
+  private AccountRepository accountRepository;
+
+  @Test
+  void useBalanceWithoutOuterTransaction() throws Exception {
+    // given
+    MvcResult created = mockMvc.perform(post("/account")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content(objectMapper.writeValueAsString(
+          new CreateAccount.Request(1L, 10000L))))
+      .andExpect(status().isOk())
+      .andReturn();
+    String accountNumber = objectMapper.readTree(created.getResponse().getContentAsString())
+      .get("accountNumber").asText();
+
+    // when
+    MvcResult used = mockMvc.perform(post("/transaction/use")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content(objectMapper.writeValueAsString(
+          new UseBalance.Request(1L, accountNumber, 3000L))))
+      .andDo(print())
+      .andExpect(status().isOk())
+      .andExpect(jsonPath("$.accountNumber").value(accountNumber))
+      .andExpect(jsonPath("$.transactionResult").value("S"))
+      .andExpect(jsonPath("$.amount").value(3000))
+      .andReturn();
+
+    // then
+    JsonNode response = objectMapper.readTree(used.getResponse().getContentAsString());
+    assertEquals(13, response.get("transactionId").asText().length());
+    assertEquals(7000L, accountRepository.findByAccountNumber(accountNumber)
+      .orElseThrow().getBalance());
+  }
+}
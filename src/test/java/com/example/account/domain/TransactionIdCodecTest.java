@@ -0,0 +1,45 @@
+package com.example.account.domain;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransactionIdCodecTest {
+
+  @Test
+  void encodeAndDecode() {
+    // given
+    long id = 1234567890123456789L;
+
+    // when
+    String encoded = TransactionIdCodec.encode(id);
+
+    // then
+    assertEquals(13, encoded.length());
+    assertTrue(TransactionIdCodec.isValid(encoded));
+    assertEquals(id, TransactionIdCodec.decode(encoded));
+    assertEquals(id, TransactionIdCodec.decode(encoded.toLowerCase()));
+    assertEquals("7ZZZZZZZZZZZZ", TransactionIdCodec.encode(Long.MAX_VALUE));
+    assertEquals(Long.MAX_VALUE, TransactionIdCodec.decode("7ZZZZZZZZZZZZ"));
+    assertEquals(0L, TransactionIdCodec.decode("0000000000000"));
+  }
+
+  @Test
+  void rejectMalformedIds() {
+    // given
+    // when
+    // then
+    assertFalse(TransactionIdCodec.isValid(null));
+    assertFalse(TransactionIdCodec.isValid("transactionId"));
+    assertFalse(TransactionIdCodec.isValid("0000000000U00"));
+    assertFalse(TransactionIdCodec.isValid("8000000000000"));
+    assertFalse(TransactionIdCodec.isValid("00000000000000"));
+    assertThrows(IllegalArgumentException.class, () -> TransactionIdCodec.decode(null));
+    assertThrows(IllegalArgumentException.class,
+      () -> TransactionIdCodec.decode("transactionId"));
+    assertThrows(IllegalArgumentException.class,
+      () -> TransactionIdCodec.decode("8000000000000"));
+    assertThrows(IllegalArgumentException.class,
+      () -> TransactionIdCodec.decode("0123456789abcdef0123456789abcdef"));
+  }
+}
@@ -0,0 +1,138 @@
+package com.example.account.repository;
+
+import com.example.account.domain.Account;
+import com.example.account.domain.Transaction;
+import com.example.account.domain.TransactionIdCodec;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.function.LongFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+class NaturalIdLookupTest {
+  private static final long SMALL_TABLE_ROWS = 1_000L;
+  private static final long LARGE_TABLE_ROWS = 200_000L;
+  private static final long ID_OFFSET = 1_000_000L;
+  private static final long FIRST_ACCOUNT_NUMBER = 2_000_000_000L;
+  private static final int LOOKUPS = 500;
+  private static final long MAX_SLOWDOWN = 5L;
+
+  @Autowired
+  private AccountRepository accountRepository;
+
+  @Autowired
+  private TransactionRepository transactionRepository;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @Autowired
+  private EntityManager entityManager;
+
+  @Test
+  void lookupUsesUniqueIndexes() {
+    // given
+    seed(1L, SMALL_TABLE_ROWS);
+
+    // when
+    String accountPlan = jdbcTemplate.queryForObject(
+      "explain select id from account where account_number = '2000000001'", String.class);
+    String transactionPlan = jdbcTemplate.queryForObject(
+      "explain select id from transaction where transaction_id = 1", String.class);
+
+    // then
+    assertFalse(accountPlan.contains("tableScan"), accountPlan);
+    assertFalse(transactionPlan.contains("tableScan"), transactionPlan);
+  }
+
+  @Test
+  void accountLookupLatencyStaysFlat() {
+    // given
+    seed(1L, SMALL_TABLE_ROWS);
+    long smallTableNanos = averageLookupNanos(SMALL_TABLE_ROWS, this::findAccount);
+
+    // when
+    seed(SMALL_TABLE_ROWS + 1, LARGE_TABLE_ROWS);
+    long largeTableNanos = averageLookupNanos(LARGE_TABLE_ROWS, this::findAccount);
+
+    // then
+    assertTrue(largeTableNanos <= smallTableNanos * MAX_SLOWDOWN,
+      "small : " + smallTableNanos + "ns, large : " + largeTableNanos + "ns");
+  }
+
+  @Test
+  void transactionLookupLatencyStaysFlat() {
+    // given
+    seed(1L, SMALL_TABLE_ROWS);
+    long smallTableNanos = averageLookupNanos(SMALL_TABLE_ROWS, this::findTransaction);
+
+    // when
+    seed(SMALL_TABLE_ROWS + 1, LARGE_TABLE_ROWS);
+    long largeTableNanos = averageLookupNanos(LARGE_TABLE_ROWS, this::findTransaction);
+
+    // then
+    assertTrue(largeTableNanos <= smallTableNanos * MAX_SLOWDOWN,
+      "small : " + smallTableNanos + "ns, large : " + largeTableNanos + "ns");
+  }
+
+  @Test
+  void malformedTransactionIdIsNotFound() {
+    // given
+    seed(1L, SMALL_TABLE_ROWS);
+
+    // when
+    // then
+    assertTrue(transactionRepository.findByTransactionId("transactionId").isEmpty());
+    assertTrue(transactionRepository.findByTransactionId("8000000000000").isEmpty());
+  }
+
+  private Account findAccount(long row) {
+    String accountNumber = String.valueOf(FIRST_ACCOUNT_NUMBER + row);
+    Account account = accountRepository.findByAccountNumber(accountNumber).orElseThrow();
+    assertEquals(accountNumber, account.getAccountNumber());
+    return account;
+  }
+
+  private Transaction findTransaction(long row) {
+    String transactionId = TransactionIdCodec.encode(row);
+    Transaction transaction = transactionRepository.findByTransactionId(transactionId)
+      .orElseThrow();
+    assertEquals(transactionId, transaction.getTransactionId());
+    return transaction;
+  }
+
+  private long averageLookupNanos(long rows, LongFunction<?> lookup) {
+    long step = rows / LOOKUPS;
+    for (int i = 0; i < LOOKUPS; i++) {
+      lookup.apply(1 + i * step);
+      entityManager.clear();
+    }
+
+    long started = System.nanoTime();
+    for (int i = 0; i < LOOKUPS; i++) {
+      lookup.apply(rows - i * step);
+      entityManager.clear();
+    }
+    return (System.nanoTime() - started) / LOOKUPS;
+  }
+
+  private void seed(long from, long to) {
+    jdbcTemplate.update("insert into account (id, account_user_id, account_number,"
+        + " account_status, balance, held_balance, version, registered_at, created_at,"
+        + " updated_at) select ? + x, 1, cast(? + x as varchar), 'IN_USE', 0, 0, 0,"
+        + " now(), now(), now() from system_range(?, ?)",
+      ID_OFFSET, FIRST_ACCOUNT_NUMBER, from, to);
+    jdbcTemplate.update("insert into transaction (id, account_id, transaction_type,"
+        + " transaction_result_type, amount, balance_snapshot, transaction_id, transacted_at,"
+        + " created_at, updated_at) select ? + x, ? + x, 'USE', 'S', 0, 0, x, now(), now(),"
+        + " now() from system_range(?, ?)",
+      ID_OFFSET, ID_OFFSET, from, to);
+  }
+}
@@ -0,0 +1,89 @@
+package com.example.account.service;
+
+import com.example.account.domain.AccountUser;
+import com.example.account.repository.AccountRepository;
+import com.example.account.repository.AccountUserRepository;
+import com.example.account.type.AccountStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class AccountCountReconcilerTest {
+  @Mock
+  private AccountUserRepository accountUserRepository;
+  @Mock
+  private AccountRepository accountRepository;
+  @Mock
+  private PlatformTransactionManager transactionManager;
+
+  private AccountCountReconciler accountCountReconciler;
+
+  @BeforeEach
+  void setUp() {
+    accountCountReconciler = new AccountCountReconciler(
+      accountUserRepository, accountRepository, transactionManager);
+  }
+
+  @Test
+  void reconcileDriftedUsers() {
+    // given
+    AccountUser drifted = user(12L, 3L);
+    AccountUser alreadyFixed = user(13L, 2L);
+
+    given(accountUserRepository.findIdsWithAccountCountDrift(AccountStatus.IN_USE))
+      .willReturn(List.of(12L, 13L));
+    given(accountUserRepository.findByIdForUpdate(12L))
+      .willReturn(Optional.of(drifted));
+    given(accountUserRepository.findByIdForUpdate(13L))
+      .willReturn(Optional.of(alreadyFixed));
+    given(accountRepository.countByAccountUserIdAndAccountStatus(12L, AccountStatus.IN_USE))
+      .willReturn(5L);
+    given(accountRepository.countByAccountUserIdAndAccountStatus(13L, AccountStatus.IN_USE))
+      .willReturn(2L);
+
+    // when
+    int reconciled = accountCountReconciler.reconcile();
+
+    // then
+    assertEquals(1, reconciled);
+    assertEquals(5L, drifted.getAccountCount());
+    assertEquals(2L, alreadyFixed.getAccountCount());
+    verify(transactionManager, times(2)).commit(any());
+  }
+
+  @Test
+  void reconcile_userDeleted() {
+    // given
+    given(accountUserRepository.findIdsWithAccountCountDrift(AccountStatus.IN_USE))
+      .willReturn(List.of(12L));
+    given(accountUserRepository.findByIdForUpdate(12L))
+      .willReturn(Optional.empty());
+
+    // when
+    int reconciled = accountCountReconciler.reconcile();
+
+    // then
+    assertEquals(0, reconciled);
+    verify(accountRepository, times(0))
+      .countByAccountUserIdAndAccountStatus(12L, AccountStatus.IN_USE);
+  }
+
+  private static AccountUser user(Long id, Long accountCount) {
+    AccountUser user = AccountUser.builder().name("Pobi").accountCount(accountCount).build();
+    user.setId(id);
+    return user;
+  }
+}
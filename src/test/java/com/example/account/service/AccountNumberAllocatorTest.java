@@ -0,0 +1,134 @@
+package com.example.account.service;
+
+import com.example.account.config.AccountNumberProperties;
+import com.example.account.domain.Account;
+import com.example.account.domain.AccountNumberSequence;
+import com.example.account.exception.AccountException;
+import com.example.account.repository.AccountNumberSequenceRepository;
+import com.example.account.repository.AccountRepository;
+import com.example.account.type.ErrorCode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Optional;
+
+import static com.example.account.service.AccountNumberAllocator.SEQUENCE_NAME;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class AccountNumberAllocatorTest {
+  @Mock
+  private AccountNumberSequenceRepository sequenceRepository;
+  @Mock
+  private AccountRepository accountRepository;
+  @Mock
+  private PlatformTransactionManager transactionManager;
+
+  private final AccountNumberProperties accountNumberProperties = new AccountNumberProperties();
+
+  private AccountNumberAllocator accountNumberAllocator;
+
+  @BeforeEach
+  void setUp() {
+    accountNumberProperties.setBlockSize(2);
+    accountNumberAllocator = new AccountNumberAllocator(sequenceRepository,
+      accountRepository, transactionManager, accountNumberProperties);
+  }
+
+  @Test
+  void allocateFromReservedBlocks() {
+    // given
+    given(sequenceRepository.reserve(SEQUENCE_NAME, 2)).willReturn(1);
+    given(sequenceRepository.findById(SEQUENCE_NAME))
+      .willReturn(Optional.of(sequence(1_000_000_002L)),
+        Optional.of(sequence(1_000_000_004L)));
+
+    // when
+    String first = accountNumberAllocator.next();
+    String second = accountNumberAllocator.next();
+    String third = accountNumberAllocator.next();
+
+    // then
+    assertEquals("1000000000", first);
+    assertEquals("1000000001", second);
+    assertEquals("1000000002", third);
+    verify(sequenceRepository, times(2)).reserve(SEQUENCE_NAME, 2);
+  }
+
+  @Test
+  void initializeSequenceAfterLastAccount() {
+    // given
+    given(sequenceRepository.reserve(SEQUENCE_NAME, 2)).willReturn(0, 1);
+    given(accountRepository.findFirstByOrderByIdDesc())
+      .willReturn(Optional.of(Account.builder()
+        .accountNumber("1000000012")
+        .build()));
+    given(sequenceRepository.findById(SEQUENCE_NAME))
+      .willReturn(Optional.of(sequence(1_000_000_015L)));
+
+    ArgumentCaptor<AccountNumberSequence> captor =
+      ArgumentCaptor.forClass(AccountNumberSequence.class);
+
+    // when
+    String accountNumber = accountNumberAllocator.next();
+
+    // then
+    verify(sequenceRepository, times(1)).saveAndFlush(captor.capture());
+    assertEquals(1_000_000_013L, captor.getValue().getNextValue());
+    assertEquals("1000000013", accountNumber);
+  }
+
+  @Test
+  void reserveAfterConcurrentInitialization() {
+    // given
+    given(sequenceRepository.reserve(SEQUENCE_NAME, 2)).willReturn(0, 1);
+    given(accountRepository.findFirstByOrderByIdDesc()).willReturn(Optional.empty());
+    given(sequenceRepository.saveAndFlush(any()))
+      .willThrow(new DataIntegrityViolationException("duplicate"));
+    given(sequenceRepository.findById(SEQUENCE_NAME))
+      .willReturn(Optional.of(sequence(1_000_000_102L)));
+
+    // when
+    String accountNumber = accountNumberAllocator.next();
+
+    // then
+    assertEquals("1000000100", accountNumber);
+  }
+
+  @Test
+  void accountNumberExhausted() {
+    // given
+    given(sequenceRepository.reserve(SEQUENCE_NAME, 2)).willReturn(1);
+    given(sequenceRepository.findById(SEQUENCE_NAME))
+      .willReturn(Optional.of(sequence(10_000_000_000L)),
+        Optional.of(sequence(10_000_000_002L)));
+
+    // when
+    String secondToLast = accountNumberAllocator.next();
+    String last = accountNumberAllocator.next();
+    AccountException exception = assertThrows(AccountException.class,
+      () -> accountNumberAllocator.next());
+
+    // then
+    assertEquals("9999999998", secondToLast);
+    assertEquals("9999999999", last);
+    assertEquals(ErrorCode.ACCOUNT_NUMBER_EXHAUSTED, exception.getErrorCode());
+  }
+
+  private static AccountNumberSequence sequence(long nextValue) {
+    return AccountNumberSequence.builder()
+      .name(SEQUENCE_NAME)
+      .nextValue(nextValue)
+      .build();
+  }
+}
@@ -3,6 +3,7 @@ package com.example.account.service;
 import com.example.account.domain.Account;
 import com.example.account.domain.AccountUser;
 import com.example.account.dto.AccountDto;
+import com.example.account.dto.AccountInfo;
 import com.example.account.exception.AccountException;
 import com.example.account.repository.AccountRepository;
 import com.example.account.repository.AccountUserRepository;
@@ -15,6 +16,9 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.Arrays;
 import java.util.List;
@@ -24,6 +28,8 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -33,6 +39,10 @@ class AccountServiceTest {
   private AccountRepository accountRepository;
   @Mock
   private AccountUserRepository accountUserRepository;
+  @Mock
+  private ObjectProvider<BalanceStore> balanceStore;
+  @Mock
+  private AccountNumberAllocator accountNumberAllocator;
   @InjectMocks
   private AccountService accountService;
 
@@ -45,10 +55,11 @@ class AccountServiceTest {
     given(accountUserRepository.findById(anyLong()))
       .willReturn(Optional.of(user));
 
-    given(accountRepository.findFirstByOrderByIdDesc())
-      .willReturn(Optional.of(Account.builder()
-        .accountNumber("1000000012")
-        .build()));
+    given(accountUserRepository.incrementAccountCount(anyLong(), anyLong(), any()))
+      .willReturn(1);
+
+    given(accountNumberAllocator.next())
+      .willReturn("1000000013");
 
     given(accountRepository.save(any()))
       .willReturn(Account.builder()
@@ -76,8 +87,11 @@ class AccountServiceTest {
     given(accountUserRepository.findById(anyLong()))
       .willReturn(Optional.of(user));
 
-    given(accountRepository.findFirstByOrderByIdDesc())
-      .willReturn(Optional.empty());
+    given(accountUserRepository.incrementAccountCount(anyLong(), anyLong(), any()))
+      .willReturn(1);
+
+    given(accountNumberAllocator.next())
+      .willReturn("1000000000");
 
     given(accountRepository.save(any()))
       .willReturn(Account.builder()
@@ -121,43 +135,100 @@ class AccountServiceTest {
 
     // then
     verify(accountRepository, times(1)).save(captor.capture());
+    verify(accountUserRepository, times(1)).decrementAccountCount(eq(12L), any());
     assertEquals(12L, accountDto.getUserId());
     assertEquals("1000000012", captor.getValue().getAccountNumber());
     assertEquals(AccountStatus.UNREGISTERED, captor.getValue().getAccountStatus());
   }
 
   @Test
-  void getAccountSuccess() {
+  @DisplayName("원장 잔액 남아있음 - 계좌 해지 실패")
+  void deleteAccount_ledgerBalanceNotEmpty() {
     // given
     AccountUser user = AccountUser.builder().name("Pobi").build();
     user.setId(12L);
+    BalanceStore store = mock(BalanceStore.class);
 
-    List<Account> accounts = Arrays.asList(
-      Account.builder()
-        .accountUser(user)
-        .accountNumber("1234567890")
-        .balance(100L)
-        .build(),
-      Account.builder()
-        .accountUser(user)
-        .accountNumber("0987654321")
-        .balance(200L)
-        .build(),
-      Account.builder()
-        .accountUser(user)
-        .accountNumber("1000000000")
-        .balance(300L)
-        .build()
-    );
+    given(accountUserRepository.findById(anyLong()))
+      .willReturn(Optional.of(user));
+
+    given(accountRepository.findByAccountNumber(anyString()))
+      .willReturn(Optional.of(
+        Account.builder()
+          .accountUser(user)
+          .accountNumber("1000000012")
+          .balance(0L)
+          .build())
+      );
+
+    given(balanceStore.getIfAvailable())
+      .willReturn(store);
+    willThrow(new AccountException(ErrorCode.BALANCE_NOT_EMPTY))
+      .given(store).validateUnregister("1000000012");
+
+    // when
+    AccountException exception = assertThrows(AccountException.class,
+      () -> accountService.deleteAccount(1L, "1234567890"));
+
+    // then
+    assertEquals(ErrorCode.BALANCE_NOT_EMPTY, exception.getErrorCode());
+    verify(accountRepository, times(0)).save(any());
+    verify(store, times(0)).unregister(anyString());
+  }
+
+  @Test
+  @DisplayName("원장 해지는 커밋 이후 반영")
+  void deleteAccount_ledgerUnregisteredAfterCommit() {
+    // given
+    AccountUser user = AccountUser.builder().name("Pobi").build();
+    user.setId(12L);
+    BalanceStore store = mock(BalanceStore.class);
 
     given(accountUserRepository.findById(anyLong()))
       .willReturn(Optional.of(user));
 
-    given(accountRepository.findByAccountUser(any()))
+    given(accountRepository.findByAccountNumber(anyString()))
+      .willReturn(Optional.of(
+        Account.builder()
+          .accountUser(user)
+          .accountNumber("1000000012")
+          .balance(0L)
+          .build())
+      );
+
+    given(balanceStore.getIfAvailable())
+      .willReturn(store);
+
+    // when
+    TransactionSynchronizationManager.initSynchronization();
+    try {
+      accountService.deleteAccount(1L, "1234567890");
+      verify(store, times(0)).unregister(anyString());
+      TransactionSynchronizationManager.getSynchronizations()
+        .forEach(TransactionSynchronization::afterCommit);
+    } finally {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    // then
+    verify(store).validateUnregister("1000000012");
+    verify(store).unregister("1000000012");
+  }
+
+  @Test
+  void getAccountSuccess() {
+    // given
+    List<AccountInfo> accounts = Arrays.asList(
+      new AccountInfo("1234567890", 100L),
+      new AccountInfo("0987654321", 200L),
+      new AccountInfo("1000000000", 300L)
+    );
+
+    given(accountRepository.findAccountInfosByUserId(anyLong()))
       .willReturn(accounts);
 
     // when
-    List<AccountDto> accountDtos = accountService.getAccountsByUserId(1L);
+    List<AccountInfo> accountDtos = accountService.getAccountsByUserId(1L);
 
     // then
     assertEquals(3, accountDtos.size());
@@ -170,6 +241,7 @@ class AccountServiceTest {
 
     assertEquals("1000000000", accountDtos.get(2).getAccountNumber());
     assertEquals(300L, accountDtos.get(2).getBalance());
+    verify(accountUserRepository, times(0)).findById(anyLong());
   }
 
   @Test
@@ -197,8 +269,8 @@ class AccountServiceTest {
     given(accountUserRepository.findById(anyLong()))
       .willReturn(Optional.of(user));
 
-    given(accountRepository.countByAccountUser(any()))
-      .willReturn(10);
+    given(accountUserRepository.incrementAccountCount(anyLong(), anyLong(), any()))
+      .willReturn(0);
 
     // when
     AccountException exception = assertThrows(AccountException.class,
@@ -206,6 +278,8 @@ class AccountServiceTest {
 
     // then
     assertEquals(ErrorCode.MAX_COUNT_PER_USER_10, exception.getErrorCode());
+    verify(accountNumberAllocator, times(0)).next();
+    verify(accountRepository, times(0)).save(any());
 
   }
 
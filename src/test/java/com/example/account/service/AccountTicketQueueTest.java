@@ -0,0 +1,93 @@
+package com.example.account.service;
+
+import com.example.account.config.AccountLockProperties;
+import com.example.account.exception.AccountException;
+import com.example.account.type.ErrorCode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccountTicketQueueTest {
+  private final AccountLockProperties properties = new AccountLockProperties();
+
+  private AccountTicketQueue accountTicketQueue;
+
+  @BeforeEach
+  void setUp() {
+    properties.getQueue().setMaxDepth(1);
+    accountTicketQueue = new AccountTicketQueue(properties);
+  }
+
+  @Test
+  void acquireAndRelease() {
+    // given
+    accountTicketQueue.acquire("1234567890", 1000L);
+
+    // when
+    accountTicketQueue.release("1234567890");
+
+    // then
+    assertEquals(0, accountTicketQueue.getDepth("1234567890"));
+  }
+
+  @Test
+  void rejectBeyondMaxDepth() throws Exception {
+    // given
+    accountTicketQueue.acquire("1234567890", 1000L);
+
+    // when
+    AccountException exception = CompletableFuture.supplyAsync(() ->
+      assertThrows(AccountException.class,
+        () -> accountTicketQueue.acquire("1234567890", 1000L))).get();
+
+    // then
+    assertEquals(ErrorCode.ACCOUNT_QUEUE_FULL, exception.getErrorCode());
+    assertTrue(exception.getErrorMessage().contains("예상 대기 시간"));
+    assertEquals(1, accountTicketQueue.getDepth("1234567890"));
+  }
+
+  @Test
+  void queuePerAccount() throws Exception {
+    // given
+    accountTicketQueue.acquire("1234567890", 1000L);
+
+    // when
+    // then
+    assertDoesNotThrow(() -> CompletableFuture.runAsync(() -> {
+      accountTicketQueue.acquire("1111111111", 1000L);
+      accountTicketQueue.release("1111111111");
+    }).get());
+  }
+
+  @Test
+  void excludedTimeIsNotSampledAsHoldTime() throws Exception {
+    // given
+    properties.getQueue().setMaxDepth(2);
+    accountTicketQueue.acquire("1234567890", 1000L);
+    Thread.sleep(300L);
+    accountTicketQueue.excludeFromHoldTime("1234567890", TimeUnit.MILLISECONDS.toNanos(300L));
+    accountTicketQueue.release("1234567890");
+    accountTicketQueue.acquire("1234567890", 1000L);
+
+    // when
+    AccountException exception = CompletableFuture.supplyAsync(() ->
+      assertThrows(AccountException.class,
+        () -> accountTicketQueue.acquire("1234567890", 100L))).get();
+
+    // then
+    assertEquals(ErrorCode.ACCOUNT_TRANSACTION_LOCK, exception.getErrorCode());
+  }
+
+  @Test
+  void failReleaseWithoutTicket() {
+    // given
+    // when
+    // then
+    assertThrows(IllegalMonitorStateException.class,
+      () -> accountTicketQueue.release("1234567890"));
+  }
+}
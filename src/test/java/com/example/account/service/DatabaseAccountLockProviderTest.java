@@ -0,0 +1,153 @@
+package com.example.account.service;
+
+import com.example.account.domain.Account;
+import com.example.account.exception.AccountException;
+import com.example.account.type.ErrorCode;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PessimisticLockException;
+import jakarta.persistence.TypedQuery;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DatabaseAccountLockProviderTest {
+  @Mock
+  private PlatformTransactionManager transactionManager;
+
+  @Mock
+  private EntityManager entityManager;
+
+  @Mock
+  private TypedQuery<Account> query;
+
+  @Mock
+  private TransactionStatus transactionStatus;
+
+  @InjectMocks
+  private DatabaseAccountLockProvider lockProvider;
+
+  @BeforeEach
+  void setUp() {
+    given(transactionManager.getTransaction(any()))
+      .willReturn(transactionStatus);
+    given(entityManager.createQuery(anyString(), eq(Account.class)))
+      .willReturn(query);
+    given(query.setParameter(anyString(), any())).willReturn(query);
+    given(query.setLockMode(any())).willReturn(query);
+    given(query.setHint(anyString(), any())).willReturn(query);
+  }
+
+  @Test
+  void lockRowAndCommitOnUnlock() {
+    // given
+    given(query.getResultList())
+      .willReturn(List.of(Account.builder().accountNumber("1234567890").build()));
+
+    // when
+    lockProvider.lock("1234567890", 1000L, 15000L);
+    lockProvider.unlock("1234567890");
+
+    // then
+    verify(query, times(1)).setLockMode(LockModeType.PESSIMISTIC_WRITE);
+    verify(transactionManager, times(1)).commit(transactionStatus);
+  }
+
+  @Test
+  void rollbackOnUnlockIfMarkedRollbackOnly() {
+    // given
+    given(query.getResultList())
+      .willReturn(List.of(Account.builder().accountNumber("1234567890").build()));
+    given(transactionStatus.isRollbackOnly()).willReturn(true);
+
+    // when
+    lockProvider.lock("1234567890", 1000L, 15000L);
+    lockProvider.unlock("1234567890");
+
+    // then
+    verify(transactionManager, times(1)).rollback(transactionStatus);
+    verify(transactionManager, never()).commit(any());
+  }
+
+  @Test
+  void runActionAfterOutermostUnlock() {
+    // given
+    given(query.getResultList())
+      .willReturn(List.of(Account.builder().accountNumber("1234567890").build()));
+    given(transactionStatus.isRollbackOnly()).willReturn(true);
+    Runnable action = mock(Runnable.class);
+
+    // when
+    lockProvider.lockAll(List.of("1234567890", "1234567891"), 1000L, 15000L);
+    lockProvider.runAfterUnlock(action);
+    lockProvider.unlock("1234567891");
+    verify(action, never()).run();
+    lockProvider.unlock("1234567890");
+
+    // then
+    InOrder inOrder = inOrder(transactionManager, action);
+    inOrder.verify(transactionManager, times(2)).rollback(transactionStatus);
+    inOrder.verify(action, times(1)).run();
+  }
+
+  @Test
+  void runActionImmediatelyWhenNoLockHeld() {
+    // given
+    given(query.getResultList())
+      .willReturn(List.of(Account.builder().accountNumber("1234567890").build()));
+    Runnable action = mock(Runnable.class);
+    lockProvider.lock("1234567890", 1000L, 15000L);
+    lockProvider.unlock("1234567890");
+
+    // when
+    lockProvider.runAfterUnlock(action);
+
+    // then
+    verify(action, times(1)).run();
+  }
+
+  @Test
+  void failGetLock() {
+    // given
+    given(query.getResultList())
+      .willThrow(new PessimisticLockException());
+
+    // when
+    AccountException exception = assertThrows(AccountException.class,
+      () -> lockProvider.lock("1234567890", 1000L, 15000L));
+
+    // then
+    assertEquals(ErrorCode.ACCOUNT_TRANSACTION_LOCK, exception.getErrorCode());
+    verify(transactionManager, times(1)).rollback(transactionStatus);
+  }
+
+  @Test
+  void failGetLock_accountNotFound() {
+    // given
+    given(query.getResultList())
+      .willReturn(Collections.emptyList());
+
+    // when
+    AccountException exception = assertThrows(AccountException.class,
+      () -> lockProvider.lock("1234567890", 1000L, 15000L));
+
+    // then
+    assertEquals(ErrorCode.ACCOUNT_NOT_FOUND, exception.getErrorCode());
+    verify(transactionManager, times(1)).rollback(transactionStatus);
+  }
+}
@@ -0,0 +1,138 @@
+package com.example.account.service;
+
+import com.example.account.config.BalanceProperties;
+import com.example.account.exception.AccountException;
+import com.example.account.type.ErrorCode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.TransactionSystemException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class GroupCommitExecutorTest {
+  private final BalanceProperties balanceProperties = new BalanceProperties();
+
+  private final TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+
+  private final ExecutorService callers = Executors.newFixedThreadPool(4);
+
+  private GroupCommitExecutor groupCommitExecutor;
+
+  @BeforeEach
+  void setUp() {
+    balanceProperties.getGroupCommit().setMaxBatchSize(4);
+    balanceProperties.getGroupCommit().setWindow(Duration.ofSeconds(5));
+    groupCommitExecutor = new GroupCommitExecutor(
+      transactionTemplate, balanceProperties, new SimpleMeterRegistry());
+    groupCommitExecutor.start();
+  }
+
+  @AfterEach
+  void tearDown() throws InterruptedException {
+    groupCommitExecutor.stop();
+    callers.shutdown();
+  }
+
+  @Test
+  void commitConcurrentOperationsOnce() {
+    // given
+    givenTransactionsCommit(new AtomicInteger());
+
+    // when
+    List<CompletableFuture<Object>> results = submit(4, index -> "result-" + index);
+
+    // then
+    for (int i = 0; i < 4; i++) {
+      assertEquals("result-" + i, results.get(i).join());
+    }
+    verify(transactionTemplate, times(1)).executeWithoutResult(any());
+  }
+
+  @Test
+  void failOnlyTheFailedOperation() {
+    // given
+    givenTransactionsCommit(new AtomicInteger());
+
+    // when
+    List<CompletableFuture<Object>> results = submit(4, index -> {
+      if (index == 2) {
+        throw new AccountException(ErrorCode.AMOUNT_EXCEED_BALANCE);
+      }
+      return "result-" + index;
+    });
+
+    // then
+    CompletionException exception =
+      assertThrows(CompletionException.class, () -> results.get(2).join());
+    assertEquals(ErrorCode.AMOUNT_EXCEED_BALANCE,
+      ((AccountException) exception.getCause()).getErrorCode());
+    assertEquals("result-0", results.get(0).join());
+    assertEquals("result-1", results.get(1).join());
+    assertEquals("result-3", results.get(3).join());
+    verify(transactionTemplate, times(1)).executeWithoutResult(any());
+  }
+
+  @Test
+  void commitIndividuallyWhenGroupCommitFails() {
+    // given
+    givenTransactionsCommit(new AtomicInteger(1));
+
+    // when
+    List<CompletableFuture<Object>> results = submit(4, index -> "result-" + index);
+
+    // then
+    for (int i = 0; i < 4; i++) {
+      assertEquals("result-" + i, results.get(i).join());
+    }
+    verify(transactionTemplate, times(5)).executeWithoutResult(any());
+  }
+
+  private void givenTransactionsCommit(AtomicInteger failingCommits) {
+    willAnswer(invocation -> {
+      Consumer<TransactionStatus> action = invocation.getArgument(0);
+      action.accept(mock(TransactionStatus.class));
+      if (failingCommits.getAndDecrement() > 0) {
+        throw new TransactionSystemException("commit failed");
+      }
+      return null;
+    }).given(transactionTemplate).executeWithoutResult(any());
+  }
+
+  private List<CompletableFuture<Object>> submit(int count, Operation operation) {
+    List<CompletableFuture<Object>> results = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      int index = i;
+      results.add(CompletableFuture.supplyAsync(() -> {
+        try {
+          return groupCommitExecutor.execute(() -> operation.apply(index));
+        } catch (Exception e) {
+          throw new CompletionException(e);
+        }
+      }, callers));
+    }
+    return results;
+  }
+
+  private interface Operation {
+    Object apply(int index) throws Exception;
+  }
+}
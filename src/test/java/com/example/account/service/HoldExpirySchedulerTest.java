@@ -0,0 +1,111 @@
+package com.example.account.service;
+
+import com.example.account.config.BalanceProperties;
+import com.example.account.domain.Account;
+import com.example.account.domain.Hold;
+import com.example.account.repository.HoldRepository;
+import com.example.account.type.HoldStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class HoldExpirySchedulerTest {
+  private static final String HOLD_ID = "0000000000H01";
+
+  @Mock
+  private HoldRepository holdRepository;
+  @Mock
+  private ObjectProvider<HoldService> holdServiceProvider;
+  @Mock
+  private HoldService holdService;
+  @Mock
+  private AccountLockProvider accountLockProvider;
+
+  private HoldExpiryScheduler holdExpiryScheduler;
+
+  @BeforeEach
+  void setUp() {
+    holdExpiryScheduler = new HoldExpiryScheduler(holdRepository, holdServiceProvider,
+      accountLockProvider, new BalanceProperties(), new SimpleMeterRegistry());
+  }
+
+  @AfterEach
+  void tearDown() throws InterruptedException {
+    holdExpiryScheduler.stop();
+  }
+
+  @Test
+  void startLoadsOnlyHoldsWithinWheelHorizon() {
+    // given
+    given(holdRepository.findByHoldStatusAndExpiresAtBefore(eq(HoldStatus.HELD), any()))
+      .willReturn(List.of());
+    ArgumentCaptor<LocalDateTime> captor = ArgumentCaptor.forClass(LocalDateTime.class);
+
+    // when
+    holdExpiryScheduler.start();
+
+    // then
+    verify(holdRepository).findByHoldStatusAndExpiresAtBefore(eq(HoldStatus.HELD),
+      captor.capture());
+    assertTrue(captor.getValue().isAfter(LocalDateTime.now().plusHours(1)));
+    assertTrue(captor.getValue().isBefore(LocalDateTime.now().plusYears(1)));
+  }
+
+  @Test
+  void sweepExpiresOverdueHoldsLeftByOtherNodes() {
+    // given
+    given(holdRepository.findByHoldStatusAndExpiresAtBefore(eq(HoldStatus.HELD), any()))
+      .willReturn(List.of(), List.of(hold(LocalDateTime.now().minusMinutes(5))));
+    given(holdServiceProvider.getObject()).willReturn(holdService);
+    holdExpiryScheduler.start();
+
+    // when
+    int swept = holdExpiryScheduler.sweep();
+
+    // then
+    assertEquals(1, swept);
+    verify(holdService, timeout(1_000L)).expire(HOLD_ID);
+    verify(accountLockProvider, timeout(1_000L)).unlock("1000000000");
+  }
+
+  @Test
+  void sweepSkipsHoldsAlreadyScheduledHere() {
+    // given
+    holdExpiryScheduler.schedule(HOLD_ID, "1000000000", LocalDateTime.now().plusHours(1));
+    given(holdRepository.findByHoldStatusAndExpiresAtBefore(eq(HoldStatus.HELD), any()))
+      .willReturn(List.of(hold(LocalDateTime.now().minusMinutes(5))));
+
+    // when
+    int swept = holdExpiryScheduler.sweep();
+
+    // then
+    assertEquals(0, swept);
+  }
+
+  private static Hold hold(LocalDateTime expiresAt) {
+    return Hold.builder()
+      .account(Account.builder().accountNumber("1000000000").build())
+      .holdId(HOLD_ID)
+      .amount(1000L)
+      .holdStatus(HoldStatus.HELD)
+      .expiresAt(expiresAt)
+      .build();
+  }
+}
@@ -0,0 +1,250 @@
+package com.example.account.service;
+
+import com.example.account.config.BalanceProperties;
+import com.example.account.config.TransactionIdProperties;
+import com.example.account.domain.Account;
+import com.example.account.domain.AccountUser;
+import com.example.account.domain.Hold;
+import com.example.account.domain.Transaction;
+import com.example.account.dto.HoldDto;
+import com.example.account.exception.AccountException;
+import com.example.account.repository.AccountRepository;
+import com.example.account.repository.HoldRepository;
+import com.example.account.repository.TransactionRepository;
+import com.example.account.type.BalanceMode;
+import com.example.account.type.ErrorCode;
+import com.example.account.type.HoldStatus;
+import com.example.account.type.TransactionType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static com.example.account.type.AccountStatus.IN_USE;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class HoldServiceTest {
+  @Mock
+  private HoldRepository holdRepository;
+  private static final String HOLD_ID = "0000000000H01";
+
+  @Mock
+  private AccountRepository accountRepository;
+  @Mock
+  private TransactionRepository transactionRepository;
+  @Mock
+  private HoldExpiryScheduler holdExpiryScheduler;
+  @Spy
+  private BalanceProperties balanceProperties = new BalanceProperties();
+  @Spy
+  private TransactionIdGenerator transactionIdGenerator =
+    new TransactionIdGenerator(new TransactionIdProperties());
+
+  @InjectMocks
+  private HoldService holdService;
+
+  @Test
+  void authorizeSuccess() {
+    // given
+    Account account = account(10000L, 3000L);
+    given(accountRepository.holdBalance(eq(12L), eq("1000000000"), eq(3000L),
+      eq(IN_USE), any()))
+      .willReturn(1);
+    given(accountRepository.findByAccountNumber("1000000000"))
+      .willReturn(Optional.of(account));
+    given(holdRepository.save(any())).willAnswer(invocation -> invocation.getArgument(0));
+
+    // when
+    HoldDto holdDto = holdService.authorize(12L, "1000000000", 3000L);
+
+    // then
+    assertEquals(HoldStatus.HELD, holdDto.getHoldStatus());
+    assertEquals(3000L, holdDto.getAmount());
+    assertEquals(3000L, holdDto.getHeldBalanceSnapshot());
+    assertEquals(holdDto.getHeldAt().plus(balanceProperties.getHold().getTtl()),
+      holdDto.getExpiresAt());
+    verify(holdExpiryScheduler, times(1))
+      .schedule(holdDto.getHoldId(), "1000000000", holdDto.getExpiresAt());
+  }
+
+  @Test
+  void authorize_amountExceedAvailableBalance() {
+    // given
+    given(accountRepository.holdBalance(anyLong(), anyString(), anyLong(), any(), any()))
+      .willReturn(0);
+    given(accountRepository.findByAccountNumber(anyString()))
+      .willReturn(Optional.of(account(10000L, 8000L)));
+
+    // when
+    AccountException exception = assertThrows(AccountException.class,
+      () -> holdService.authorize(12L, "1000000000", 3000L));
+
+    // then
+    assertEquals(ErrorCode.AMOUNT_EXCEED_BALANCE, exception.getErrorCode());
+    verify(holdRepository, times(0)).save(any());
+    verify(holdExpiryScheduler, times(0)).schedule(anyString(), anyString(), any());
+  }
+
+  @Test
+  void authorize_unsupportedInRedisMode() {
+    // given
+    balanceProperties.setMode(BalanceMode.REDIS);
+
+    // when
+    AccountException exception = assertThrows(AccountException.class,
+      () -> holdService.authorize(12L, "1000000000", 3000L));
+
+    // then
+    assertEquals(ErrorCode.UNSUPPORTED_BALANCE_MODE, exception.getErrorCode());
+  }
+
+  @Test
+  void captureSuccess() {
+    // given
+    Hold hold = hold(HoldStatus.HELD, LocalDateTime.now().plusMinutes(1));
+    given(holdRepository.findByHoldId(HOLD_ID)).willReturn(Optional.of(hold));
+    given(holdRepository.close(eq(HOLD_ID), eq(HoldStatus.HELD), eq(HoldStatus.CAPTURED), any()))
+      .willReturn(1);
+    given(accountRepository.findByAccountNumber("1000000000"))
+      .willReturn(Optional.of(account(7000L, 0L)));
+    given(transactionRepository.save(any())).willAnswer(invocation -> invocation.getArgument(0));
+
+    ArgumentCaptor<Transaction> captor = ArgumentCaptor.forClass(Transaction.class);
+
+    // when
+    HoldDto holdDto = holdService.capture(HOLD_ID, "1000000000");
+
+    // then
+    verify(accountRepository, times(1)).captureHeldBalance(eq(1L), eq(3000L), any());
+    verify(transactionRepository, times(1)).save(captor.capture());
+    assertEquals(TransactionType.CAPTURE, captor.getValue().getTransactionType());
+    assertEquals(3000L, captor.getValue().getAmount());
+    assertEquals(7000L, captor.getValue().getBalanceSnapshot());
+    assertEquals(HOLD_ID, captor.getValue().getLinkedTransactionId());
+    assertEquals(HoldStatus.CAPTURED, holdDto.getHoldStatus());
+    assertEquals(captor.getValue().getTransactionId(), holdDto.getTransactionId());
+    verify(holdExpiryScheduler, times(1)).cancel(HOLD_ID);
+  }
+
+  @Test
+  void capture_malformedHoldId() {
+    // given
+    // when
+    AccountException exception = assertThrows(AccountException.class,
+      () -> holdService.capture("holdId", "1000000000"));
+
+    // then
+    assertEquals(ErrorCode.HOLD_NOT_FOUND, exception.getErrorCode());
+    verify(holdRepository, times(0)).findByHoldId(anyString());
+  }
+
+  @Test
+  void capture_expiredHold() {
+    // given
+    given(holdRepository.findByHoldId(HOLD_ID))
+      .willReturn(Optional.of(hold(HoldStatus.HELD, LocalDateTime.now().minusSeconds(1))));
+
+    // when
+    AccountException exception = assertThrows(AccountException.class,
+      () -> holdService.capture(HOLD_ID, "1000000000"));
+
+    // then
+    assertEquals(ErrorCode.HOLD_EXPIRED, exception.getErrorCode());
+    verify(accountRepository, times(0)).captureHeldBalance(anyLong(), anyLong(), any());
+  }
+
+  @Test
+  void capture_holdAccountUnMatch() {
+    // given
+    given(holdRepository.findByHoldId(HOLD_ID))
+      .willReturn(Optional.of(hold(HoldStatus.HELD, LocalDateTime.now().plusMinutes(1))));
+
+    // when
+    AccountException exception = assertThrows(AccountException.class,
+      () -> holdService.capture(HOLD_ID, "1000000001"));
+
+    // then
+    assertEquals(ErrorCode.HOLD_ACCOUNT_UN_MATCH, exception.getErrorCode());
+  }
+
+  @Test
+  void release_alreadyClosedByConcurrentExpiry() {
+    // given
+    given(holdRepository.findByHoldId(HOLD_ID))
+      .willReturn(Optional.of(hold(HoldStatus.HELD, LocalDateTime.now().plusMinutes(1))));
+    given(holdRepository.close(anyString(), any(), any(), any())).willReturn(0);
+
+    // when
+    AccountException exception = assertThrows(AccountException.class,
+      () -> holdService.release(HOLD_ID, "1000000000"));
+
+    // then
+    assertEquals(ErrorCode.HOLD_ALREADY_CLOSED, exception.getErrorCode());
+    verify(accountRepository, times(0)).releaseHeldBalance(anyLong(), anyLong(), any());
+  }
+
+  @Test
+  void expireReleasesHeldBalance() {
+    // given
+    given(holdRepository.findByHoldId(HOLD_ID))
+      .willReturn(Optional.of(hold(HoldStatus.HELD, LocalDateTime.now())));
+    given(holdRepository.close(eq(HOLD_ID), eq(HoldStatus.HELD), eq(HoldStatus.EXPIRED), any()))
+      .willReturn(1);
+
+    // when
+    holdService.expire(HOLD_ID);
+
+    // then
+    verify(accountRepository, times(1)).releaseHeldBalance(eq(1L), eq(3000L), any());
+  }
+
+  @Test
+  void expireIgnoresCapturedHold() {
+    // given
+    given(holdRepository.findByHoldId(HOLD_ID))
+      .willReturn(Optional.of(hold(HoldStatus.CAPTURED, LocalDateTime.now())));
+
+    // when
+    holdService.expire(HOLD_ID);
+
+    // then
+    verify(holdRepository, times(0)).close(anyString(), any(), any(), any());
+    verify(accountRepository, times(0)).releaseHeldBalance(anyLong(), anyLong(), any());
+  }
+
+  private static Account account(Long balance, Long heldBalance) {
+    AccountUser user = AccountUser.builder().name("pobi").build();
+    user.setId(12L);
+    Account account = Account.builder()
+      .accountUser(user)
+      .accountStatus(IN_USE)
+      .balance(balance)
+      .heldBalance(heldBalance)
+      .accountNumber("1000000000")
+      .build();
+    account.setId(1L);
+    return account;
+  }
+
+  private static Hold hold(HoldStatus holdStatus, LocalDateTime expiresAt) {
+    return Hold.builder()
+      .account(account(10000L, 3000L))
+      .holdId(HOLD_ID)
+      .amount(3000L)
+      .holdStatus(holdStatus)
+      .heldAt(expiresAt.minusMinutes(15))
+      .expiresAt(expiresAt)
+      .build();
+  }
+}
@@ -0,0 +1,209 @@
+package com.example.account.service;
+
+import com.example.account.config.BalanceProperties;
+import com.example.account.config.TransactionIdProperties;
+import com.example.account.domain.Account;
+import com.example.account.domain.AccountUser;
+import com.example.account.dto.TransactionDto;
+import com.example.account.exception.AccountException;
+import com.example.account.repository.AccountRepository;
+import com.example.account.type.AccountStatus;
+import com.example.account.type.ErrorCode;
+import com.example.account.type.TransactionType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class InMemoryLedgerTest {
+  @Mock
+  private AccountRepository accountRepository;
+
+  @Mock
+  private LedgerPersister ledgerPersister;
+
+  @TempDir
+  private Path journalDirectory;
+
+  private final BalanceProperties balanceProperties = new BalanceProperties();
+
+  private LedgerJournal ledgerJournal;
+
+  private InMemoryLedger inMemoryLedger;
+
+  @BeforeEach
+  void setUp() {
+    balanceProperties.getLedger().setRingSize(8);
+    balanceProperties.getLedger().getJournal().setDirectory(journalDirectory.toString());
+    given(accountRepository.findAll())
+      .willReturn(List.of(account(1L, "1000000000", 12L, 10_000L, AccountStatus.IN_USE)));
+    ledgerJournal = new LedgerJournal(balanceProperties);
+    ledgerJournal.open();
+    inMemoryLedger = new InMemoryLedger(
+      accountRepository, ledgerPersister, ledgerJournal,
+      new TransactionIdGenerator(new TransactionIdProperties()), balanceProperties);
+    inMemoryLedger.start();
+  }
+
+  @AfterEach
+  void tearDown() throws Exception {
+    inMemoryLedger.stop();
+    ledgerJournal.close();
+  }
+
+  @Test
+  void useBalanceSuccess() {
+    // given
+    ArgumentCaptor<LedgerEntry> captor = ArgumentCaptor.forClass(LedgerEntry.class);
+
+    // when
+    TransactionDto transactionDto = inMemoryLedger.useBalance(12L, "1000000000", 2800L);
+
+    // then
+    assertEquals(7200L, transactionDto.getBalanceSnapshot());
+    assertEquals(TransactionType.USE, transactionDto.getTransactionType());
+    verify(ledgerPersister, times(1)).enqueue(captor.capture());
+    assertEquals(1L, captor.getValue().getAccountId());
+    assertEquals(7200L, captor.getValue().getBalanceSnapshot());
+    assertEquals(transactionDto.getTransactionId(), captor.getValue().getTransactionId());
+    assertEquals(1L, captor.getValue().getSequence());
+    assertEquals(1L, ledgerJournal.getAppendedSequence());
+  }
+
+  @Test
+  void useBalance_amountExceedBalance() {
+    // given
+    // when
+    AccountException exception = assertThrows(AccountException.class,
+      () -> inMemoryLedger.useBalance(12L, "1000000000", 20_000L));
+
+    // then
+    assertEquals(ErrorCode.AMOUNT_EXCEED_BALANCE, exception.getErrorCode());
+    verify(ledgerPersister, never()).enqueue(any());
+    assertEquals(0L, ledgerJournal.getAppendedSequence());
+  }
+
+  @Test
+  void useBalance_userAccountUnMatch() {
+    // given
+    // when
+    AccountException exception = assertThrows(AccountException.class,
+      () -> inMemoryLedger.useBalance(13L, "1000000000", 1000L));
+
+    // then
+    assertEquals(ErrorCode.USER_ACCOUNT_UN_MATCH, exception.getErrorCode());
+  }
+
+  @Test
+  void loadAccountCreatedAfterStartup() {
+    // given
+    List<String> lookupThreads = new ArrayList<>();
+    given(accountRepository.findByAccountNumber("1000000001"))
+      .willAnswer(invocation -> {
+        lookupThreads.add(Thread.currentThread().getName());
+        return Optional.of(account(2L, "1000000001", 12L, 500L, AccountStatus.IN_USE));
+      });
+
+    // when
+    inMemoryLedger.useBalance(12L, "1000000001", 100L);
+    TransactionDto transactionDto = inMemoryLedger.useBalance(12L, "1000000001", 100L);
+
+    // then
+    assertEquals(300L, transactionDto.getBalanceSnapshot());
+    verify(accountRepository, times(1)).findByAccountNumber("1000000001");
+    assertEquals(List.of(Thread.currentThread().getName()), lookupThreads);
+  }
+
+  @Test
+  void useBalance_accountNotFound() {
+    // given
+    given(accountRepository.findByAccountNumber("1000000009"))
+      .willReturn(Optional.empty());
+
+    // when
+    AccountException exception = assertThrows(AccountException.class,
+      () -> inMemoryLedger.useBalance(12L, "1000000009", 100L));
+
+    // then
+    assertEquals(ErrorCode.ACCOUNT_NOT_FOUND, exception.getErrorCode());
+  }
+
+  @Test
+  void cancelBalanceSuccess() {
+    // given
+    // when
+    TransactionDto transactionDto = inMemoryLedger.cancelBalance("1000000000", 2000L);
+
+    // then
+    assertEquals(12_000L, transactionDto.getBalanceSnapshot());
+    assertEquals(TransactionType.CANCEL, transactionDto.getTransactionType());
+  }
+
+  @Test
+  void validateUnregisterOnlyEmptyAccountWithoutUnregistering() {
+    // given
+    // when
+    AccountException notEmpty = assertThrows(AccountException.class,
+      () -> inMemoryLedger.validateUnregister("1000000000"));
+    inMemoryLedger.useBalance(12L, "1000000000", 10_000L);
+    inMemoryLedger.validateUnregister("1000000000");
+    TransactionDto stillInUse = inMemoryLedger.useBalance(12L, "1000000000", 0L);
+    inMemoryLedger.unregister("1000000000");
+    AccountException unregistered = assertThrows(AccountException.class,
+      () -> inMemoryLedger.useBalance(12L, "1000000000", 10L));
+
+    // then
+    assertEquals(ErrorCode.BALANCE_NOT_EMPTY, notEmpty.getErrorCode());
+    assertEquals(0L, stillInUse.getBalanceSnapshot());
+    assertEquals(ErrorCode.ACCOUNT_ALREADY_UNREGISTERED, unregistered.getErrorCode());
+  }
+
+  @Test
+  void sequenceConcurrentDebits() {
+    // given
+    List<CompletableFuture<TransactionDto>> debits = new ArrayList<>();
+
+    // when
+    for (int i = 0; i < 100; i++) {
+      debits.add(CompletableFuture.supplyAsync(
+        () -> inMemoryLedger.useBalance(12L, "1000000000", 10L)));
+    }
+    debits.forEach(CompletableFuture::join);
+
+    // then
+    assertEquals(9_000L + 10L, inMemoryLedger.cancelBalance("1000000000", 10L)
+      .getBalanceSnapshot());
+    verify(ledgerPersister, times(101)).enqueue(any());
+    assertEquals(101L, ledgerJournal.getAppendedSequence());
+  }
+
+  private static Account account(Long id, String accountNumber, Long userId,
+                                 Long balance, AccountStatus status) {
+    AccountUser user = AccountUser.builder().name("Pobi").build();
+    user.setId(userId);
+    Account account = Account.builder()
+      .accountUser(user)
+      .accountNumber(accountNumber)
+      .accountStatus(status)
+      .balance(balance)
+      .build();
+    account.setId(id);
+    return account;
+  }
+}
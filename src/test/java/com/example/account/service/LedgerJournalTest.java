@@ -0,0 +1,139 @@
+package com.example.account.service;
+
+import com.example.account.config.BalanceProperties;
+import com.example.account.config.TransactionIdProperties;
+import com.example.account.type.TransactionType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LedgerJournalTest {
+  @TempDir
+  private Path journalDirectory;
+
+  private final BalanceProperties balanceProperties = new BalanceProperties();
+
+  private final TransactionIdGenerator transactionIdGenerator =
+    new TransactionIdGenerator(new TransactionIdProperties());
+
+  @BeforeEach
+  void setUp() {
+    BalanceProperties.Journal journal = balanceProperties.getLedger().getJournal();
+    journal.setDirectory(journalDirectory.toString());
+    journal.setSegmentRecords(4);
+    journal.setForceInterval(Duration.ZERO);
+  }
+
+  @Test
+  void replayUnappliedTailAfterRestart() throws Exception {
+    // given
+    LedgerJournal journal = open();
+    LocalDateTime transactedAt = LocalDateTime.of(2023, 11, 1, 12, 30, 15, 123_456_789);
+    String transactionId = newTransactionId();
+    journal.append(1L, TransactionType.USE, 1000L, 9000L, newTransactionId(), transactedAt);
+    journal.append(1L, TransactionType.USE, 2000L, 7000L, transactionId, transactedAt);
+    journal.append(2L, TransactionType.CANCEL, 500L, 1500L, newTransactionId(), transactedAt);
+    journal.markApplied(1L);
+    journal.close();
+
+    // when
+    LedgerJournal reopened = open();
+    List<LedgerEntry> unapplied = reopened.drainUnapplied();
+    LedgerEntry next = reopened.append(
+      2L, TransactionType.USE, 100L, 1400L, newTransactionId(), transactedAt);
+    reopened.close();
+
+    // then
+    assertEquals(2, unapplied.size());
+    assertEquals(2L, unapplied.get(0).getSequence());
+    assertEquals(1L, unapplied.get(0).getAccountId());
+    assertEquals(TransactionType.USE, unapplied.get(0).getTransactionType());
+    assertEquals(2000L, unapplied.get(0).getAmount());
+    assertEquals(7000L, unapplied.get(0).getBalanceSnapshot());
+    assertEquals(transactionId, unapplied.get(0).getTransactionId());
+    assertEquals(transactedAt, unapplied.get(0).getTransactedAt());
+    assertEquals(TransactionType.CANCEL, unapplied.get(1).getTransactionType());
+    assertEquals(4L, next.getSequence());
+  }
+
+  @Test
+  void removeSegmentsOnceApplied() throws Exception {
+    // given
+    LedgerJournal journal = open();
+    for (int i = 0; i < 9; i++) {
+      journal.append(1L, TransactionType.USE, 10L, 100L, newTransactionId(),
+        LocalDateTime.now());
+    }
+    long segmentsBefore = countSegments();
+
+    // when
+    journal.markApplied(8L);
+    long segmentsAfter = countSegments();
+    journal.close();
+
+    // then
+    assertEquals(3L, segmentsBefore);
+    assertEquals(1L, segmentsAfter);
+    assertEquals(1, open().drainUnapplied().size());
+  }
+
+  @Test
+  void stopReplayAtTornRecord() throws Exception {
+    // given
+    LedgerJournal journal = open();
+    for (int i = 0; i < 3; i++) {
+      journal.append(1L, TransactionType.USE, 10L, 100L, newTransactionId(),
+        LocalDateTime.now());
+    }
+    journal.close();
+    corrupt(Path.of(journalDirectory.toString(), String.format("%020d.journal", 1)),
+      LedgerJournal.RECORD_SIZE + 20);
+
+    // when
+    LedgerJournal reopened = open();
+    List<LedgerEntry> unapplied = reopened.drainUnapplied();
+    LedgerEntry next = reopened.append(
+      1L, TransactionType.USE, 10L, 90L, newTransactionId(), LocalDateTime.now());
+    reopened.close();
+
+    // then
+    assertEquals(1, unapplied.size());
+    assertEquals(2L, next.getSequence());
+    assertEquals(2, open().drainUnapplied().size());
+  }
+
+  private LedgerJournal open() {
+    LedgerJournal journal = new LedgerJournal(balanceProperties);
+    journal.open();
+    return journal;
+  }
+
+  private long countSegments() throws IOException {
+    try (Stream<Path> files = Files.list(journalDirectory)) {
+      return files.filter(path -> path.toString().endsWith(".journal")).count();
+    }
+  }
+
+  private static void corrupt(Path segment, long position) throws IOException {
+    try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+      channel.write(ByteBuffer.wrap(new byte[]{(byte) 0xFF}), position);
+    }
+  }
+
+  private String newTransactionId() {
+    return transactionIdGenerator.next();
+  }
+}
@@ -0,0 +1,62 @@
+package com.example.account.service;
+
+import com.example.account.exception.AccountException;
+import com.example.account.type.ErrorCode;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocalAccountLockProviderTest {
+  private final LocalAccountLockProvider lockProvider = new LocalAccountLockProvider();
+
+  @Test
+  void lockAndUnlock() {
+    // given
+    // when
+    // then
+    assertDoesNotThrow(() -> {
+      lockProvider.lock("1234567890", 1000L, 15000L);
+      lockProvider.unlock("1234567890");
+    });
+  }
+
+  @Test
+  void failGetLockHeldByOtherThread() throws Exception {
+    // given
+    lockProvider.lock("1234567890", 1000L, 15000L);
+
+    // when
+    AccountException exception = CompletableFuture.supplyAsync(() ->
+      assertThrows(AccountException.class,
+        () -> lockProvider.lock("1234567890", 1000L, 15000L))).get();
+
+    // then
+    assertEquals(ErrorCode.ACCOUNT_TRANSACTION_LOCK, exception.getErrorCode());
+    lockProvider.unlock("1234567890");
+  }
+
+  @Test
+  void otherAccountIsNotBlocked() throws Exception {
+    // given
+    lockProvider.lock("1234567890", 1000L, 15000L);
+
+    // when
+    // then
+    assertDoesNotThrow(() -> CompletableFuture.runAsync(() -> {
+      lockProvider.lock("0987654321", 1000L, 15000L);
+      lockProvider.unlock("0987654321");
+    }).get());
+    lockProvider.unlock("1234567890");
+  }
+
+  @Test
+  void failUnlockNotHeld() {
+    // given
+    // when
+    // then
+    assertThrows(IllegalMonitorStateException.class,
+      () -> lockProvider.unlock("1234567890"));
+  }
+}
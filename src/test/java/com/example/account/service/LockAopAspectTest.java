@@ -1,32 +1,63 @@
 package com.example.account.service;
 
+import com.example.account.aop.AccountLock;
+import com.example.account.aop.RequestDeadline;
+import com.example.account.config.BalanceProperties;
+import com.example.account.dto.Transfer;
 import com.example.account.dto.UseBalance;
 import com.example.account.exception.AccountException;
+import com.example.account.type.BalanceMode;
 import com.example.account.type.ErrorCode;
 import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.BDDMockito.given;
-import static org.mockito.Mockito.times;
-import static org.mockito.Mockito.verify;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class LockAopAspectTest {
   @Mock
-  private LockService lockService;
+  private AccountLockProvider accountLockProvider;
+
+  @Mock
+  private LockMetrics lockMetrics;
+
+  @Mock
+  private AccountTicketQueue accountTicketQueue;
+
+  @Mock
+  private TransactionPreValidator transactionPreValidator;
 
   @Mock
   private ProceedingJoinPoint proceedingJoinPoint;
 
+  @Spy
+  private BalanceProperties balanceProperties = new BalanceProperties();
+
   @InjectMocks
   private LockAopAspect lockAopAspect;
 
+  @AfterEach
+  void tearDown() {
+    RequestDeadline.clear();
+  }
+
   @Test
   void lockAndUnlock() throws Throwable {
     // given
@@ -36,12 +67,12 @@ class LockAopAspectTest {
       new UseBalance.Request(123L, "1234567890", 1000L);
 
     // when
-    lockAopAspect.aroundMethod(proceedingJoinPoint, request);
+    lockAopAspect.aroundMethod(proceedingJoinPoint, accountLock(), request);
 
     // then
-    verify(lockService, times(1))
-      .lock(lockArgumentCaptor.capture());
-    verify(lockService, times(1))
+    verify(accountLockProvider, times(1))
+      .lock(lockArgumentCaptor.capture(), eq(3000L), eq(10000L));
+    verify(accountLockProvider, times(1))
       .unlock(unlockArgumentCaptor.capture());
 
     assertEquals("1234567890", lockArgumentCaptor.getValue());
@@ -61,16 +92,348 @@ class LockAopAspectTest {
 
     // when
     AccountException exception = assertThrows(AccountException.class,
-      () -> lockAopAspect.aroundMethod(proceedingJoinPoint, request));
+      () -> lockAopAspect.aroundMethod(proceedingJoinPoint, accountLock(), request));
 
     // then
-    verify(lockService, times(1))
-      .lock(lockArgumentCaptor.capture());
-    verify(lockService, times(1))
+    verify(accountLockProvider, times(1))
+      .lock(lockArgumentCaptor.capture(), anyLong(), anyLong());
+    verify(accountLockProvider, times(1))
       .unlock(unlockArgumentCaptor.capture());
 
     assertEquals("1234567890", lockArgumentCaptor.getValue());
     assertEquals("1234567890", unlockArgumentCaptor.getValue());
   }
 
-}
\ No newline at end of file
+  @Test
+  void capWaitTimeByRequestDeadline() throws Throwable {
+    // given
+    UseBalance.Request request =
+      new UseBalance.Request(123L, "1234567890", 1000L);
+    RequestDeadline.start(500L);
+    ArgumentCaptor<Long> waitTimeCaptor = ArgumentCaptor.forClass(Long.class);
+
+    // when
+    lockAopAspect.aroundMethod(proceedingJoinPoint, accountLock(), request);
+
+    // then
+    verify(accountLockProvider, times(1))
+      .lock(anyString(), waitTimeCaptor.capture(), eq(10000L));
+    assertTrue(waitTimeCaptor.getValue() <= 500L);
+  }
+
+  @Test
+  void failFastIfRequestDeadlineExceeded() throws Throwable {
+    // given
+    UseBalance.Request request =
+      new UseBalance.Request(123L, "1234567890", 1000L);
+    RequestDeadline.start(0L);
+
+    // when
+    AccountException exception = assertThrows(AccountException.class,
+      () -> lockAopAspect.aroundMethod(proceedingJoinPoint, accountLock(), request));
+
+    // then
+    assertEquals(ErrorCode.REQUEST_DEADLINE_EXCEEDED, exception.getErrorCode());
+    verify(accountLockProvider, never()).lock(anyString(), anyLong(), anyLong());
+    verify(proceedingJoinPoint, never()).proceed();
+    verify(lockMetrics, times(1)).recordFailed(
+      eq("1234567890"), anyLong(), eq(ErrorCode.REQUEST_DEADLINE_EXCEEDED));
+  }
+
+  @Test
+  void recordLockMetrics() throws Throwable {
+    // given
+    UseBalance.Request request =
+      new UseBalance.Request(123L, "1234567890", 1000L);
+
+    // when
+    lockAopAspect.aroundMethod(proceedingJoinPoint, accountLock(), request);
+
+    // then
+    verify(lockMetrics, times(1)).recordAcquired(eq("1234567890"), anyLong());
+    verify(lockMetrics, times(1)).recordReleased(anyLong());
+  }
+
+  @Test
+  void recordLockFailure() {
+    // given
+    UseBalance.Request request =
+      new UseBalance.Request(123L, "1234567890", 1000L);
+    willThrow(new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK))
+      .given(accountLockProvider).lock(anyString(), anyLong(), anyLong());
+
+    // when
+    assertThrows(AccountException.class,
+      () -> lockAopAspect.aroundMethod(proceedingJoinPoint, accountLock(), request));
+
+    // then
+    verify(lockMetrics, times(1)).recordFailed(
+      eq("1234567890"), anyLong(), eq(ErrorCode.ACCOUNT_TRANSACTION_LOCK));
+    verify(accountLockProvider, never()).unlock(anyString());
+  }
+
+  @Test
+  void lockAndUnlockAsync() throws Throwable {
+    // given
+    LockAopAspect asyncLockAopAspect =
+      new LockAopAspect(accountLockProvider, lockMetrics, Runnable::run,
+        accountTicketQueue, transactionPreValidator, balanceProperties);
+    UseBalance.Request request =
+      new UseBalance.Request(123L, "1234567890", 1000L);
+
+    given(proceedingJoinPoint.getSignature()).willReturn(asyncSignature());
+    given(accountLockProvider.supportsAsync()).willReturn(true);
+    given(accountLockProvider.lockAsync(anyString(), anyLong(), anyLong(), anyLong()))
+      .willReturn(CompletableFuture.completedFuture(null));
+    given(accountLockProvider.unlockAsync(anyString(), anyLong()))
+      .willReturn(CompletableFuture.completedFuture(null));
+    given(proceedingJoinPoint.proceed())
+      .willReturn(CompletableFuture.completedFuture("done"));
+
+    // when
+    Object result = asyncLockAopAspect.aroundMethod(
+      proceedingJoinPoint, accountLock(), request);
+
+    // then
+    assertEquals("done", ((CompletableFuture<?>) result).join());
+    ArgumentCaptor<Long> lockOwnerCaptor = ArgumentCaptor.forClass(Long.class);
+    ArgumentCaptor<Long> unlockOwnerCaptor = ArgumentCaptor.forClass(Long.class);
+    verify(accountLockProvider, times(1))
+      .lockAsync(eq("1234567890"), eq(3000L), eq(10000L), lockOwnerCaptor.capture());
+    verify(accountLockProvider, times(1))
+      .unlockAsync(eq("1234567890"), unlockOwnerCaptor.capture());
+    assertEquals(lockOwnerCaptor.getValue(), unlockOwnerCaptor.getValue());
+    verify(accountLockProvider, never()).lock(anyString(), anyLong(), anyLong());
+  }
+
+  @Test
+  void unlockAsync_evenIfThrow() throws Throwable {
+    // given
+    LockAopAspect asyncLockAopAspect =
+      new LockAopAspect(accountLockProvider, lockMetrics, Runnable::run,
+        accountTicketQueue, transactionPreValidator, balanceProperties);
+    UseBalance.Request request =
+      new UseBalance.Request(123L, "1234567890", 1000L);
+
+    given(proceedingJoinPoint.getSignature()).willReturn(asyncSignature());
+    given(accountLockProvider.supportsAsync()).willReturn(true);
+    given(accountLockProvider.lockAsync(anyString(), anyLong(), anyLong(), anyLong()))
+      .willReturn(CompletableFuture.completedFuture(null));
+    given(accountLockProvider.unlockAsync(anyString(), anyLong()))
+      .willReturn(CompletableFuture.completedFuture(null));
+    given(proceedingJoinPoint.proceed())
+      .willThrow(new AccountException(ErrorCode.ACCOUNT_NOT_FOUND));
+
+    // when
+    Object result = asyncLockAopAspect.aroundMethod(
+      proceedingJoinPoint, accountLock(), request);
+
+    // then
+    CompletionException exception = assertThrows(CompletionException.class,
+      () -> ((CompletableFuture<?>) result).join());
+    assertEquals(ErrorCode.ACCOUNT_NOT_FOUND,
+      ((AccountException) exception.getCause()).getErrorCode());
+    verify(accountLockProvider, times(1)).unlockAsync(eq("1234567890"), anyLong());
+  }
+
+  @Test
+  void failGetLockAsync() throws Throwable {
+    // given
+    LockAopAspect asyncLockAopAspect =
+      new LockAopAspect(accountLockProvider, lockMetrics, Runnable::run,
+        accountTicketQueue, transactionPreValidator, balanceProperties);
+    UseBalance.Request request =
+      new UseBalance.Request(123L, "1234567890", 1000L);
+
+    given(proceedingJoinPoint.getSignature()).willReturn(asyncSignature());
+    given(accountLockProvider.supportsAsync()).willReturn(true);
+    given(accountLockProvider.lockAsync(anyString(), anyLong(), anyLong(), anyLong()))
+      .willReturn(CompletableFuture.failedFuture(
+        new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK)));
+
+    // when
+    Object result = asyncLockAopAspect.aroundMethod(
+      proceedingJoinPoint, accountLock(), request);
+
+    // then
+    assertThrows(CompletionException.class, () -> ((CompletableFuture<?>) result).join());
+    verify(proceedingJoinPoint, never()).proceed();
+    verify(accountLockProvider, never()).unlockAsync(anyString(), anyLong());
+    verify(lockMetrics, times(1)).recordFailed(
+      eq("1234567890"), anyLong(), eq(ErrorCode.ACCOUNT_TRANSACTION_LOCK));
+  }
+
+  @Test
+  void takeTicketBeforeFairLock() throws Throwable {
+    // given
+    UseBalance.Request request =
+      new UseBalance.Request(123L, "1234567890", 1000L);
+
+    // when
+    lockAopAspect.aroundMethod(proceedingJoinPoint, fairAccountLock(), request);
+
+    // then
+    InOrder inOrder = inOrder(accountTicketQueue, accountLockProvider, proceedingJoinPoint);
+    inOrder.verify(accountTicketQueue).acquire("1234567890", 3000L);
+    inOrder.verify(accountLockProvider).lock(eq("1234567890"), anyLong(), eq(10000L));
+    inOrder.verify(proceedingJoinPoint).proceed();
+    inOrder.verify(accountLockProvider).unlock("1234567890");
+    inOrder.verify(accountTicketQueue).release("1234567890");
+  }
+
+  @Test
+  void releaseTicketIfFairLockFails() {
+    // given
+    UseBalance.Request request =
+      new UseBalance.Request(123L, "1234567890", 1000L);
+    willThrow(new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK))
+      .given(accountLockProvider).lock(anyString(), anyLong(), anyLong());
+
+    // when
+    assertThrows(AccountException.class,
+      () -> lockAopAspect.aroundMethod(proceedingJoinPoint, fairAccountLock(), request));
+
+    // then
+    verify(accountTicketQueue, times(1)).release("1234567890");
+    verify(accountLockProvider, never()).unlock(anyString());
+  }
+
+  @Test
+  void rejectWhenTicketQueueFull() throws Throwable {
+    // given
+    UseBalance.Request request =
+      new UseBalance.Request(123L, "1234567890", 1000L);
+    willThrow(new AccountException(ErrorCode.ACCOUNT_QUEUE_FULL))
+      .given(accountTicketQueue).acquire(anyString(), anyLong());
+
+    // when
+    AccountException exception = assertThrows(AccountException.class,
+      () -> lockAopAspect.aroundMethod(proceedingJoinPoint, fairAccountLock(), request));
+
+    // then
+    assertEquals(ErrorCode.ACCOUNT_QUEUE_FULL, exception.getErrorCode());
+    verify(lockMetrics, times(1)).recordFailed(
+      eq("1234567890"), anyLong(), eq(ErrorCode.ACCOUNT_QUEUE_FULL));
+    verify(accountLockProvider, never()).lock(anyString(), anyLong(), anyLong());
+    verify(proceedingJoinPoint, never()).proceed();
+  }
+
+  @Test
+  void rejectBeforeLockIfPreValidationFails() throws Throwable {
+    // given
+    UseBalance.Request request =
+      new UseBalance.Request(123L, "1234567890", 1000L);
+    willThrow(new AccountException(ErrorCode.USER_NOT_FOUND))
+      .given(transactionPreValidator).validate(request);
+
+    // when
+    AccountException exception = assertThrows(AccountException.class,
+      () -> lockAopAspect.aroundMethod(proceedingJoinPoint, fairAccountLock(), request));
+
+    // then
+    assertEquals(ErrorCode.USER_NOT_FOUND, exception.getErrorCode());
+    verify(accountTicketQueue, never()).acquire(anyString(), anyLong());
+    verify(accountLockProvider, never()).lock(anyString(), anyLong(), anyLong());
+    verify(proceedingJoinPoint, never()).proceed();
+    verifyNoInteractions(lockMetrics);
+  }
+
+  @Test
+  void skipLockInSkippedBalanceMode() throws Throwable {
+    // given
+    balanceProperties.setMode(BalanceMode.ATOMIC);
+    UseBalance.Request request =
+      new UseBalance.Request(123L, "1234567890", 1000L);
+
+    // when
+    lockAopAspect.aroundMethod(proceedingJoinPoint, atomicSkippedAccountLock(), request);
+
+    // then
+    verify(proceedingJoinPoint, times(1)).proceed();
+    verifyNoInteractions(accountLockProvider, accountTicketQueue,
+      transactionPreValidator, lockMetrics);
+  }
+
+  @Test
+  void lockInNotSkippedBalanceMode() throws Throwable {
+    // given
+    UseBalance.Request request =
+      new UseBalance.Request(123L, "1234567890", 1000L);
+
+    // when
+    lockAopAspect.aroundMethod(proceedingJoinPoint, atomicSkippedAccountLock(), request);
+
+    // then
+    verify(accountLockProvider, times(1)).lock(eq("1234567890"), anyLong(), anyLong());
+    verify(accountLockProvider, times(1)).unlock("1234567890");
+  }
+
+  @Test
+  void lockAllAccountsInCanonicalOrder() throws Throwable {
+    // given
+    Transfer.Request request =
+      new Transfer.Request(123L, "1000000002", "1000000001", 1000L);
+
+    // when
+    lockAopAspect.aroundMethod(proceedingJoinPoint, accountLock(), request);
+
+    // then
+    InOrder inOrder = inOrder(accountLockProvider, proceedingJoinPoint);
+    inOrder.verify(accountLockProvider, times(1))
+      .lockAll(List.of("1000000001", "1000000002"), 3000L, 10000L);
+    inOrder.verify(proceedingJoinPoint, times(1)).proceed();
+    inOrder.verify(accountLockProvider, times(1))
+      .unlockAll(List.of("1000000001", "1000000002"));
+    verify(accountLockProvider, never()).lock(anyString(), anyLong(), anyLong());
+  }
+
+  @Test
+  void unlockAllAccounts_evenIfThrow() throws Throwable {
+    // given
+    Transfer.Request request =
+      new Transfer.Request(123L, "1000000001", "1000000002", 1000L);
+    given(proceedingJoinPoint.proceed())
+      .willThrow(new AccountException(ErrorCode.AMOUNT_EXCEED_BALANCE));
+
+    // when
+    assertThrows(AccountException.class,
+      () -> lockAopAspect.aroundMethod(proceedingJoinPoint, accountLock(), request));
+
+    // then
+    verify(accountLockProvider, times(1))
+      .unlockAll(List.of("1000000001", "1000000002"));
+  }
+
+  @AccountLock(tryLockTime = 3000L, leaseTime = 10000L)
+  private void lockedMethod() {
+  }
+
+  @AccountLock(tryLockTime = 3000L, leaseTime = 10000L, fair = true)
+  private void fairLockedMethod() {
+  }
+
+  @AccountLock(skipIn = BalanceMode.ATOMIC)
+  private void atomicSkippedLockedMethod() {
+  }
+
+  private MethodSignature asyncSignature() {
+    MethodSignature signature = mock(MethodSignature.class);
+    given(signature.getReturnType()).willReturn(CompletableFuture.class);
+    return signature;
+  }
+
+  private AccountLock accountLock() throws NoSuchMethodException {
+    return getClass().getDeclaredMethod("lockedMethod")
+      .getAnnotation(AccountLock.class);
+  }
+
+  private AccountLock fairAccountLock() throws NoSuchMethodException {
+    return getClass().getDeclaredMethod("fairLockedMethod")
+      .getAnnotation(AccountLock.class);
+  }
+
+  private AccountLock atomicSkippedAccountLock() throws NoSuchMethodException {
+    return getClass().getDeclaredMethod("atomicSkippedLockedMethod")
+      .getAnnotation(AccountLock.class);
+  }
+}
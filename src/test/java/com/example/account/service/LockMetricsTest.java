@@ -0,0 +1,103 @@
+package com.example.account.service;
+
+import com.example.account.dto.HotLockInfo;
+import com.example.account.type.ErrorCode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LockMetricsTest {
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final LockMetrics lockMetrics = new LockMetrics(meterRegistry, "redis");
+
+  @Test
+  void recordWaitAndHoldTime() {
+    // given
+    // when
+    lockMetrics.recordAcquired("1234567890", TimeUnit.MILLISECONDS.toNanos(3));
+    lockMetrics.recordFailed("1234567890", TimeUnit.MILLISECONDS.toNanos(1000),
+      ErrorCode.ACCOUNT_TRANSACTION_LOCK);
+    lockMetrics.recordReleased(TimeUnit.MILLISECONDS.toNanos(20));
+
+    // then
+    assertEquals(1L, meterRegistry.get("account.lock.wait")
+      .tag("outcome", "acquired").timer().count());
+    assertEquals(1L, meterRegistry.get("account.lock.wait")
+      .tag("outcome", "account_transaction_lock").timer().count());
+    assertEquals(1.0, meterRegistry.get("account.lock.failures")
+      .tag("errorCode", "ACCOUNT_TRANSACTION_LOCK").counter().count());
+    assertEquals(1L, meterRegistry.get("account.lock.hold").timer().count());
+  }
+
+  @Test
+  void hotLocksOrderedByWaitTime() {
+    // given
+    lockMetrics.recordAcquired("1000000000", TimeUnit.MILLISECONDS.toNanos(10));
+    lockMetrics.recordAcquired("2000000000", TimeUnit.MILLISECONDS.toNanos(500));
+    lockMetrics.recordFailed("2000000000", TimeUnit.MILLISECONDS.toNanos(1000),
+      ErrorCode.ACCOUNT_TRANSACTION_LOCK);
+    lockMetrics.recordAcquired("3000000000", TimeUnit.MILLISECONDS.toNanos(100));
+
+    // when
+    List<HotLockInfo> hotLocks = lockMetrics.getHotLocks(2);
+
+    // then
+    assertEquals(2, hotLocks.size());
+    assertEquals("2000000000", hotLocks.get(0).getAccountNumber());
+    assertEquals(2L, hotLocks.get(0).getContendedCount());
+    assertEquals(1L, hotLocks.get(0).getFailedCount());
+    assertEquals(1500L, hotLocks.get(0).getTotalWaitMillis());
+    assertEquals("3000000000", hotLocks.get(1).getAccountNumber());
+  }
+
+  @Test
+  void uncontendedLockIsNotTracked() {
+    // given
+    // when
+    lockMetrics.recordAcquired("1234567890", 1_000L);
+
+    // then
+    assertTrue(lockMetrics.getHotLocks(10).isEmpty());
+  }
+
+  @Test
+  void trackedAccountsAreBounded() {
+    // given
+    // when
+    for (int i = 0; i < 5_000; i++) {
+      lockMetrics.recordAcquired(String.valueOf(1_000_000_000L + i),
+        TimeUnit.MILLISECONDS.toNanos(2));
+    }
+
+    // then
+    assertTrue(lockMetrics.getHotLocks(Integer.MAX_VALUE).size() <= 1_000);
+  }
+
+  @Test
+  void newlyHotAccountInheritsEvictedCount() {
+    // given
+    for (int i = 0; i < 1_000; i++) {
+      lockMetrics.recordAcquired(String.valueOf(1_000_000_000L + i),
+        TimeUnit.MILLISECONDS.toNanos(2));
+    }
+
+    // when
+    lockMetrics.recordAcquired("2000000000", TimeUnit.MILLISECONDS.toNanos(2));
+    lockMetrics.recordAcquired("3000000000", TimeUnit.MILLISECONDS.toNanos(2));
+
+    // then
+    List<HotLockInfo> hotLocks = lockMetrics.getHotLocks(Integer.MAX_VALUE);
+    assertEquals(1_000, hotLocks.size());
+    HotLockInfo hot = hotLocks.stream()
+      .filter(info -> info.getAccountNumber().equals("2000000000"))
+      .findFirst()
+      .orElseThrow();
+    assertEquals(4L, hot.getTotalWaitMillis());
+    assertEquals(2L, hot.getOverestimatedWaitMillis());
+    assertEquals(2L, hot.getContendedCount());
+  }
+}
@@ -2,6 +2,7 @@ package com.example.account.service;
 
 import com.example.account.exception.AccountException;
 import com.example.account.type.ErrorCode;
+import com.example.account.type.RedisFallbackMode;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -9,10 +10,22 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.redisson.api.RLock;
 import org.redisson.api.RedissonClient;
+import org.redisson.client.RedisTimeoutException;
+import org.redisson.misc.CompletableFutureWrapper;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 @ExtendWith(MockitoExtension.class)
 class LockServiceTest {
@@ -22,12 +35,17 @@ class LockServiceTest {
   @Mock
   private RLock rLock;
 
+  @Mock
+  private RedisCircuitBreaker redisCircuitBreaker;
+
   @InjectMocks
   private LockService lockService;
 
   @Test
   void successGetLock() throws InterruptedException {
     // given
+    given(redisCircuitBreaker.allowRequest())
+      .willReturn(true);
     given(redissonClient.getLock(anyString()))
       .willReturn(rLock);
     given(rLock.tryLock(anyLong(), anyLong(), any()))
@@ -35,22 +53,326 @@ class LockServiceTest {
 
     // when
     // then
-    assertDoesNotThrow(() -> lockService.lock("1234567890"));
+    assertDoesNotThrow(() -> lockService.lock("1234567890", 1000L, 15000L));
   }
 
   @Test
   void failGetLock() throws InterruptedException {
     // given
+    given(redisCircuitBreaker.allowRequest())
+      .willReturn(true);
+    given(redissonClient.getLock(anyString()))
+      .willReturn(rLock);
+    given(rLock.tryLock(anyLong(), anyLong(), any()))
+      .willReturn(false);
+
+    // when
+    AccountException exception = assertThrows(AccountException.class,
+      () -> lockService.lock("1234567890", 1000L, 15000L));
+
+    // then
+    assertEquals(ErrorCode.ACCOUNT_TRANSACTION_LOCK, exception.getErrorCode());
+  }
+
+  @Test
+  void reuseRedisLockHandle() throws InterruptedException {
+    // given
+    given(redisCircuitBreaker.allowRequest())
+      .willReturn(true);
+    given(redissonClient.getLock(anyString()))
+      .willReturn(rLock);
+    given(rLock.tryLock(anyLong(), anyLong(), any()))
+      .willReturn(true);
+
+    // when
+    lockService.lock("1234567890", 1000L, 15000L);
+    lockService.unlock("1234567890");
+    lockService.lock("1234567890", 1000L, 15000L);
+    lockService.unlock("1234567890");
+
+    // then
+    verify(redissonClient, times(1)).getLock("ACLK:1234567890");
+    verify(rLock, times(2)).unlock();
+  }
+
+  @Test
+  void onlyOneWaiterPerNodeTriesRedisLock() throws Exception {
+    // given
+    given(redisCircuitBreaker.allowRequest())
+      .willReturn(true);
+    given(redissonClient.getLock(anyString()))
+      .willReturn(rLock);
+    given(rLock.tryLock(anyLong(), anyLong(), any()))
+      .willReturn(true);
+    lockService.lock("1234567890", 1000L, 15000L);
+
+    // when
+    AccountException exception = CompletableFuture.supplyAsync(() ->
+      assertThrows(AccountException.class,
+        () -> lockService.lock("1234567890", 1000L, 15000L))).get();
+
+    // then
+    assertEquals(ErrorCode.ACCOUNT_TRANSACTION_LOCK, exception.getErrorCode());
+    verify(rLock, times(1)).tryLock(anyLong(), anyLong(), any());
+  }
+
+  @Test
+  void otherAccountsDoNotWaitForHeldLocalLock() throws Exception {
+    // given
+    given(redisCircuitBreaker.allowRequest())
+      .willReturn(true);
+    given(redissonClient.getLock(anyString()))
+      .willReturn(rLock);
+    given(rLock.tryLock(anyLong(), anyLong(), any()))
+      .willReturn(true);
+    lockService.lock("1234567890", 1000L, 15000L);
+
+    // when
+    // then
+    for (int i = 0; i < 512; i++) {
+      String accountNumber = String.valueOf(1_000_000_000L + i);
+      assertDoesNotThrow(() -> CompletableFuture.runAsync(() -> {
+        lockService.lock(accountNumber, 0L, 15000L);
+        lockService.unlock(accountNumber);
+      }).get());
+    }
+  }
+
+  @Test
+  void releaseLocalLockEvenIfRedisUnlockFails() throws Exception {
+    // given
+    given(redisCircuitBreaker.allowRequest())
+      .willReturn(true);
+    given(redissonClient.getLock(anyString()))
+      .willReturn(rLock);
+    given(rLock.tryLock(anyLong(), anyLong(), any()))
+      .willReturn(true);
+    willThrow(new IllegalMonitorStateException())
+      .willDoNothing()
+      .given(rLock).unlock();
+    lockService.lock("1234567890", 1000L, 15000L);
+
+    // when
+    assertThrows(IllegalMonitorStateException.class,
+      () -> lockService.unlock("1234567890"));
+
+    // then
+    assertDoesNotThrow(() -> CompletableFuture.runAsync(() -> {
+      lockService.lock("1234567890", 1000L, 15000L);
+      lockService.unlock("1234567890");
+    }).get());
+  }
+
+  @Test
+  void successGetLockAsync() {
+    // given
+    given(redisCircuitBreaker.allowRequest())
+      .willReturn(true);
+    given(redissonClient.getLock(anyString()))
+      .willReturn(rLock);
+    given(rLock.tryLockAsync(anyLong(), anyLong(), any(), anyLong()))
+      .willReturn(new CompletableFutureWrapper<>(true));
+
+    // when
+    // then
+    assertDoesNotThrow(() -> lockService.lockAsync("1234567890", 1000L, 15000L, -1L).join());
+    verify(rLock, times(1)).tryLockAsync(eq(1000L), eq(15000L), any(), eq(-1L));
+  }
+
+  @Test
+  void failGetLockAsync() {
+    // given
+    given(redisCircuitBreaker.allowRequest())
+      .willReturn(true);
+    given(redissonClient.getLock(anyString()))
+      .willReturn(rLock);
+    given(rLock.tryLockAsync(anyLong(), anyLong(), any(), anyLong()))
+      .willReturn(new CompletableFutureWrapper<>(false));
+
+    // when
+    CompletionException exception = assertThrows(CompletionException.class,
+      () -> lockService.lockAsync("1234567890", 1000L, 15000L, -1L).join());
+
+    // then
+    assertEquals(ErrorCode.ACCOUNT_TRANSACTION_LOCK,
+      ((AccountException) exception.getCause()).getErrorCode());
+  }
+
+  @Test
+  void unlockAsyncWithOwnerId() {
+    // given
+    given(redissonClient.getLock(anyString()))
+      .willReturn(rLock);
+    given(rLock.unlockAsync(anyLong()))
+      .willReturn(new CompletableFutureWrapper<>((Void) null));
+
+    // when
+    lockService.unlockAsync("1234567890", -1L).join();
+
+    // then
+    verify(rLock, times(1)).unlockAsync(-1L);
+  }
+
+  @Test
+  void fallbackToLocalLockWhenCircuitOpen() {
+    // given
+    given(redisCircuitBreaker.allowRequest())
+      .willReturn(false);
+    given(redisCircuitBreaker.getFallback())
+      .willReturn(RedisFallbackMode.LOCAL);
+
+    // when
+    lockService.lock("1234567890", 1000L, 15000L);
+    lockService.unlock("1234567890");
+
+    // then
+    verify(redissonClient, never()).getLock(anyString());
+  }
+
+  @Test
+  void rejectWhenCircuitOpenAndFallbackIsReject() throws Exception {
+    // given
+    given(redisCircuitBreaker.allowRequest())
+      .willReturn(false, true);
+    given(redisCircuitBreaker.getFallback())
+      .willReturn(RedisFallbackMode.REJECT);
+    given(redissonClient.getLock(anyString()))
+      .willReturn(rLock);
+    given(rLock.tryLock(anyLong(), anyLong(), any()))
+      .willReturn(true);
+
+    // when
+    AccountException exception = assertThrows(AccountException.class,
+      () -> lockService.lock("1234567890", 1000L, 15000L));
+
+    // then
+    assertEquals(ErrorCode.LOCK_SERVICE_UNAVAILABLE, exception.getErrorCode());
+    assertDoesNotThrow(() -> CompletableFuture.runAsync(
+      () -> lockService.lock("1234567890", 1000L, 15000L)).get());
+  }
+
+  @Test
+  void degradeWhenRedisFails() throws InterruptedException {
+    // given
+    given(redisCircuitBreaker.allowRequest())
+      .willReturn(true);
+    given(redisCircuitBreaker.getFallback())
+      .willReturn(RedisFallbackMode.LOCAL);
     given(redissonClient.getLock(anyString()))
       .willReturn(rLock);
     given(rLock.tryLock(anyLong(), anyLong(), any()))
+      .willThrow(new RedisTimeoutException("timeout"));
+
+    // when
+    lockService.lock("1234567890", 1000L, 15000L);
+    lockService.unlock("1234567890");
+
+    // then
+    verify(redisCircuitBreaker, times(1)).recordFailure();
+    verify(rLock, never()).unlock();
+  }
+
+  @Test
+  void rejectAsyncLockWhileDegradedHolderExists() {
+    // given
+    given(redisCircuitBreaker.allowRequest())
+      .willReturn(false, true);
+    given(redisCircuitBreaker.getFallback())
+      .willReturn(RedisFallbackMode.LOCAL);
+    lockService.lock("1234567890", 1000L, 15000L);
+
+    // when
+    CompletionException exception = assertThrows(CompletionException.class,
+      () -> lockService.lockAsync("1234567890", 1000L, 15000L, -1L).join());
+
+    // then
+    assertEquals(ErrorCode.ACCOUNT_TRANSACTION_LOCK,
+      ((AccountException) exception.getCause()).getErrorCode());
+    verify(redissonClient, never()).getLock(anyString());
+  }
+
+  @Test
+  void rejectDegradedLockWhileAsyncHolderExists() {
+    // given
+    given(redisCircuitBreaker.allowRequest())
+      .willReturn(true, false);
+    given(redisCircuitBreaker.getFallback())
+      .willReturn(RedisFallbackMode.LOCAL);
+    given(redissonClient.getLock(anyString()))
+      .willReturn(rLock);
+    given(rLock.tryLockAsync(anyLong(), anyLong(), any(), anyLong()))
+      .willReturn(new CompletableFutureWrapper<>(true));
+    lockService.lockAsync("1234567890", 1000L, 15000L, -1L).join();
+
+    // when
+    AccountException exception = assertThrows(AccountException.class,
+      () -> lockService.lock("1234567890", 1000L, 15000L));
+
+    // then
+    assertEquals(ErrorCode.ACCOUNT_TRANSACTION_LOCK, exception.getErrorCode());
+  }
+
+  @Test
+  void failGetLockAsyncWhenCircuitOpen() {
+    // given
+    given(redisCircuitBreaker.allowRequest())
       .willReturn(false);
 
+    // when
+    CompletionException exception = assertThrows(CompletionException.class,
+      () -> lockService.lockAsync("1234567890", 1000L, 15000L, -1L).join());
+
+    // then
+    assertEquals(ErrorCode.LOCK_SERVICE_UNAVAILABLE,
+      ((AccountException) exception.getCause()).getErrorCode());
+    verify(redissonClient, never()).getLock(anyString());
+  }
+
+  @Test
+  void lockAllWithRedisMultiLock() throws InterruptedException {
+    // given
+    RLock multiLock = mock(RLock.class);
+    given(redisCircuitBreaker.allowRequest())
+      .willReturn(true);
+    given(redissonClient.getLock(anyString()))
+      .willReturn(rLock);
+    given(redissonClient.getMultiLock(any(RLock[].class)))
+      .willReturn(multiLock);
+    given(multiLock.tryLock(anyLong(), anyLong(), any()))
+      .willReturn(true);
+
+    // when
+    lockService.lockAll(List.of("1000000001", "1000000002"), 1000L, 15000L);
+    lockService.unlockAll(List.of("1000000001", "1000000002"));
+
+    // then
+    verify(redissonClient, times(1)).getLock("ACLK:1000000001");
+    verify(redissonClient, times(1)).getLock("ACLK:1000000002");
+    verify(multiLock, times(1)).tryLock(anyLong(), eq(15000L), eq(TimeUnit.MILLISECONDS));
+    verify(multiLock, times(1)).unlock();
+    verify(rLock, never()).tryLock(anyLong(), anyLong(), any());
+  }
+
+  @Test
+  void releaseLocalLocksIfMultiLockFails() throws Exception {
+    // given
+    RLock multiLock = mock(RLock.class);
+    given(redisCircuitBreaker.allowRequest())
+      .willReturn(true);
+    given(redissonClient.getLock(anyString()))
+      .willReturn(rLock);
+    given(redissonClient.getMultiLock(any(RLock[].class)))
+      .willReturn(multiLock);
+    given(multiLock.tryLock(anyLong(), anyLong(), any()))
+      .willReturn(false, true);
+
     // when
     AccountException exception = assertThrows(AccountException.class,
-      () -> lockService.lock("1234567890"));
+      () -> lockService.lockAll(List.of("1000000001", "1000000002"), 1000L, 15000L));
 
     // then
     assertEquals(ErrorCode.ACCOUNT_TRANSACTION_LOCK, exception.getErrorCode());
+    CompletableFuture.runAsync(() -> assertDoesNotThrow(() ->
+      lockService.lockAll(List.of("1000000001", "1000000002"), 1000L, 15000L))).get();
   }
-}
\ No newline at end of file
+}
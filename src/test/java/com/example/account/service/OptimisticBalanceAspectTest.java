@@ -0,0 +1,111 @@
+package com.example.account.service;
+
+import com.example.account.config.BalanceProperties;
+import com.example.account.exception.AccountException;
+import com.example.account.type.BalanceMode;
+import com.example.account.type.ErrorCode;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class OptimisticBalanceAspectTest {
+  @Mock
+  private ProceedingJoinPoint proceedingJoinPoint;
+
+  private final BalanceProperties balanceProperties = new BalanceProperties();
+  private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  private OptimisticBalanceAspect optimisticBalanceAspect;
+
+  @BeforeEach
+  void setUp() {
+    balanceProperties.setMode(BalanceMode.OPTIMISTIC);
+    balanceProperties.getOptimistic().setMaxAttempts(3);
+    balanceProperties.getOptimistic().setInitialBackoff(Duration.ZERO);
+    optimisticBalanceAspect = new OptimisticBalanceAspect(balanceProperties, meterRegistry);
+  }
+
+  @Test
+  void retryOnVersionConflict() throws Throwable {
+    // given
+    given(proceedingJoinPoint.proceed())
+      .willThrow(conflict())
+      .willReturn("done");
+
+    // when
+    Object result = optimisticBalanceAspect.aroundBalanceUpdate(proceedingJoinPoint);
+
+    // then
+    assertEquals("done", result);
+    verify(proceedingJoinPoint, times(2)).proceed();
+    assertEquals(1.0, meterRegistry.get("account.balance.optimistic.conflicts")
+      .counter().count());
+    assertEquals(1.0, meterRegistry.get("account.balance.optimistic.operations")
+      .tag("outcome", "succeeded").counter().count());
+  }
+
+  @Test
+  void failAfterMaxAttempts() throws Throwable {
+    // given
+    given(proceedingJoinPoint.proceed())
+      .willThrow(conflict());
+
+    // when
+    AccountException exception = assertThrows(AccountException.class,
+      () -> optimisticBalanceAspect.aroundBalanceUpdate(proceedingJoinPoint));
+
+    // then
+    assertEquals(ErrorCode.ACCOUNT_TRANSACTION_LOCK, exception.getErrorCode());
+    verify(proceedingJoinPoint, times(3)).proceed();
+    assertEquals(1.0, meterRegistry.get("account.balance.optimistic.operations")
+      .tag("outcome", "exhausted").counter().count());
+  }
+
+  @Test
+  void doNotRetryOtherErrors() throws Throwable {
+    // given
+    given(proceedingJoinPoint.proceed())
+      .willThrow(new AccountException(ErrorCode.AMOUNT_EXCEED_BALANCE));
+
+    // when
+    AccountException exception = assertThrows(AccountException.class,
+      () -> optimisticBalanceAspect.aroundBalanceUpdate(proceedingJoinPoint));
+
+    // then
+    assertEquals(ErrorCode.AMOUNT_EXCEED_BALANCE, exception.getErrorCode());
+    verify(proceedingJoinPoint, times(1)).proceed();
+  }
+
+  @Test
+  void passThroughInOtherModes() throws Throwable {
+    // given
+    balanceProperties.setMode(BalanceMode.LOCKED);
+    given(proceedingJoinPoint.proceed())
+      .willThrow(conflict());
+
+    // when
+    assertThrows(ObjectOptimisticLockingFailureException.class,
+      () -> optimisticBalanceAspect.aroundBalanceUpdate(proceedingJoinPoint));
+
+    // then
+    verify(proceedingJoinPoint, times(1)).proceed();
+  }
+
+  private static ObjectOptimisticLockingFailureException conflict() {
+    return new ObjectOptimisticLockingFailureException("Account", 1L);
+  }
+}
@@ -0,0 +1,185 @@
+package com.example.account.service;
+
+import com.example.account.config.TransactionIdProperties;
+import com.example.account.domain.Account;
+import com.example.account.domain.AccountUser;
+import com.example.account.dto.TransactionDto;
+import com.example.account.exception.AccountException;
+import com.example.account.repository.AccountRepository;
+import com.example.account.type.AccountStatus;
+import com.example.account.type.ErrorCode;
+import com.example.account.type.TransactionType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.redisson.api.RScript;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.RedisException;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class RedisBalanceStoreTest {
+  @Mock
+  private RedissonClient redissonClient;
+
+  @Mock
+  private RScript script;
+
+  @Mock
+  private AccountRepository accountRepository;
+
+  @Mock
+  private PlatformTransactionManager transactionManager;
+
+  @Spy
+  private TransactionIdGenerator transactionIdGenerator =
+    new TransactionIdGenerator(new TransactionIdProperties());
+
+  @InjectMocks
+  private RedisBalanceStore redisBalanceStore;
+
+  @BeforeEach
+  void setUp() {
+    given(redissonClient.getScript(StringCodec.INSTANCE)).willReturn(script);
+  }
+
+  @Test
+  void useBalanceSuccess() {
+    // given
+    givenScriptReturns(List.of(0L, 7200L));
+
+    // when
+    TransactionDto transactionDto = redisBalanceStore.useBalance(12L, "1000000000", 2800L);
+
+    // then
+    assertEquals(7200L, transactionDto.getBalanceSnapshot());
+    assertEquals(2800L, transactionDto.getAmount());
+    assertEquals(TransactionType.USE, transactionDto.getTransactionType());
+    verify(accountRepository, never()).findByAccountNumber(anyString());
+  }
+
+  @Test
+  void useBalance_amountExceedBalance() {
+    // given
+    givenScriptReturns(List.of(-4L));
+
+    // when
+    AccountException exception = assertThrows(AccountException.class,
+      () -> redisBalanceStore.useBalance(12L, "1000000000", 20_000L));
+
+    // then
+    assertEquals(ErrorCode.AMOUNT_EXCEED_BALANCE, exception.getErrorCode());
+  }
+
+  @Test
+  void useBalance_userAccountUnMatch() {
+    // given
+    givenScriptReturns(List.of(-2L));
+
+    // when
+    AccountException exception = assertThrows(AccountException.class,
+      () -> redisBalanceStore.useBalance(13L, "1000000000", 1000L));
+
+    // then
+    assertEquals(ErrorCode.USER_ACCOUNT_UN_MATCH, exception.getErrorCode());
+  }
+
+  @Test
+  void loadAccountIntoRedisOnFirstUse() {
+    // given
+    AccountUser user = AccountUser.builder().name("Pobi").build();
+    user.setId(12L);
+    Account account = Account.builder()
+      .accountUser(user)
+      .accountNumber("1000000000")
+      .accountStatus(AccountStatus.IN_USE)
+      .balance(10_000L)
+      .build();
+    account.setId(1L);
+
+    given(accountRepository.findByAccountNumber("1000000000"))
+      .willReturn(Optional.of(account));
+    givenScriptReturns(List.of(-1L), List.of(0L), List.of(0L, 9000L));
+
+    // when
+    TransactionDto transactionDto = redisBalanceStore.useBalance(12L, "1000000000", 1000L);
+
+    // then
+    assertEquals(9000L, transactionDto.getBalanceSnapshot());
+    verify(transactionManager, times(1)).getTransaction(
+      argThat(TransactionDefinition::isReadOnly));
+    verify(script, times(3)).eval(eq(RScript.Mode.READ_WRITE), anyString(),
+      eq(RScript.ReturnType.MULTI), anyList(), any(Object[].class));
+  }
+
+  @Test
+  void useBalance_accountNotFound() {
+    // given
+    given(accountRepository.findByAccountNumber("1000000009"))
+      .willReturn(Optional.empty());
+    givenScriptReturns(List.of(-1L));
+
+    // when
+    AccountException exception = assertThrows(AccountException.class,
+      () -> redisBalanceStore.useBalance(12L, "1000000009", 1000L));
+
+    // then
+    assertEquals(ErrorCode.ACCOUNT_NOT_FOUND, exception.getErrorCode());
+  }
+
+  @Test
+  void validateUnregister_balanceNotEmpty() {
+    // given
+    givenScriptReturns(List.of(-5L));
+
+    // when
+    AccountException exception = assertThrows(AccountException.class,
+      () -> redisBalanceStore.validateUnregister("1000000000"));
+
+    // then
+    assertEquals(ErrorCode.BALANCE_NOT_EMPTY, exception.getErrorCode());
+  }
+
+  @Test
+  void redisFailureIsReportedAsUnavailable() {
+    // given
+    given(script.eval(eq(RScript.Mode.READ_WRITE), anyString(),
+      eq(RScript.ReturnType.MULTI), anyList(), any(Object[].class)))
+      .willThrow(new RedisException("connection lost"));
+
+    // when
+    AccountException exception = assertThrows(AccountException.class,
+      () -> redisBalanceStore.cancelBalance("1000000000", 1000L));
+
+    // then
+    assertEquals(ErrorCode.BALANCE_STORE_UNAVAILABLE, exception.getErrorCode());
+  }
+
+  @SafeVarargs
+  private void givenScriptReturns(List<Long> first, List<Long>... next) {
+    given(script.<List<Long>>eval(eq(RScript.Mode.READ_WRITE), anyString(),
+      eq(RScript.ReturnType.MULTI), anyList(), any(Object[].class)))
+      .willReturn(first, next);
+  }
+}
@@ -0,0 +1,102 @@
+package com.example.account.service;
+
+import com.example.account.config.AccountLockProperties;
+import com.example.account.type.CircuitState;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.redisson.api.Node;
+import org.redisson.api.NodesGroup;
+import org.redisson.api.RedissonClient;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+class RedisCircuitBreakerTest {
+  @Mock
+  private RedissonClient redissonClient;
+
+  @Mock
+  private NodesGroup<Node> nodesGroup;
+
+  private final AccountLockProperties properties = new AccountLockProperties();
+
+  private RedisCircuitBreaker redisCircuitBreaker;
+
+  @BeforeEach
+  void setUp() {
+    properties.getRedis().setFailureThreshold(3);
+    properties.getRedis().setOpenDuration(Duration.ZERO);
+    redisCircuitBreaker = new RedisCircuitBreaker(
+      redissonClient, properties, new SimpleMeterRegistry());
+  }
+
+  @Test
+  void openAfterConsecutiveFailures() {
+    // given
+    properties.getRedis().setOpenDuration(Duration.ofMinutes(1));
+
+    // when
+    redisCircuitBreaker.recordFailure();
+    redisCircuitBreaker.recordFailure();
+    redisCircuitBreaker.recordSuccess();
+    redisCircuitBreaker.recordFailure();
+    redisCircuitBreaker.recordFailure();
+    boolean allowedBeforeThreshold = redisCircuitBreaker.allowRequest();
+    redisCircuitBreaker.recordFailure();
+
+    // then
+    assertTrue(allowedBeforeThreshold);
+    assertFalse(redisCircuitBreaker.allowRequest());
+    assertEquals(CircuitState.OPEN, redisCircuitBreaker.getState());
+  }
+
+  @Test
+  void closeWhenProbeSucceeds() {
+    // given
+    given(redissonClient.getNodesGroup())
+      .willReturn(nodesGroup);
+    given(nodesGroup.pingAll(anyLong(), any()))
+      .willReturn(true);
+    openCircuit();
+
+    // when
+    boolean allowed = redisCircuitBreaker.allowRequest();
+
+    // then
+    assertTrue(allowed);
+    assertEquals(CircuitState.CLOSED, redisCircuitBreaker.getState());
+    assertEquals(0, redisCircuitBreaker.getConsecutiveFailures());
+  }
+
+  @Test
+  void stayOpenWhenProbeFails() {
+    // given
+    given(redissonClient.getNodesGroup())
+      .willReturn(nodesGroup);
+    given(nodesGroup.pingAll(anyLong(), any()))
+      .willReturn(false);
+    openCircuit();
+
+    // when
+    boolean allowed = redisCircuitBreaker.allowRequest();
+
+    // then
+    assertFalse(allowed);
+    assertEquals(CircuitState.OPEN, redisCircuitBreaker.getState());
+  }
+
+  private void openCircuit() {
+    for (int i = 0; i < properties.getRedis().getFailureThreshold(); i++) {
+      redisCircuitBreaker.recordFailure();
+    }
+  }
+}
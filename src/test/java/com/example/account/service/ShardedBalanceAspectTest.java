@@ -0,0 +1,53 @@
+package com.example.account.service;
+
+import com.example.account.config.BalanceProperties;
+import com.example.account.exception.AccountException;
+import com.example.account.type.ErrorCode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+class ShardedBalanceAspectTest {
+  @Mock
+  private ProceedingJoinPoint proceedingJoinPoint;
+
+  private ShardedBalanceExecutor shardedBalanceExecutor;
+
+  private ShardedBalanceAspect shardedBalanceAspect;
+
+  @BeforeEach
+  void setUp() {
+    shardedBalanceExecutor =
+      new ShardedBalanceExecutor(new BalanceProperties(), new SimpleMeterRegistry());
+    shardedBalanceAspect = new ShardedBalanceAspect(shardedBalanceExecutor);
+  }
+
+  @AfterEach
+  void tearDown() {
+    shardedBalanceExecutor.shutdown();
+  }
+
+  @Test
+  void mapVersionConflictToAccountException() throws Throwable {
+    // given
+    given(proceedingJoinPoint.proceed())
+      .willThrow(new ObjectOptimisticLockingFailureException("Account", 1L));
+
+    // when
+    AccountException exception = assertThrows(AccountException.class,
+      () -> shardedBalanceAspect.aroundBalanceUpdate(proceedingJoinPoint, "1234567890"));
+
+    // then
+    assertEquals(ErrorCode.ACCOUNT_TRANSACTION_LOCK, exception.getErrorCode());
+  }
+}
@@ -0,0 +1,115 @@
+package com.example.account.service;
+
+import com.example.account.config.BalanceProperties;
+import com.example.account.exception.AccountException;
+import com.example.account.type.ErrorCode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShardedBalanceExecutorTest {
+  private final BalanceProperties balanceProperties = new BalanceProperties();
+
+  private ShardedBalanceExecutor shardedBalanceExecutor;
+
+  @BeforeEach
+  void setUp() {
+    balanceProperties.getSharded().setShards(4);
+    balanceProperties.getSharded().setQueueDepth(1);
+    shardedBalanceExecutor =
+      new ShardedBalanceExecutor(balanceProperties, new SimpleMeterRegistry());
+  }
+
+  @AfterEach
+  void tearDown() {
+    shardedBalanceExecutor.shutdown();
+  }
+
+  @Test
+  void runSameAccountOnSameShard() throws Exception {
+    // given
+    // when
+    Object first = shardedBalanceExecutor.execute("1234567890",
+      () -> Thread.currentThread().getName());
+    Object second = shardedBalanceExecutor.execute("1234567890",
+      () -> Thread.currentThread().getName());
+
+    // then
+    assertEquals(first, second);
+    assertTrue(((String) first).startsWith("balance-shard-"));
+  }
+
+  @Test
+  void rethrowMutationFailure() {
+    // given
+    // when
+    AccountException exception = assertThrows(AccountException.class,
+      () -> shardedBalanceExecutor.execute("1234567890", () -> {
+        throw new AccountException(ErrorCode.AMOUNT_EXCEED_BALANCE);
+      }));
+
+    // then
+    assertEquals(ErrorCode.AMOUNT_EXCEED_BALANCE, exception.getErrorCode());
+  }
+
+  @Test
+  void runNestedMutationInline() throws Exception {
+    // given
+    // when
+    Object result = shardedBalanceExecutor.execute("1234567890",
+      () -> shardedBalanceExecutor.execute("1234567890", () -> "nested"));
+
+    // then
+    assertEquals("nested", result);
+  }
+
+  @Test
+  void rejectWhenShardQueueFull() throws Exception {
+    // given
+    balanceProperties.getSharded().setShards(1);
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    ShardedBalanceExecutor singleShardExecutor =
+      new ShardedBalanceExecutor(balanceProperties, meterRegistry);
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+
+    CompletableFuture<Object> running = CompletableFuture.supplyAsync(
+      () -> execute(singleShardExecutor, () -> {
+        started.countDown();
+        release.await();
+        return "running";
+      }));
+    started.await();
+    CompletableFuture<Object> queued = CompletableFuture.supplyAsync(
+      () -> execute(singleShardExecutor, () -> "queued"));
+    while (meterRegistry.get("account.balance.shard.queue").gauge().value() < 1) {
+      Thread.onSpinWait();
+    }
+
+    // when
+    AccountException exception = assertThrows(AccountException.class,
+      () -> singleShardExecutor.execute("1234567890", () -> "rejected"));
+    release.countDown();
+
+    // then
+    assertEquals(ErrorCode.ACCOUNT_QUEUE_FULL, exception.getErrorCode());
+    assertEquals("running", running.get());
+    assertEquals("queued", queued.get());
+    singleShardExecutor.shutdown();
+  }
+
+  private static Object execute(ShardedBalanceExecutor executor, Callable<Object> mutation) {
+    try {
+      return executor.execute("1234567890", mutation);
+    } catch (Exception e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
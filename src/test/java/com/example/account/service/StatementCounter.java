@@ -0,0 +1,26 @@
+package com.example.account.service;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class StatementCounter implements StatementInspector {
+  private static final AtomicInteger SELECTS = new AtomicInteger();
+
+  @Override
+  public String inspect(String sql) {
+    String statement = sql.trim().toLowerCase();
+    if (statement.startsWith("select") && !statement.contains("next value for")) {
+      SELECTS.incrementAndGet();
+    }
+    return sql;
+  }
+
+  static void reset() {
+    SELECTS.set(0);
+  }
+
+  static int selects() {
+    return SELECTS.get();
+  }
+}
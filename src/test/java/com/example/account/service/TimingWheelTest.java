@@ -0,0 +1,96 @@
+package com.example.account.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimingWheelTest {
+  private final TimingWheel<String> wheel = new TimingWheel<>(2, 3);
+  private final List<String> expired = new ArrayList<>();
+
+  @Test
+  void expireOnDeadlineTick() {
+    // given
+    wheel.add(new TimingWheel.Timeout<>("a", 3));
+
+    // when
+    wheel.advance(2, expired::add);
+    List<String> beforeDeadline = List.copyOf(expired);
+    wheel.advance(3, expired::add);
+
+    // then
+    assertTrue(beforeDeadline.isEmpty());
+    assertEquals(List.of("a"), expired);
+    assertEquals(0, wheel.size());
+  }
+
+  @Test
+  void cascadeFromHigherLevels() {
+    // given
+    wheel.add(new TimingWheel.Timeout<>("level0", 3));
+    wheel.add(new TimingWheel.Timeout<>("level1", 9));
+    wheel.add(new TimingWheel.Timeout<>("level2", 37));
+
+    List<Long> expiredTicks = new ArrayList<>();
+
+    // when
+    for (long tick = 0; tick <= 40; tick++) {
+      long current = tick;
+      wheel.advance(tick, task -> {
+        expired.add(task);
+        expiredTicks.add(current);
+      });
+    }
+
+    // then
+    assertEquals(List.of("level0", "level1", "level2"), expired);
+    assertEquals(List.of(3L, 9L, 37L), expiredTicks);
+  }
+
+  @Test
+  void holdDeadlineBeyondWheelSpan() {
+    // given
+    wheel.add(new TimingWheel.Timeout<>("far", 150));
+
+    // when
+    wheel.advance(149, expired::add);
+    List<String> beforeDeadline = List.copyOf(expired);
+    wheel.advance(150, expired::add);
+
+    // then
+    assertTrue(beforeDeadline.isEmpty());
+    assertEquals(List.of("far"), expired);
+  }
+
+  @Test
+  void expireOverdueOnNextTick() {
+    // given
+    wheel.advance(20, expired::add);
+
+    // when
+    wheel.add(new TimingWheel.Timeout<>("late", 5));
+    wheel.advance(21, expired::add);
+
+    // then
+    assertEquals(List.of("late"), expired);
+  }
+
+  @Test
+  void skipCancelledTimeouts() {
+    // given
+    TimingWheel.Timeout<String> cancelled = new TimingWheel.Timeout<>("cancelled", 10);
+    wheel.add(cancelled);
+    wheel.add(new TimingWheel.Timeout<>("kept", 10));
+
+    // when
+    cancelled.cancel();
+    wheel.advance(10, expired::add);
+
+    // then
+    assertEquals(List.of("kept"), expired);
+    assertEquals(0, wheel.size());
+  }
+}
@@ -0,0 +1,187 @@
+package com.example.account.service;
+
+import com.example.account.aop.RequestDeadline;
+import com.example.account.config.AccountLockProperties;
+import com.example.account.config.BalanceProperties;
+import com.example.account.dto.TransactionDto;
+import com.example.account.dto.UseBalance;
+import com.example.account.exception.AccountException;
+import com.example.account.type.BalanceMode;
+import com.example.account.type.ErrorCode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static com.example.account.type.TransactionResultType.F;
+import static com.example.account.type.TransactionResultType.S;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionBatchServiceTest {
+  @Mock
+  private TransactionService transactionService;
+
+  @Mock
+  private AccountLockProvider accountLockProvider;
+
+  @Mock
+  private LockMetrics lockMetrics;
+
+  @Mock
+  private AccountTicketQueue accountTicketQueue;
+
+  @Mock
+  private TransactionPreValidator transactionPreValidator;
+
+  @Spy
+  private AccountLockProperties accountLockProperties = new AccountLockProperties();
+
+  @Spy
+  private BalanceProperties balanceProperties = new BalanceProperties();
+
+  private TransactionBatchService transactionBatchService;
+
+  @BeforeEach
+  void setUp() {
+    LockAopAspect lockAopAspect = new LockAopAspect(accountLockProvider, lockMetrics,
+      Runnable::run, accountTicketQueue, transactionPreValidator, balanceProperties);
+    transactionBatchService = new TransactionBatchService(transactionService, lockAopAspect,
+      accountLockProperties, balanceProperties);
+  }
+
+  @AfterEach
+  void tearDown() {
+    RequestDeadline.clear();
+  }
+
+  @Test
+  void lockEachAccountOnceAndKeepRequestOrder() {
+    // given
+    UseBalance.Request first = new UseBalance.Request(1L, "1000000000", 100L);
+    UseBalance.Request second = new UseBalance.Request(2L, "1000000001", 200L);
+    UseBalance.Request third = new UseBalance.Request(1L, "1000000000", 300L);
+
+    given(transactionService.useBalanceBatch("1000000000", List.of(first, third)))
+      .willReturn(List.of(success("1000000000", 100L), success("1000000000", 300L)));
+    given(transactionService.useBalanceBatch("1000000001", List.of(second)))
+      .willReturn(List.of(success("1000000001", 200L)));
+
+    // when
+    List<TransactionDto> results =
+      transactionBatchService.useBalanceBatch(List.of(first, second, third));
+
+    // then
+    verify(accountLockProvider, times(1)).lock("1000000000", 5_000L, 15_000L);
+    verify(accountLockProvider, times(1)).lock("1000000001", 5_000L, 15_000L);
+    verify(accountLockProvider, times(1)).unlock("1000000000");
+    verify(accountLockProvider, times(1)).unlock("1000000001");
+    assertEquals(100L, results.get(0).getAmount());
+    assertEquals(200L, results.get(1).getAmount());
+    assertEquals(300L, results.get(2).getAmount());
+  }
+
+  @Test
+  void failAccountItemsWhenLockFails() {
+    // given
+    UseBalance.Request request = new UseBalance.Request(1L, "1000000000", 100L);
+    willThrow(new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK))
+      .given(accountLockProvider).lock("1000000000", 5_000L, 15_000L);
+
+    // when
+    List<TransactionDto> results =
+      transactionBatchService.useBalanceBatch(List.of(request, request));
+
+    // then
+    assertEquals(2, results.size());
+    assertEquals(F, results.get(1).getTransactionResultType());
+    assertEquals(ErrorCode.ACCOUNT_TRANSACTION_LOCK, results.get(1).getErrorCode());
+    verify(transactionService, never()).useBalanceBatch(anyString(), anyList());
+    verify(accountLockProvider, never()).unlock(anyString());
+    verify(lockMetrics, times(1)).recordFailed(eq("1000000000"), anyLong(),
+      eq(ErrorCode.ACCOUNT_TRANSACTION_LOCK));
+  }
+
+  @Test
+  void capLockWaitByRequestDeadlineAndRecordMetrics() {
+    // given
+    RequestDeadline.start(1_000L);
+    UseBalance.Request request = new UseBalance.Request(1L, "1000000000", 100L);
+    given(transactionService.useBalanceBatch("1000000000", List.of(request)))
+      .willReturn(List.of(success("1000000000", 100L)));
+
+    // when
+    transactionBatchService.useBalanceBatch(List.of(request));
+
+    // then
+    ArgumentCaptor<Long> waitTime = ArgumentCaptor.forClass(Long.class);
+    verify(accountLockProvider).lock(eq("1000000000"), waitTime.capture(), eq(15_000L));
+    assertTrue(waitTime.getValue() <= 1_000L);
+    verify(lockMetrics, times(1)).recordAcquired(eq("1000000000"), anyLong());
+    verify(lockMetrics, times(1)).recordReleased(anyLong());
+    verify(accountLockProvider, times(1)).unlock("1000000000");
+  }
+
+  @Test
+  void failAccountItemsWhenRequestDeadlineExceeded() {
+    // given
+    RequestDeadline.start(0L);
+    UseBalance.Request request = new UseBalance.Request(1L, "1000000000", 100L);
+
+    // when
+    List<TransactionDto> results = transactionBatchService.useBalanceBatch(List.of(request));
+
+    // then
+    assertEquals(ErrorCode.REQUEST_DEADLINE_EXCEEDED, results.get(0).getErrorCode());
+    verify(accountLockProvider, never()).lock(anyString(), anyLong(), anyLong());
+    verify(lockMetrics, times(1)).recordFailed(eq("1000000000"), anyLong(),
+      eq(ErrorCode.REQUEST_DEADLINE_EXCEEDED));
+  }
+
+  @Test
+  void useEachItemWithoutLockInAtomicMode() {
+    // given
+    balanceProperties.setMode(BalanceMode.ATOMIC);
+    UseBalance.Request first = new UseBalance.Request(1L, "1000000000", 100L);
+    UseBalance.Request second = new UseBalance.Request(1L, "1000000000", 900L);
+
+    given(transactionService.useBalance(1L, "1000000000", 100L))
+      .willReturn(success("1000000000", 100L));
+    given(transactionService.useBalance(1L, "1000000000", 900L))
+      .willThrow(new AccountException(ErrorCode.AMOUNT_EXCEED_BALANCE));
+
+    // when
+    List<TransactionDto> results =
+      transactionBatchService.useBalanceBatch(List.of(first, second));
+
+    // then
+    verify(accountLockProvider, never()).lock(anyString(), anyLong(), anyLong());
+    verify(transactionService, times(1)).saveFailedTransaction("1000000000", 900L);
+    assertEquals(S, results.get(0).getTransactionResultType());
+    assertEquals(ErrorCode.AMOUNT_EXCEED_BALANCE, results.get(1).getErrorCode());
+  }
+
+  private static TransactionDto success(String accountNumber, Long amount) {
+    return TransactionDto.builder()
+      .accountNumber(accountNumber)
+      .transactionResultType(S)
+      .amount(amount)
+      .build();
+  }
+}
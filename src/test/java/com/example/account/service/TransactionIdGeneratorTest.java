@@ -0,0 +1,97 @@
+package com.example.account.service;
+
+import com.example.account.config.TransactionIdProperties;
+import com.example.account.domain.TransactionIdCodec;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransactionIdGeneratorTest {
+
+  @Test
+  void generateMonotonicIds() {
+    // given
+    TransactionIdGenerator generator = generator(7);
+
+    // when
+    long previous = generator.nextId();
+    String previousEncoded = TransactionIdCodec.encode(previous);
+    for (int i = 0; i < 100_000; i++) {
+      long next = generator.nextId();
+      String encoded = TransactionIdCodec.encode(next);
+
+      // then
+      assertTrue(next > previous);
+      assertTrue(encoded.compareTo(previousEncoded) > 0);
+      assertEquals(7, TransactionIdGenerator.nodeOf(next));
+      previous = next;
+      previousEncoded = encoded;
+    }
+  }
+
+  @Test
+  void generateUniqueIdsConcurrently() {
+    // given
+    TransactionIdGenerator generator = generator(0);
+    List<CompletableFuture<long[]>> futures = new ArrayList<>();
+
+    // when
+    for (int thread = 0; thread < 8; thread++) {
+      futures.add(CompletableFuture.supplyAsync(() -> {
+        long[] ids = new long[20_000];
+        for (int i = 0; i < ids.length; i++) {
+          ids[i] = generator.nextId();
+        }
+        return ids;
+      }));
+    }
+
+    // then
+    Set<Long> ids = new HashSet<>();
+    for (CompletableFuture<long[]> future : futures) {
+      long[] generated = future.join();
+      for (int i = 0; i < generated.length; i++) {
+        assertTrue(ids.add(generated[i]));
+        if (i > 0) {
+          assertTrue(generated[i] > generated[i - 1]);
+        }
+      }
+    }
+    assertEquals(160_000, ids.size());
+  }
+
+  @Test
+  void embedCurrentTime() {
+    // given
+    TransactionIdGenerator generator = generator(0);
+    long before = System.currentTimeMillis();
+
+    // when
+    long id = generator.nextId();
+
+    // then
+    assertTrue(TransactionIdGenerator.timestampOf(id) >= before);
+    assertTrue(TransactionIdGenerator.timestampOf(id) <= System.currentTimeMillis() + 1);
+  }
+
+  @Test
+  void rejectNodeIdOutOfRange() {
+    // given
+    // when
+    // then
+    assertThrows(IllegalArgumentException.class, () -> generator(-1));
+    assertThrows(IllegalArgumentException.class, () -> generator(1024));
+  }
+
+  private static TransactionIdGenerator generator(int nodeId) {
+    TransactionIdProperties transactionIdProperties = new TransactionIdProperties();
+    transactionIdProperties.setNodeId(nodeId);
+    return new TransactionIdGenerator(transactionIdProperties);
+  }
+}
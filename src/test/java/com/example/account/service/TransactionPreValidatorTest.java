@@ -0,0 +1,86 @@
+package com.example.account.service;
+
+import com.example.account.aop.AccountLockIdInterface;
+import com.example.account.dto.CancelBalance;
+import com.example.account.dto.UseBalance;
+import com.example.account.exception.AccountException;
+import com.example.account.type.ErrorCode;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionPreValidatorTest {
+  @Mock
+  private TransactionService transactionService;
+
+  @InjectMocks
+  private TransactionPreValidator transactionPreValidator;
+
+  @Test
+  void passUseBalanceRequest() {
+    // given
+    UseBalance.Request request =
+      new UseBalance.Request(1L, "1234567890", 1000L);
+
+    // when
+    transactionPreValidator.validate(request);
+
+    // then
+    verify(transactionService, times(1)).validateUseBalanceRequest(1L, "1234567890");
+    verify(transactionService, never()).saveFailedTransaction(anyString(), anyLong());
+  }
+
+  @Test
+  void saveFailedTransactionIfUseBalanceRequestInvalid() {
+    // given
+    UseBalance.Request request =
+      new UseBalance.Request(1L, "1234567890", 1000L);
+    willThrow(new AccountException(ErrorCode.USER_NOT_FOUND))
+      .given(transactionService).validateUseBalanceRequest(anyLong(), anyString());
+
+    // when
+    AccountException exception = assertThrows(AccountException.class,
+      () -> transactionPreValidator.validate(request));
+
+    // then
+    assertEquals(ErrorCode.USER_NOT_FOUND, exception.getErrorCode());
+    verify(transactionService, times(1)).saveFailedTransaction("1234567890", 1000L);
+  }
+
+  @Test
+  void saveFailedCancelTransactionIfCancelBalanceRequestInvalid() {
+    // given
+    CancelBalance.Request request =
+      new CancelBalance.Request("transactionId", "1234567890", 1000L);
+    willThrow(new AccountException(ErrorCode.CANCEL_MUST_FULLY))
+      .given(transactionService)
+      .validateCancelBalanceRequest(anyString(), anyString(), anyLong());
+
+    // when
+    AccountException exception = assertThrows(AccountException.class,
+      () -> transactionPreValidator.validate(request));
+
+    // then
+    assertEquals(ErrorCode.CANCEL_MUST_FULLY, exception.getErrorCode());
+    verify(transactionService, times(1)).saveFailedCancelTransaction("1234567890", 1000L);
+  }
+
+  @Test
+  void ignoreUnknownRequest() {
+    // given
+    AccountLockIdInterface request = () -> "1234567890";
+
+    // when
+    transactionPreValidator.validate(request);
+
+    // then
+    verifyNoInteractions(transactionService);
+  }
+}
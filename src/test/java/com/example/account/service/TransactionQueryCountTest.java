@@ -0,0 +1,140 @@
+package com.example.account.service;
+
+import com.example.account.domain.Account;
+import com.example.account.domain.AccountUser;
+import com.example.account.domain.Transaction;
+import com.example.account.dto.AccountInfo;
+import com.example.account.dto.TransactionDto;
+import com.example.account.repository.AccountRepository;
+import com.example.account.repository.AccountUserRepository;
+import com.example.account.repository.TransactionRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static com.example.account.type.AccountStatus.IN_USE;
+import static com.example.account.type.TransactionResultType.S;
+import static com.example.account.type.TransactionType.USE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest(properties = {
+  "spring.jpa.properties.hibernate.session_factory.statement_inspector"
+    + "=com.example.account.service.StatementCounter",
+  "account.lock.provider=local"})
+@Import({TransactionService.class, AccountService.class, AccountNumberAllocator.class,
+  TransactionIdGenerator.class, LocalAccountLockProvider.class})
+class TransactionQueryCountTest {
+  @Autowired
+  private TransactionService transactionService;
+
+  @Autowired
+  private AccountService accountService;
+
+  @Autowired
+  private AccountUserRepository accountUserRepository;
+
+  @Autowired
+  private AccountRepository accountRepository;
+
+  @Autowired
+  private TransactionRepository transactionRepository;
+
+  @Autowired
+  private EntityManager entityManager;
+
+  @Autowired
+  private TransactionIdGenerator transactionIdGenerator;
+
+  private AccountUser user;
+
+  private String transactionId;
+
+  @BeforeEach
+  void setUp() {
+    user = accountUserRepository.findById(1L).orElseThrow();
+    Account account = accountRepository.save(Account.builder()
+      .accountUser(user)
+      .accountStatus(IN_USE)
+      .accountNumber("1000000000")
+      .balance(10000L)
+      .registeredAt(LocalDateTime.now())
+      .build());
+    transactionId = transactionIdGenerator.next();
+    transactionRepository.save(Transaction.builder()
+      .transactionType(USE)
+      .transactionResultType(S)
+      .account(account)
+      .amount(1000L)
+      .balanceSnapshot(10000L)
+      .transactionId(transactionId)
+      .transactedAt(LocalDateTime.now())
+      .build());
+
+    entityManager.flush();
+    entityManager.clear();
+    StatementCounter.reset();
+  }
+
+  @Test
+  void queryTransactionInOneSelect() {
+    // given
+    // when
+    TransactionDto transactionDto = transactionService.queryTransaction(transactionId);
+
+    // then
+    assertEquals("1000000000", transactionDto.getAccountNumber());
+    assertEquals(transactionId, transactionDto.getTransactionId());
+    assertEquals(1, StatementCounter.selects());
+  }
+
+  @Test
+  void useBalanceInOneSelectPerPhase() {
+    // given
+    // when
+    transactionService.validateUseBalanceRequest(user.getId(), "1000000000");
+    int validateSelects = StatementCounter.selects();
+    entityManager.clear();
+    StatementCounter.reset();
+
+    TransactionDto transactionDto =
+      transactionService.useBalance(user.getId(), "1000000000", 1000L);
+    entityManager.flush();
+
+    // then
+    assertEquals(1, validateSelects);
+    assertEquals(9000L, transactionDto.getBalanceSnapshot());
+    assertEquals(1, StatementCounter.selects());
+  }
+
+  @Test
+  void cancelBalanceInOneSelect() {
+    // given
+    // when
+    TransactionDto transactionDto =
+      transactionService.cancelBalance(transactionId, "1000000000", 1000L);
+    entityManager.flush();
+
+    // then
+    assertEquals(11000L, transactionDto.getBalanceSnapshot());
+    assertEquals(1, StatementCounter.selects());
+  }
+
+  @Test
+  void getAccountsByUserIdInOneSelect() {
+    // given
+    // when
+    List<AccountInfo> accounts = accountService.getAccountsByUserId(user.getId());
+
+    // then
+    assertEquals(1, accounts.size());
+    assertEquals("1000000000", accounts.get(0).getAccountNumber());
+    assertEquals(10000L, accounts.get(0).getBalance());
+    assertEquals(1, StatementCounter.selects());
+  }
+}
@@ -1,14 +1,18 @@
 package com.example.account.service;
 
+import com.example.account.config.BalanceProperties;
+import com.example.account.config.TransactionIdProperties;
 import com.example.account.domain.Account;
 import com.example.account.domain.AccountUser;
 import com.example.account.domain.Transaction;
 import com.example.account.dto.TransactionDto;
+import com.example.account.dto.UseBalance;
 import com.example.account.exception.AccountException;
 import com.example.account.repository.AccountRepository;
 import com.example.account.repository.AccountUserRepository;
 import com.example.account.repository.TransactionRepository;
 import com.example.account.type.AccountStatus;
+import com.example.account.type.BalanceMode;
 import com.example.account.type.ErrorCode;
 import com.example.account.type.TransactionResultType;
 import com.example.account.type.TransactionType;
@@ -18,9 +22,13 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 import static com.example.account.type.AccountStatus.IN_USE;
@@ -31,6 +39,7 @@ import static com.example.account.type.TransactionType.USE;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -42,6 +51,16 @@ class TransactionServiceTest {
   private AccountUserRepository accountUserRepository;
   @Mock
   private AccountRepository accountRepository;
+  @Spy
+  private BalanceProperties balanceProperties = new BalanceProperties();
+  @Spy
+  private TransactionIdGenerator transactionIdGenerator =
+    new TransactionIdGenerator(new TransactionIdProperties());
+  @Spy
+  private AccountLockProvider accountLockProvider = new LocalAccountLockProvider();
+  @Spy
+  private TransactionTemplate transactionTemplate =
+    new TransactionTemplate(mock(PlatformTransactionManager.class));
 
   @InjectMocks
   private TransactionService transactionService;
@@ -59,9 +78,6 @@ class TransactionServiceTest {
       .accountNumber("1000000000")
       .build();
 
-    given(accountUserRepository.findById(anyLong()))
-      .willReturn(Optional.of(user));
-
     given(accountRepository.findByAccountNumber(anyString()))
       .willReturn(Optional.of(account));
 
@@ -80,7 +96,7 @@ class TransactionServiceTest {
 
     // when
     TransactionDto transactionDto = transactionService
-      .useBalance(1L, "1234567890", 2800L);
+      .useBalance(12L, "1234567890", 2800L);
 
     // then
     verify(transactionRepository, times(1)).save(captor.capture());
@@ -100,7 +116,7 @@ class TransactionServiceTest {
 
     // when
     AccountException exception = assertThrows(AccountException.class,
-      () -> transactionService.useBalance(1L, "1234567890", 200L));
+      () -> transactionService.validateUseBalanceRequest(1L, "1234567890"));
 
     // then
     assertEquals(ErrorCode.USER_NOT_FOUND, exception.getErrorCode());
@@ -113,9 +129,6 @@ class TransactionServiceTest {
     AccountUser user = AccountUser.builder().name("Pobi").build();
     user.setId(12L);
 
-    given(accountUserRepository.findById(anyLong()))
-      .willReturn(Optional.of(user));
-
     given(accountRepository.findByAccountNumber(anyString()))
       .willReturn(Optional.empty());
 
@@ -131,14 +144,9 @@ class TransactionServiceTest {
   @DisplayName("계좌 소유주가 다름 - 잔액 사용 실패")
   void useBalance_userAccountUnMatch() {
     // given
-    AccountUser user = AccountUser.builder().name("Pobi").build();
-    user.setId(12L);
     AccountUser user2 = AccountUser.builder().name("Rupi").build();
     user2.setId(13L);
 
-    given(accountUserRepository.findById(anyLong()))
-      .willReturn(Optional.of(user));
-
     given(accountRepository.findByAccountNumber(anyString()))
       .willReturn(Optional.of(
         Account.builder()
@@ -164,9 +172,6 @@ class TransactionServiceTest {
     AccountUser user = AccountUser.builder().name("Pobi").build();
     user.setId(12L);
 
-    given(accountUserRepository.findById(anyLong()))
-      .willReturn(Optional.of(user));
-
     given(accountRepository.findByAccountNumber(anyString()))
       .willReturn(Optional.of(
         Account.builder()
@@ -181,7 +186,7 @@ class TransactionServiceTest {
 
     // when
     AccountException exception = assertThrows(AccountException.class,
-      () -> transactionService.useBalance(1L, "1234567890", 200L));
+      () -> transactionService.useBalance(12L, "1234567890", 200L));
 
     // then
     assertEquals(ErrorCode.ACCOUNT_ALREADY_UNREGISTERED, exception.getErrorCode());
@@ -200,19 +205,381 @@ class TransactionServiceTest {
       .balance(1000L)
       .build();
 
+    given(accountRepository.findByAccountNumber(anyString()))
+      .willReturn(Optional.of(account));
+
+    // when
+    AccountException exception = assertThrows(AccountException.class,
+      () -> transactionService.useBalance(12L, "1234567890", 2000L));
+
+
+    // then
+    assertEquals(ErrorCode.AMOUNT_EXCEED_BALANCE, exception.getErrorCode());
+  }
+
+  @Test
+  @DisplayName("승인 보류 금액을 제외한 잔액보다 큰 경우")
+  void useBalance_amountExceedAvailableBalance() {
+    // given
+    AccountUser user = AccountUser.builder().name("pobi").build();
+    user.setId(12L);
+
+    Account account = Account.builder()
+      .accountUser(user)
+      .accountStatus(IN_USE)
+      .accountNumber("1234567890")
+      .balance(10000L)
+      .heldBalance(9000L)
+      .build();
+
+    given(accountRepository.findByAccountNumber(anyString()))
+      .willReturn(Optional.of(account));
+
+    // when
+    AccountException exception = assertThrows(AccountException.class,
+      () -> transactionService.useBalance(12L, "1234567890", 2000L));
+
+    // then
+    assertEquals(ErrorCode.AMOUNT_EXCEED_BALANCE, exception.getErrorCode());
+    assertEquals(10000L, account.getBalance());
+  }
+
+  @Test
+  @DisplayName("계좌 소유주가 다름 - 잠금 전 검증 실패")
+  void validateUseBalanceRequest_userAccountUnMatch() {
+    // given
+    AccountUser user = AccountUser.builder().name("Pobi").build();
+    user.setId(12L);
+    AccountUser user2 = AccountUser.builder().name("Rupi").build();
+    user2.setId(13L);
+
     given(accountUserRepository.findById(anyLong()))
       .willReturn(Optional.of(user));
 
+    given(accountRepository.findByAccountNumber(anyString()))
+      .willReturn(Optional.of(
+        Account.builder()
+          .accountUser(user2)
+          .accountStatus(IN_USE)
+          .accountNumber("1000000012")
+          .balance(0L)
+          .build())
+      );
+
+    // when
+    AccountException exception = assertThrows(AccountException.class,
+      () -> transactionService.validateUseBalanceRequest(1L, "1234567890"));
+
+    // then
+    assertEquals(ErrorCode.USER_ACCOUNT_UN_MATCH, exception.getErrorCode());
+  }
+
+  @Test
+  @DisplayName("잔액 부족은 잠금 전 검증하지 않음")
+  void validateUseBalanceRequest_skipBalanceCheck() {
+    // given
+    AccountUser user = AccountUser.builder().name("Pobi").build();
+    user.setId(12L);
+
+    given(accountRepository.findByAccountNumber(anyString()))
+      .willReturn(Optional.of(
+        Account.builder()
+          .accountUser(user)
+          .accountStatus(IN_USE)
+          .accountNumber("1000000012")
+          .balance(0L)
+          .build())
+      );
+
+    // when
+    // then
+    assertDoesNotThrow(
+      () -> transactionService.validateUseBalanceRequest(12L, "1000000012"));
+    verify(accountUserRepository, times(0)).findById(anyLong());
+  }
+
+  @Test
+  @DisplayName("조건부 UPDATE 잔액 사용 성공")
+  void useBalanceAtomicSuccess() {
+    // given
+    balanceProperties.setMode(BalanceMode.ATOMIC);
+    AccountUser user = AccountUser.builder().name("pobi").build();
+    user.setId(12L);
+
+    Account account = Account.builder()
+      .accountUser(user)
+      .accountStatus(IN_USE)
+      .balance(7200L)
+      .accountNumber("1234567890")
+      .build();
+
+    given(accountRepository.debitBalance(
+      eq(12L), eq("1234567890"), eq(2800L), eq(IN_USE), any()))
+      .willReturn(1);
+
     given(accountRepository.findByAccountNumber(anyString()))
       .willReturn(Optional.of(account));
 
+    given(transactionRepository.save(any()))
+      .willReturn(Transaction.builder()
+        .account(account)
+        .transactionType(USE)
+        .transactionResultType(S)
+        .transactionId("tsId")
+        .transactedAt(LocalDateTime.now())
+        .amount(2800L)
+        .balanceSnapshot(7200L)
+        .build());
+
+    ArgumentCaptor<Transaction> captor = ArgumentCaptor.forClass(Transaction.class);
+
+    // when
+    transactionService.useBalance(12L, "1234567890", 2800L);
+
+    // then
+    verify(transactionRepository, times(1)).save(captor.capture());
+    assertEquals(2800L, captor.getValue().getAmount());
+    assertEquals(7200L, captor.getValue().getBalanceSnapshot());
+    assertEquals(7200L, account.getBalance());
+  }
+
+  @Test
+  @DisplayName("조건부 UPDATE 잔액 부족 - 잔액 사용 실패")
+  void useBalanceAtomic_amountExceedBalance() {
+    // given
+    balanceProperties.setMode(BalanceMode.ATOMIC);
+    AccountUser user = AccountUser.builder().name("pobi").build();
+    user.setId(12L);
+
+    given(accountRepository.debitBalance(anyLong(), anyString(), anyLong(), any(), any()))
+      .willReturn(0);
+
+    given(accountRepository.findByAccountNumber(anyString()))
+      .willReturn(Optional.of(Account.builder()
+        .accountUser(user)
+        .accountStatus(IN_USE)
+        .balance(1000L)
+        .accountNumber("1234567890")
+        .build()));
+
     // when
     AccountException exception = assertThrows(AccountException.class,
-      () -> transactionService.useBalance(1L, "1234567890", 2000L));
+      () -> transactionService.useBalance(12L, "1234567890", 2000L));
 
+    // then
+    assertEquals(ErrorCode.AMOUNT_EXCEED_BALANCE, exception.getErrorCode());
+    verify(transactionRepository, times(0)).save(any());
+  }
+
+  @Test
+  @DisplayName("조건부 UPDATE 해지 계좌 - 잔액 사용 실패")
+  void useBalanceAtomic_alreadyUnregistered() {
+    // given
+    balanceProperties.setMode(BalanceMode.ATOMIC);
+    AccountUser user = AccountUser.builder().name("pobi").build();
+    user.setId(12L);
+
+    given(accountRepository.debitBalance(anyLong(), anyString(), anyLong(), any(), any()))
+      .willReturn(0);
+
+    given(accountRepository.findByAccountNumber(anyString()))
+      .willReturn(Optional.of(Account.builder()
+        .accountUser(user)
+        .accountStatus(AccountStatus.UNREGISTERED)
+        .balance(10000L)
+        .accountNumber("1234567890")
+        .build()));
+
+    // when
+    AccountException exception = assertThrows(AccountException.class,
+      () -> transactionService.useBalance(12L, "1234567890", 2000L));
+
+    // then
+    assertEquals(ErrorCode.ACCOUNT_ALREADY_UNREGISTERED, exception.getErrorCode());
+  }
+
+  @Test
+  void useBalanceBatchRecordsEachItem() {
+    // given
+    AccountUser user = AccountUser.builder().name("pobi").build();
+    user.setId(12L);
+
+    Account account = Account.builder()
+      .accountUser(user)
+      .accountStatus(IN_USE)
+      .balance(10000L)
+      .accountNumber("1000000000")
+      .build();
+
+    given(accountRepository.findByAccountNumber("1000000000"))
+      .willReturn(Optional.of(account));
+
+    ArgumentCaptor<List<Transaction>> captor = ArgumentCaptor.forClass(List.class);
+
+    // when
+    List<TransactionDto> results = transactionService.useBalanceBatch("1000000000", List.of(
+      new UseBalance.Request(12L, "1000000000", 3000L),
+      new UseBalance.Request(12L, "1000000000", 9000L),
+      new UseBalance.Request(13L, "1000000000", 1000L),
+      new UseBalance.Request(12L, "1000000000", 7000L)));
+
+    // then
+    verify(transactionRepository, times(1)).saveAll(captor.capture());
+    verify(transactionRepository, times(0)).save(any());
+    assertEquals(4, captor.getValue().size());
+    assertEquals(0L, account.getBalance());
+
+    assertEquals(S, results.get(0).getTransactionResultType());
+    assertEquals(7000L, results.get(0).getBalanceSnapshot());
+    assertNull(results.get(0).getErrorCode());
+    assertEquals(F, results.get(1).getTransactionResultType());
+    assertEquals(ErrorCode.AMOUNT_EXCEED_BALANCE, results.get(1).getErrorCode());
+    assertEquals(F, results.get(2).getTransactionResultType());
+    assertEquals(ErrorCode.USER_ACCOUNT_UN_MATCH, results.get(2).getErrorCode());
+    assertEquals(S, results.get(3).getTransactionResultType());
+    assertEquals(0L, results.get(3).getBalanceSnapshot());
+  }
+
+  @Test
+  void transferSuccess() {
+    // given
+    AccountUser user = AccountUser.builder().name("pobi").build();
+    user.setId(12L);
+    Account from = Account.builder()
+      .accountUser(user)
+      .accountStatus(IN_USE)
+      .balance(10000L)
+      .accountNumber("1000000000")
+      .build();
+    Account to = Account.builder()
+      .accountUser(user)
+      .accountStatus(IN_USE)
+      .balance(500L)
+      .accountNumber("1000000001")
+      .build();
+    Account debited = Account.builder()
+      .accountUser(user)
+      .accountStatus(IN_USE)
+      .balance(7000L)
+      .accountNumber("1000000000")
+      .build();
+    Account credited = Account.builder()
+      .accountUser(user)
+      .accountStatus(IN_USE)
+      .balance(3500L)
+      .accountNumber("1000000001")
+      .build();
+
+    given(accountRepository.findByAccountNumber("1000000000"))
+      .willReturn(Optional.of(from), Optional.of(debited));
+    given(accountRepository.findByAccountNumber("1000000001"))
+      .willReturn(Optional.of(to), Optional.of(credited));
+    given(accountRepository.debitBalance(eq(12L), eq("1000000000"), eq(3000L),
+      eq(IN_USE), any()))
+      .willReturn(1);
+    given(accountRepository.creditBalance(eq("1000000001"), eq(3000L), eq(IN_USE), any()))
+      .willReturn(1);
+
+    ArgumentCaptor<List<Transaction>> captor = ArgumentCaptor.forClass(List.class);
+
+    // when
+    TransactionDto transactionDto =
+      transactionService.transfer(12L, "1000000000", "1000000001", 3000L);
+
+    // then
+    verify(accountRepository, times(1))
+      .creditBalance(eq("1000000001"), eq(3000L), eq(IN_USE), any());
+    verify(transactionRepository, times(1)).saveAll(captor.capture());
+    Transaction debit = captor.getValue().get(0);
+    Transaction credit = captor.getValue().get(1);
+    assertEquals(TransactionType.TRANSFER_OUT, debit.getTransactionType());
+    assertEquals(7000L, debit.getBalanceSnapshot());
+    assertEquals(TransactionType.TRANSFER_IN, credit.getTransactionType());
+    assertEquals(3500L, credit.getBalanceSnapshot());
+    assertEquals(credit.getTransactionId(), debit.getLinkedTransactionId());
+    assertEquals(debit.getTransactionId(), credit.getLinkedTransactionId());
+    assertEquals(debit.getTransactionId(), transactionDto.getTransactionId());
+  }
+
+  @Test
+  @DisplayName("같은 계좌로 이체 - 이체 실패")
+  void transfer_sameAccount() {
+    // given
+    // when
+    AccountException exception = assertThrows(AccountException.class,
+      () -> transactionService.transfer(12L, "1000000000", "1000000000", 3000L));
+
+    // then
+    assertEquals(ErrorCode.TRANSFER_SAME_ACCOUNT, exception.getErrorCode());
+    verify(accountRepository, times(0)).debitBalance(
+      anyLong(), anyString(), anyLong(), any(), any());
+  }
+
+  @Test
+  @DisplayName("잔액 부족 - 이체 실패")
+  void transfer_amountExceedBalance() {
+    // given
+    AccountUser user = AccountUser.builder().name("pobi").build();
+    user.setId(12L);
+
+    given(accountRepository.findByAccountNumber(anyString()))
+      .willReturn(Optional.of(Account.builder()
+        .accountUser(user)
+        .accountStatus(IN_USE)
+        .balance(1000L)
+        .accountNumber("1000000000")
+        .build()));
+
+    // when
+    AccountException exception = assertThrows(AccountException.class,
+      () -> transactionService.transfer(12L, "1000000000", "1000000001", 3000L));
 
     // then
     assertEquals(ErrorCode.AMOUNT_EXCEED_BALANCE, exception.getErrorCode());
+    verify(accountRepository, times(0)).creditBalance(anyString(), anyLong(), any(), any());
+    verify(transactionRepository, times(0)).saveAll(any());
+  }
+
+  @Test
+  @DisplayName("이체 중 입금 계좌 해지됨 - 이체 실패")
+  void transfer_toAccountUnregisteredDuringTransfer() {
+    // given
+    AccountUser user = AccountUser.builder().name("pobi").build();
+    user.setId(12L);
+
+    given(accountRepository.findByAccountNumber(anyString()))
+      .willReturn(Optional.of(Account.builder()
+        .accountUser(user)
+        .accountStatus(IN_USE)
+        .balance(10000L)
+        .accountNumber("1000000000")
+        .build()));
+    given(accountRepository.debitBalance(eq(12L), eq("1000000000"), eq(3000L),
+      eq(IN_USE), any()))
+      .willReturn(1);
+    given(accountRepository.creditBalance(eq("1000000001"), eq(3000L), eq(IN_USE), any()))
+      .willReturn(0);
+
+    // when
+    AccountException exception = assertThrows(AccountException.class,
+      () -> transactionService.transfer(12L, "1000000000", "1000000001", 3000L));
+
+    // then
+    assertEquals(ErrorCode.ACCOUNT_ALREADY_UNREGISTERED, exception.getErrorCode());
+    verify(transactionRepository, times(0)).saveAll(any());
+  }
+
+  @Test
+  void transfer_unsupportedInLedgerMode() {
+    // given
+    balanceProperties.setMode(BalanceMode.LEDGER);
+
+    // when
+    AccountException exception = assertThrows(AccountException.class,
+      () -> transactionService.transfer(12L, "1000000000", "1000000001", 3000L));
+
+    // then
+    assertEquals(ErrorCode.UNSUPPORTED_BALANCE_MODE, exception.getErrorCode());
   }
 
   @Test
@@ -270,6 +637,8 @@ class TransactionServiceTest {
       .build();
 
     Transaction transaction = Transaction.builder()
+      .transactionType(USE)
+      .transactionResultType(S)
       .account(account)
       .amount(2000L)
       .transactedAt(LocalDateTime.now())
@@ -278,9 +647,6 @@ class TransactionServiceTest {
     given(transactionRepository.findByTransactionId(anyString()))
       .willReturn(Optional.of(transaction));
 
-    given(accountRepository.findByAccountNumber(anyString()))
-      .willReturn(Optional.of(account));
-
     given(transactionRepository.save(any()))
       .willReturn(transaction);
 
@@ -298,6 +664,50 @@ class TransactionServiceTest {
     assertEquals(S, captor.getValue().getTransactionResultType());
   }
 
+  @Test
+  @DisplayName("조건부 UPDATE 잔액 사용 취소 성공")
+  void cancelBalanceAtomicSuccess() {
+    // given
+    balanceProperties.setMode(BalanceMode.ATOMIC);
+    AccountUser user = AccountUser.builder().name("pobi").build();
+    user.setId(12L);
+
+    Account account = Account.builder()
+      .accountUser(user)
+      .accountStatus(IN_USE)
+      .balance(12000L)
+      .accountNumber("1000000000")
+      .build();
+
+    Transaction transaction = Transaction.builder()
+      .transactionType(USE)
+      .transactionResultType(S)
+      .account(account)
+      .amount(2000L)
+      .transactedAt(LocalDateTime.now())
+      .build();
+
+    given(transactionRepository.findByTransactionId(anyString()))
+      .willReturn(Optional.of(transaction));
+
+    given(accountRepository.findByAccountNumber(anyString()))
+      .willReturn(Optional.of(account));
+
+    given(transactionRepository.save(any()))
+      .willReturn(transaction);
+
+    ArgumentCaptor<Transaction> captor = ArgumentCaptor.forClass(Transaction.class);
+
+    // when
+    transactionService.cancelBalance("aaa", "1000000000", 2000L);
+
+    // then
+    verify(accountRepository, times(1)).creditBalance(eq("1000000000"), eq(2000L), any());
+    verify(transactionRepository, times(1)).save(captor.capture());
+    assertEquals(12000L, captor.getValue().getBalanceSnapshot());
+    assertEquals(CANCEL, captor.getValue().getTransactionType());
+  }
+
   @Test
   @DisplayName("거래 없음 - 잔액 사용 취소 실패")
   void cancelBalance_transactionNotFound() {
@@ -314,6 +724,21 @@ class TransactionServiceTest {
     assertEquals(ErrorCode.TRANSACTION_NOT_FOUND, exception.getErrorCode());
   }
 
+  @Test
+  @DisplayName("거래 없음 - 잠금 전 취소 검증 실패")
+  void validateCancelBalanceRequest_transactionNotFound() {
+    // given
+    given(transactionRepository.findByTransactionId(anyString()))
+      .willReturn(Optional.empty());
+
+    // when
+    AccountException exception = assertThrows(AccountException.class,
+      () -> transactionService.validateCancelBalanceRequest("asdf", "1234567890", 200L));
+
+    // then
+    assertEquals(ErrorCode.TRANSACTION_NOT_FOUND, exception.getErrorCode());
+  }
+
   @Test
   @DisplayName("해당 계좌 없음 - 잔액 사용 취소 실패")
   void cancelBalance_AccountNotFound() {
@@ -327,6 +752,8 @@ class TransactionServiceTest {
       .accountNumber("1000000000")
       .build();
     Transaction transaction = Transaction.builder()
+      .transactionType(USE)
+      .transactionResultType(S)
       .account(account)
       .amount(2000L)
       .transactedAt(LocalDateTime.now())
@@ -360,6 +787,8 @@ class TransactionServiceTest {
       .build();
     account.setId(12L);
     Transaction transaction = Transaction.builder()
+      .transactionType(USE)
+      .transactionResultType(S)
       .account(account)
       .amount(2000L)
       .transactedAt(LocalDateTime.now())
@@ -393,6 +822,8 @@ class TransactionServiceTest {
       .accountNumber("1000000000")
       .build();
     Transaction transaction = Transaction.builder()
+      .transactionType(USE)
+      .transactionResultType(S)
       .account(account)
       .amount(2000L)
       .transactedAt(LocalDateTime.now())
@@ -444,6 +875,38 @@ class TransactionServiceTest {
     assertEquals(ErrorCode.TOO_OLD_ORDER_TO_CANCEL, exception.getErrorCode());
   }
 
+  @Test
+  void cancelBalance_transferLegNotCancellable() {
+    // given
+    AccountUser user = AccountUser.builder().name("Pobi").build();
+    user.setId(12L);
+    Account account = Account.builder()
+      .accountUser(user)
+      .accountStatus(IN_USE)
+      .balance(10000L)
+      .accountNumber("1000000000")
+      .build();
+    Transaction transaction = Transaction.builder()
+      .transactionType(TransactionType.TRANSFER_IN)
+      .transactionResultType(S)
+      .account(account)
+      .amount(2000L)
+      .transactedAt(LocalDateTime.now())
+      .build();
+
+    given(transactionRepository.findByTransactionId(anyString()))
+      .willReturn(Optional.of(transaction));
+
+    // when
+    AccountException exception = assertThrows(AccountException.class,
+      () -> transactionService.cancelBalance("asdf", "1000000000", 2000L));
+
+    // then
+    assertEquals(ErrorCode.TRANSACTION_NOT_CANCELLABLE, exception.getErrorCode());
+    assertEquals(10000L, account.getBalance());
+    verify(transactionRepository, times(0)).save(any());
+  }
+
   @Test
   void queryTransactionSuccess() {
     // given